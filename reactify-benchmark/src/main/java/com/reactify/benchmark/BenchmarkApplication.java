@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * <p>
+ * Spring Boot application hosting the reactify-logging components measured by
+ * the benchmarks. It is started without a web server: the benchmarks pick the
+ * beans they measure from the context and, for the filter chain, bind their own
+ * Netty server.
+ * </p>
+ *
+ * <p>
+ * Scheduling is enabled so that the {@link com.reactify.LoggerSchedule} drains
+ * the queues as it does in an application.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@EnableScheduling
+@SpringBootApplication
+public class BenchmarkApplication {
+
+    /**
+     * Starts the application context.
+     *
+     * @param properties
+     *            additional properties, in the {@code key=value} form
+     * @return the started {@link ConfigurableApplicationContext}
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run();
+    }
+}
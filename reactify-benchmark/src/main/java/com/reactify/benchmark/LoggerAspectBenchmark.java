@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.benchmark;
+
+import com.reactify.benchmark.service.EchoService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * <p>
+ * Measures the overhead of {@link com.reactify.LoggerAspectUtils#logAround} by
+ * calling the same {@link EchoService} method directly and through the proxy
+ * advised by the {@link com.reactify.LoggerAspect}.
+ * </p>
+ *
+ * <p>
+ * {@code sampleRate} is the ratio of fast calls whose record is queued: with
+ * {@code 0} only the span, the histogram and the sampling decision are paid,
+ * with {@code 1} every call also builds and queues its record.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggerAspectBenchmark {
+
+    private static final String PAYLOAD = "{\"id\":1,\"name\":\"reactify\"}";
+
+    @Param({"0", "1"})
+    public double sampleRate;
+
+    private ConfigurableApplicationContext context;
+
+    private EchoService direct;
+
+    private EchoService advised;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("application.perf-logging.sample-rate=" + sampleRate);
+        direct = new EchoService();
+        advised = context.getBean(EchoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String monoDirect() {
+        return direct.echo(PAYLOAD).block();
+    }
+
+    @Benchmark
+    public String monoAdvised() {
+        return advised.echo(PAYLOAD).block();
+    }
+
+    @Benchmark
+    public String syncDirect() {
+        return direct.echoSync(PAYLOAD);
+    }
+
+    @Benchmark
+    public String syncAdvised() {
+        return advised.echoSync(PAYLOAD);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.benchmark;
+
+import com.reactify.LoggerQueue;
+import com.reactify.logging.LoggerDTO;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the throughput of {@link LoggerQueue#addQueue(LoggerDTO)} with 1 to
+ * 64 producer threads, while a consumer drains the queue every
+ * {@code drainIntervalMs} milliseconds as {@link com.reactify.LoggerSchedule}
+ * does. With a long interval the queue fills up and the drop path is measured,
+ * the {@code dropped} counter reports how many records were refused.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggerQueueBenchmark {
+
+    @Param({"1", "3000"})
+    public long drainIntervalMs;
+
+    private final LoggerQueue queue = LoggerQueue.getInstance();
+
+    private final LoggerDTO record = new LoggerDTO(
+            null, null, "benchmark", 0L, 1L, "0", null, "service", "benchmark", new Object[0], "benchmark");
+
+    private volatile boolean draining;
+
+    private Thread drainer;
+
+    @Setup(Level.Trial)
+    public void startDrainer() {
+        queue.getRecords();
+        draining = true;
+        drainer = new Thread(
+                () -> {
+                    while (draining) {
+                        queue.getRecords();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(drainIntervalMs));
+                    }
+                },
+                "benchmark-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDrainer() throws InterruptedException {
+        draining = false;
+        LockSupport.unpark(drainer);
+        drainer.join();
+        queue.getRecords();
+    }
+
+    /**
+     * Records refused by the full queue, reported next to the throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Drops {
+
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            dropped = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean producers01(Drops drops) {
+        return offer(drops);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean producers04(Drops drops) {
+        return offer(drops);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean producers16(Drops drops) {
+        return offer(drops);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean producers64(Drops drops) {
+        return offer(drops);
+    }
+
+    private boolean offer(Drops drops) {
+        boolean queued = queue.addQueue(record);
+        if (!queued) {
+            drops.dropped++;
+        }
+        return queued;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.benchmark;
+
+import com.reactify.TruncateUtils;
+import com.reactify.constants.Constants;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures {@link TruncateUtils} on bodies of {@code size} characters, made of
+ * ASCII or of multi-byte (Vietnamese) characters, truncated to
+ * {@link Constants#MAX_BYTE} bytes as the logging filters do.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TruncateUtilsBenchmark {
+
+    @Param({"1024", "102400"})
+    public int size;
+
+    @Param({"ascii", "multibyte"})
+    public String charset;
+
+    private String body;
+
+    private Map<String, String> object;
+
+    @Setup
+    public void setUp() {
+        String unit = "ascii".equals(charset) ? "reactify " : "Hoàng Tiến ";
+        body = unit.repeat(size / unit.length() + 1).substring(0, size);
+        object = Map.of("data", body);
+    }
+
+    @Benchmark
+    public String truncate() {
+        return TruncateUtils.truncate(body, Constants.MAX_BYTE);
+    }
+
+    @Benchmark
+    public String truncateBody() {
+        return TruncateUtils.truncateBody(body, Constants.MAX_BYTE);
+    }
+
+    @Benchmark
+    public String serializeAndTruncate() {
+        return TruncateUtils.truncate(TruncateUtils.truncateBody(object), Constants.MAX_BYTE);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.benchmark;
+
+import com.reactify.filter.http.GatewayContextFilter;
+import com.reactify.filter.http.HttpLoggingFilter;
+import com.reactify.filter.http.PerformanceLogFilter;
+import com.reactify.filter.http.ResponseLogFilter;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * <p>
+ * Macro benchmark of the HTTP logging filters. A Netty server bound on a random
+ * port echoes a JSON body through the filters listed in {@code filters}, and
+ * 16 client threads post bodies of {@code bodySize} bytes to it. The
+ * throughput mode gives the requests per second and the sample time mode the
+ * latency percentiles, p99 included.
+ * </p>
+ *
+ * <p>
+ * {@code filters} is a {@code +} separated list of {@code gateway}
+ * ({@link GatewayContextFilter}), {@code http} ({@link HttpLoggingFilter}),
+ * {@code response} ({@link ResponseLogFilter}) and {@code performance}
+ * ({@link PerformanceLogFilter}), or {@code none}. Other combinations can be
+ * run with {@code -p filters=gateway+performance}.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class WebFilterChainBenchmark {
+
+    private static final Map<String, Class<? extends WebFilter>> FILTERS = Map.of(
+            "gateway", GatewayContextFilter.class,
+            "http", HttpLoggingFilter.class,
+            "response", ResponseLogFilter.class,
+            "performance", PerformanceLogFilter.class);
+
+    @Param({"none", "gateway", "gateway+http", "response", "performance", "gateway+http+response+performance"})
+    public String filters;
+
+    @Param({"1024", "102400", "10485760"})
+    public int bodySize;
+
+    private ConfigurableApplicationContext context;
+
+    private DisposableServer server;
+
+    private ConnectionProvider connectionProvider;
+
+    private HttpClient client;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "application.http-logging.request.enable=true", "application.http-logging.response.enable=true");
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler()))
+                .bindNow();
+        body = jsonBody(bodySize);
+        connectionProvider = ConnectionProvider.create("benchmark", 64);
+        client = HttpClient.create(connectionProvider)
+                .baseUrl("http://127.0.0.1:" + server.port())
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .setInt(HttpHeaderNames.CONTENT_LENGTH, body.length));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.disposeLater().block();
+        server.disposeNow();
+        context.close();
+    }
+
+    /**
+     * Posts the body and reads the whole echoed response.
+     *
+     * @return the number of bytes received
+     */
+    @Benchmark
+    public Long exchange() {
+        return client.post()
+                .uri("/echo")
+                .send((request, outbound) -> outbound.sendByteArray(Mono.just(body)))
+                .response((response, content) -> content.reduce(0L, (bytes, buf) -> bytes + buf.readableBytes()))
+                .blockLast();
+    }
+
+    /**
+     * Builds the handler echoing the request body, behind the selected filters
+     * in their declared order.
+     *
+     * @return the {@link HttpHandler} served by Netty
+     */
+    private HttpHandler httpHandler() {
+        List<WebFilter> chain = new ArrayList<>();
+        if (!"none".equals(filters)) {
+            for (String name : filters.split("\\+")) {
+                Class<? extends WebFilter> type = FILTERS.get(name);
+                if (type == null) {
+                    throw new IllegalArgumentException("Unknown filter " + name + ", expected one of "
+                            + FILTERS.keySet());
+                }
+                chain.add(context.getBean(type));
+            }
+        }
+        AnnotationAwareOrderComparator.sort(chain);
+        WebHandler echo = exchange -> {
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            exchange.getResponse()
+                    .getHeaders()
+                    .setContentLength(exchange.getRequest().getHeaders().getContentLength());
+            return exchange.getResponse().writeWith(exchange.getRequest().getBody());
+        };
+        return WebHttpHandlerBuilder.webHandler(echo)
+                .filters(list -> list.addAll(chain))
+                .build();
+    }
+
+    /**
+     * Builds a JSON document of exactly {@code size} bytes.
+     *
+     * @param size
+     *            the size of the document
+     * @return the UTF-8 bytes of the document
+     */
+    private static byte[] jsonBody(int size) {
+        String prefix = "{\"data\":\"";
+        String suffix = "\"}";
+        int length = Math.max(size - prefix.length() - suffix.length(), 0);
+        return (prefix + "x".repeat(length) + suffix).getBytes(StandardCharsets.UTF_8);
+    }
+}
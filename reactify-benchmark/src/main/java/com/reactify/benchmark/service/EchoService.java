@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.benchmark.service;
+
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Service doing no work, so that a benchmark calling it measures the cost of
+ * the {@link com.reactify.LoggerAspect} alone. It lives in a {@code service}
+ * package and is therefore matched by the pointcut of the aspect.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Service
+public class EchoService {
+
+    /**
+     * Returns the value in a {@link Mono}.
+     *
+     * @param value
+     *            the value to return
+     * @return a {@link Mono} emitting the value
+     */
+    public Mono<String> echo(String value) {
+        return Mono.just(value);
+    }
+
+    /**
+     * Returns the value.
+     *
+     * @param value
+     *            the value to return
+     * @return the value
+     */
+    public String echoSync(String value) {
+        return value;
+    }
+}
@@ -16,6 +16,8 @@
 package com.reactify;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.reactify.jfr.CacheLoadEvent;
+import com.reactify.jfr.CacheLookupEvent;
 import java.util.Optional;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -29,6 +31,7 @@ import org.springframework.util.ClassUtils;
 import reactor.cache.CacheMono;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Signal;
+import reactor.core.publisher.SignalType;
 
 /**
  * <p>
@@ -40,6 +43,11 @@ import reactor.core.publisher.Signal;
  * caching functionality using Caffeine.
  * </p>
  *
+ * <p>
+ * Lookups and loads emit a {@link CacheLookupEvent} and a
+ * {@link CacheLoadEvent} when Java Flight Recorder records them.
+ * </p>
+ *
  * @author hoangtien2k3
  */
 @Aspect
@@ -74,10 +82,14 @@ public class CacheAspect {
         Cache<Object, Object> cache = CacheStore.getCache(nameCache);
         log.debug("Checking cache for method: {} with key: {}", nameCache, key);
         return CacheMono.lookup(
-                        k -> Mono.justOrEmpty(!DataUtil.isNullOrEmpty(cache) ? cache.getIfPresent(key) : Mono.empty())
-                                .map(Signal::next),
+                        k -> {
+                            Object value = !DataUtil.isNullOrEmpty(cache) ? cache.getIfPresent(key) : null;
+                            CacheLookupEvent.emit(nameCache, value != null);
+                            return Mono.justOrEmpty(value).map(Signal::next);
+                        },
                         key)
                 .onCacheMissResume(Mono.defer(() -> {
+                    CacheLoadEvent event = CacheLoadEvent.start(nameCache);
                     try {
                         Object result = joinPoint.proceed(args);
                         if (!(result instanceof Mono<?>)) {
@@ -89,9 +101,10 @@ public class CacheAspect {
                         }
                         @SuppressWarnings("unchecked")
                         var resultCast = (Mono<Object>) result;
-                        return resultCast;
+                        return resultCast.doFinally(signal -> event.finish(signal.toString()));
                     } catch (Throwable ex) {
                         log.error("Execution error in {} - {}", nameCache, ex.getMessage(), ex);
+                        event.finish(SignalType.ON_ERROR.toString());
                         return Mono.error(ex);
                     }
                 }))
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>
+ * Java Flight Recorder event of a value loaded into a
+ * {@link com.reactify.LocalCache} cache after a miss. The event spans the
+ * subscription to the cached method.
+ * </p>
+ *
+ * <p>
+ * The event is disabled by default and enabled, with its threshold, through
+ * the {@code reactify.jfc} settings shipped with reactify-utils.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Name("com.reactify.CacheLoad")
+@Label("Cache Load")
+@Category({"Reactify", "Cache"})
+@Description("Load of a local cache value after a miss")
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public class CacheLoadEvent extends Event {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Outcome")
+    @Description("onComplete, onError or cancel")
+    private String outcome;
+
+    /**
+     * Starts the event of a load.
+     *
+     * @param cache
+     *            the name of the cache
+     * @return the started event
+     */
+    public static CacheLoadEvent start(String cache) {
+        CacheLoadEvent event = new CacheLoadEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it when it exceeds the threshold.
+     *
+     * @param outcome
+     *            how the load terminated
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
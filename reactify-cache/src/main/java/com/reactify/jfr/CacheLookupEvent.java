@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * Java Flight Recorder event of a lookup in a {@link com.reactify.LocalCache}
+ * cache, committed for hits and misses alike. The key is not recorded, since
+ * it is built from the arguments of the cached method.
+ * </p>
+ *
+ * <p>
+ * The event is disabled by default and enabled through the
+ * {@code reactify.jfc} settings shipped with reactify-utils.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Name("com.reactify.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Reactify", "Cache"})
+@Description("Lookup in a local cache")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Commits the event of a lookup.
+     *
+     * @param cache
+     *            the name of the cache
+     * @param hit
+     *            whether a value was found
+     */
+    public static void emit(String cache, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
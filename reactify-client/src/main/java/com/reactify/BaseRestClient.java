@@ -16,8 +16,10 @@
 package com.reactify;
 
 import java.util.Optional;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -295,4 +297,155 @@ public interface BaseRestClient<T> {
      * @return a {@link Mono} object
      */
     Mono<String> getRawWithFixedUri(WebClient webClient, String uri, MultiValueMap<String, String> headerMap);
+
+    /**
+     * <p>
+     * Sends a GET request and decodes the response body straight into the result
+     * type with the codecs of the client, without going through a
+     * {@link String}.
+     * </p>
+     *
+     * @param <R>
+     *            the type of the response body
+     * @param webClient
+     *            the {@link WebClient} instance to use for the request
+     * @param url
+     *            the target URL for the GET request
+     * @param headerList
+     *            a {@link MultiValueMap} of headers to include in the request
+     * @param payload
+     *            a {@link MultiValueMap} of query parameters to send with the
+     *            request
+     * @param resultType
+     *            the type of the response body, e.g.
+     *            {@code new ParameterizedTypeReference<List<Order>>() {}}
+     * @return a {@link Mono} containing the decoded response body wrapped in an
+     *         {@link Optional}, empty if the body is empty
+     */
+    <R> Mono<Optional<R>> get(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            MultiValueMap<String, String> payload,
+            ParameterizedTypeReference<R> resultType);
+
+    /**
+     * <p>
+     * Sends a POST request, encoding the payload and decoding the response body
+     * with the codecs of the client, without going through a {@link String}.
+     * </p>
+     *
+     * @param <R>
+     *            the type of the response body
+     * @param webClient
+     *            the {@link WebClient} instance to use for the request
+     * @param url
+     *            the target URL for the POST request
+     * @param headerList
+     *            a {@link MultiValueMap} of headers to include in the request
+     * @param payload
+     *            the request body, may be {@code null}
+     * @param resultType
+     *            the type of the response body
+     * @return a {@link Mono} containing the decoded response body wrapped in an
+     *         {@link Optional}, empty if the body is empty
+     */
+    <R> Mono<Optional<R>> post(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            Object payload,
+            ParameterizedTypeReference<R> resultType);
+
+    /**
+     * <p>
+     * Sends a DELETE request and decodes the response body straight into the
+     * result type with the codecs of the client.
+     * </p>
+     *
+     * @param <R>
+     *            the type of the response body
+     * @param webClient
+     *            the {@link WebClient} instance to use for the request
+     * @param url
+     *            the target URL for the DELETE request
+     * @param headerList
+     *            a {@link MultiValueMap} of headers to include in the request
+     * @param payload
+     *            a {@link MultiValueMap} of query parameters to send with the
+     *            request
+     * @param resultType
+     *            the type of the response body
+     * @return a {@link Mono} containing the decoded response body wrapped in an
+     *         {@link Optional}, empty if the body is empty
+     */
+    <R> Mono<Optional<R>> delete(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            MultiValueMap<String, String> payload,
+            ParameterizedTypeReference<R> resultType);
+
+    /**
+     * <p>
+     * Sends a GET request and streams the elements of the response body. A top
+     * level JSON array, {@code application/x-ndjson} lines and
+     * {@code text/event-stream} events are decoded one element at a time, as
+     * they are requested, so the whole body is never held in memory.
+     * </p>
+     *
+     * @param <R>
+     *            the type of the elements
+     * @param webClient
+     *            the {@link WebClient} instance to use for the request
+     * @param url
+     *            the target URL for the GET request
+     * @param headerList
+     *            a {@link MultiValueMap} of headers to include in the request
+     * @param payload
+     *            a {@link MultiValueMap} of query parameters to send with the
+     *            request
+     * @param elementType
+     *            the type of the elements, e.g.
+     *            {@code ParameterizedTypeReference.forType(Order.class)}
+     * @return a {@link Flux} of the decoded elements, failing with a
+     *         {@link com.reactify.exception.BusinessException} on an error
+     *         status
+     */
+    <R> Flux<R> getFlux(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            MultiValueMap<String, String> payload,
+            ParameterizedTypeReference<R> elementType);
+
+    /**
+     * <p>
+     * Sends a POST request and streams the elements of the response body, like
+     * {@link #getFlux(WebClient, String, MultiValueMap, MultiValueMap,
+     * ParameterizedTypeReference)}.
+     * </p>
+     *
+     * @param <R>
+     *            the type of the elements
+     * @param webClient
+     *            the {@link WebClient} instance to use for the request
+     * @param url
+     *            the target URL for the POST request
+     * @param headerList
+     *            a {@link MultiValueMap} of headers to include in the request
+     * @param payload
+     *            the request body, may be {@code null}
+     * @param elementType
+     *            the type of the elements
+     * @return a {@link Flux} of the decoded elements, failing with a
+     *         {@link com.reactify.exception.BusinessException} on an error
+     *         status
+     */
+    <R> Flux<R> postFlux(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            Object payload,
+            ParameterizedTypeReference<R> elementType);
 }
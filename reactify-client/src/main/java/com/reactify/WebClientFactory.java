@@ -17,16 +17,31 @@ package com.reactify;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reactify.constants.Constants;
 import com.reactify.filter.properties.ProxyProperties;
 import com.reactify.filter.properties.WebClientProperties;
+import com.reactify.filter.webclient.WebClientBulkheadFilter;
+import com.reactify.filter.webclient.WebClientCachingFilter;
+import com.reactify.filter.webclient.WebClientCircuitBreakerFilter;
+import com.reactify.filter.webclient.WebClientConcurrencyLimitFilter;
+import com.reactify.filter.webclient.WebClientCoalescingFilter;
+import com.reactify.filter.webclient.WebClientJfrFilter;
 import com.reactify.filter.webclient.WebClientLoggingFilter;
 import com.reactify.filter.webclient.WebClientRetryHandler;
+import com.reactify.jfr.ClientExchangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
@@ -38,6 +53,8 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -57,6 +74,44 @@ import reactor.netty.transport.ProxyProvider;
  * </p>
  *
  * <p>
+ * When an {@link ObservationRegistry} is available, every client is observed,
+ * so each exchange creates a client span and the trace context is injected into
+ * the outgoing request headers (W3C and/or B3, depending on the propagation
+ * configured on the tracer).
+ * </p>
+ *
+ * <p>
+ * Request bodies are written by the default JSON encoder, built by Spring's
+ * {@link Jackson2ObjectMapperBuilder}. The JSON decoder is built the same way,
+ * with the deserialization features of the {@link ObjectMapperFactory} mapper
+ * added, so bodies decoded straight into objects by the typed
+ * {@link BaseRestClient} methods are read like the {@link String} bodies
+ * parsed by {@link DataUtil#parseStringToObject(String, Class)}.
+ * </p>
+ *
+ * <p>
+ * Every exchange also emits a {@link ClientExchangeEvent}, including the time
+ * spent acquiring a pooled connection, when Java Flight Recorder records it.
+ * </p>
+ *
+ * <p>
+ * When enabled, a {@link WebClientCachingFilter} is the outermost filter of the
+ * client, followed by a {@link WebClientCoalescingFilter}: fresh responses are
+ * served from the cache, and identical requests in flight share one logged and
+ * retried exchange.
+ * </p>
+ *
+ * <p>
+ * Inside the retry handler, an optional {@link WebClientBulkheadFilter} limits
+ * the calls in flight, so a degraded server cannot fill the connection pool
+ * with waiting requests. An optional {@link WebClientConcurrencyLimitFilter}
+ * adapts that limit to the latency of the server instead. Within them, an
+ * optional {@link WebClientCircuitBreakerFilter} fails fast while the server
+ * fails or is slow; it only records calls actually sent to the server. Their meters are registered when a {@link MeterRegistry}
+ * is available.
+ * </p>
+ *
+ * <p>
  * The class implements the {@link InitializingBean} interface, which triggers
  * the initialization of web clients after the bean properties have been set.
  * Each web client is created based on the specified
@@ -78,6 +133,11 @@ public class WebClientFactory implements InitializingBean {
      */
     private static final Logger log = LoggerFactory.getLogger(WebClientFactory.class);
 
+    /**
+     * The maximum size in bytes of a body buffered by the codecs of a client.
+     */
+    private static final int MAX_IN_MEMORY_SIZE = 64 * 1024 * 1024;
+
     @Autowired
     private ApplicationContext applicationContext;
 
@@ -162,17 +222,24 @@ public class WebClientFactory implements InitializingBean {
                 .option(ChannelOption.SO_KEEPALIVE, true)
                 .option(EpollChannelOption.TCP_KEEPIDLE, 300)
                 .option(EpollChannelOption.TCP_KEEPINTVL, 60)
-                .option(EpollChannelOption.TCP_KEEPCNT, 8);
+                .option(EpollChannelOption.TCP_KEEPCNT, 8)
+                .doOnRequest((request, connection) -> request.currentContextView()
+                        .<ClientExchangeEvent>getOrEmpty(ClientExchangeEvent.class)
+                        .ifPresent(ClientExchangeEvent::acquired));
 
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(configurer -> {
                     configurer.registerDefaults(true);
-                    configurer.defaultCodecs().maxInMemorySize(64 * 1024 * 1024);
+                    configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE);
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(decoderObjectMapper()));
                 })
                 .build();
 
         Builder exchangeStrategies =
                 WebClient.builder().baseUrl(webClientProperties.getAddress()).exchangeStrategies(strategies);
+        applicationContext
+                .getBeanProvider(ObservationRegistry.class)
+                .ifAvailable(exchangeStrategies::observationRegistry);
         if (!DataUtil.isNullOrEmpty(webClientProperties.getUsername())) {
             exchangeStrategies.defaultHeader(
                     Constants.Security.AUTHORIZATION,
@@ -182,12 +249,41 @@ public class WebClientFactory implements InitializingBean {
                                                     + webClientProperties.getPassword())
                                             .getBytes(UTF_8)));
         }
+        if (webClientProperties.getCache().isEnable()) {
+            exchangeStrategies.filter(new WebClientCachingFilter(
+                    webClientProperties.getName(), webClientProperties.getCache(), strategies));
+        }
+        if (webClientProperties.getCoalesce().isEnable()) {
+            exchangeStrategies.filter(new WebClientCoalescingFilter(
+                    webClientProperties.getName(), webClientProperties.getCoalesce(), strategies, MAX_IN_MEMORY_SIZE));
+        }
         if (webClientProperties.getLog().isEnable()) {
             exchangeStrategies.filter(
                     new WebClientLoggingFilter(webClientProperties.getLog().getObfuscateHeaders()));
         }
         if (webClientProperties.getRetry().isEnable()) {
-            exchangeStrategies.filter(new WebClientRetryHandler(webClientProperties.getRetry()));
+            var retryHandler = new WebClientRetryHandler(webClientProperties.getName(), webClientProperties.getRetry());
+            applicationContext.getBeanProvider(MeterRegistry.class).ifAvailable(retryHandler::bindTo);
+            exchangeStrategies.filter(retryHandler);
+        }
+        if (webClientProperties.getBulkhead().isEnable()) {
+            var bulkhead =
+                    new WebClientBulkheadFilter(webClientProperties.getName(), webClientProperties.getBulkhead());
+            applicationContext.getBeanProvider(MeterRegistry.class).ifAvailable(bulkhead::bindTo);
+            exchangeStrategies.filter(bulkhead);
+        }
+        if (webClientProperties.getConcurrencyLimit().isEnable()) {
+            var concurrencyLimit = new WebClientConcurrencyLimitFilter(
+                    webClientProperties.getName(), webClientProperties.getConcurrencyLimit());
+            applicationContext.getBeanProvider(MeterRegistry.class).ifAvailable(concurrencyLimit::bindTo);
+            exchangeStrategies.filter(concurrencyLimit);
+        }
+        // inside the bulkhead and the limit, so the breaker only sees calls sent to the server
+        if (webClientProperties.getCircuitBreaker().isEnable()) {
+            var circuitBreaker = new WebClientCircuitBreakerFilter(
+                    webClientProperties.getName(), webClientProperties.getCircuitBreaker());
+            applicationContext.getBeanProvider(MeterRegistry.class).ifAvailable(circuitBreaker::bindTo);
+            exchangeStrategies.filter(circuitBreaker);
         }
         if (webClientProperties.getProxy().isEnable()) {
             httpClient = configProxy(httpClient, webClientProperties.getProxy());
@@ -199,12 +295,36 @@ public class WebClientFactory implements InitializingBean {
                 exchangeStrategies.filter(filter);
             }
         }
+        // innermost, so the event times the exchange alone, without the custom filters
+        exchangeStrategies.filter(new WebClientJfrFilter(webClientProperties.getName()));
         log.info("Success setup client properties {}", webClientProperties.getName());
         var clientConnector = new ReactorClientHttpConnector(httpClient);
 
         return exchangeStrategies.clientConnector(clientConnector).build();
     }
 
+    /**
+     * <p>
+     * Builds the mapper of the JSON decoder: Spring's default mapper, lenient
+     * like the {@link ObjectMapperFactory} one. Unknown properties are ignored,
+     * single values are read as arrays and back, and booleans may be given as
+     * {@code 1} or {@code 0}.
+     * </p>
+     *
+     * @return the {@link ObjectMapper} of the JSON decoder
+     */
+    private static ObjectMapper decoderObjectMapper() {
+        NumericBooleanDeserializer booleanDeserializer = new NumericBooleanDeserializer();
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .featuresToEnable(
+                        DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY,
+                        DeserializationFeature.UNWRAP_SINGLE_VALUE_ARRAYS)
+                .deserializerByType(boolean.class, booleanDeserializer)
+                .deserializerByType(Boolean.class, booleanDeserializer)
+                .build();
+    }
+
     /**
      * <p>
      * Configures the HTTP client to use a proxy if specified in the
@@ -258,4 +378,21 @@ public class WebClientFactory implements InitializingBean {
         return !DataUtil.isNullOrEmpty(webClientProperties.getName())
                 && !DataUtil.isNullOrEmpty(webClientProperties.getAddress());
     }
+
+    /**
+     * Deserializer of booleans given as {@code "1"} or {@code "0"}, as well as
+     * {@code "true"} or {@code "false"}, like the one of
+     * {@link ObjectMapperFactory}.
+     */
+    private static final class NumericBooleanDeserializer extends JsonDeserializer<Boolean> {
+        @Override
+        public Boolean deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String text = p.getText().trim();
+            return switch (text) {
+                case "1", "true" -> Boolean.TRUE;
+                case "0", "false" -> Boolean.FALSE;
+                default -> null;
+            };
+        }
+    }
 }
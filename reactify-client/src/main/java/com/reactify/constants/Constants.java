@@ -46,6 +46,12 @@ public final class Constants {
             MediaType.TEXT_XML,
             MediaType.MULTIPART_FORM_DATA);
 
+    /**
+     * Key of the request-scoped debug logging flag in the Reactor context, set by
+     * the filters of reactify-logging.
+     */
+    public static final String DEBUG_LOG_CONTEXT_KEY = "reactify.debug-log";
+
     private static final List<String> SENSITIVE_HEADERS = Arrays.asList("authorization", "proxy-authorization");
 
     /**
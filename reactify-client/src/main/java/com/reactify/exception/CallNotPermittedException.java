@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.exception;
+
+/**
+ * <p>
+ * Exception signaling that a call of a web client was not sent, because its
+ * circuit breaker is open or its concurrency limit is reached. The call never
+ * reached the server, so it is safe to retry later or to fall back.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    /** Name of the client rejecting the call */
+    private final String clientName;
+
+    /**
+     * Constructor initializing the exception with the client and the reason.
+     *
+     * @param clientName
+     *            a {@link String} representing the name of the client.
+     * @param reason
+     *            a {@link String} describing why the call was rejected.
+     */
+    public CallNotPermittedException(String clientName, String reason) {
+        super("Call of client " + clientName + " not permitted: " + reason, null, false, false);
+        this.clientName = clientName;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+}
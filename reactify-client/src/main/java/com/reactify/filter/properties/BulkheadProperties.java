@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+/**
+ * <p>
+ * The BulkheadProperties class holds the configuration of the bulkhead of a
+ * client, which limits the number of its calls in flight. Calls beyond the
+ * limit fail fast instead of waiting for a pooled connection, so a slow server
+ * cannot hold every connection and pending acquisition of the pool.
+ * </p>
+ *
+ * <p>
+ * The bulkhead is disabled by default.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class BulkheadProperties {
+
+    /**
+     * Indicates whether the bulkhead is enabled.
+     */
+    private final boolean enable;
+
+    /**
+     * The maximum number of calls in flight.
+     */
+    private final int maxConcurrentCalls;
+
+    /**
+     * Default constructor that disables the bulkhead.
+     */
+    public BulkheadProperties() {
+        this(false, 200);
+    }
+
+    public BulkheadProperties(boolean enable, int maxConcurrentCalls) {
+        this.enable = enable;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+/**
+ * <p>
+ * The CircuitBreakerProperties class holds the configuration of the circuit
+ * breaker of a client. The outcome of the last {@code slidingWindowSize} calls
+ * is kept; once at least {@code minimumCalls} calls were recorded and the rate
+ * of failed or slow calls reaches its threshold, the circuit opens and calls
+ * fail fast for {@code waitDurationInOpenMs}. It then lets
+ * {@code permittedCallsInHalfOpen} probe calls through, and closes again if
+ * their rates are below the thresholds.
+ * </p>
+ *
+ * <p>
+ * A call fails when the exchange fails or the server answers with a 5xx
+ * status, it is slow when its response headers take at least
+ * {@code slowCallDurationMs}. The circuit breaker is disabled by default.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class CircuitBreakerProperties {
+
+    /**
+     * Indicates whether the circuit breaker is enabled.
+     */
+    private final boolean enable;
+
+    /**
+     * The number of latest calls whose outcome is kept.
+     */
+    private final int slidingWindowSize;
+
+    /**
+     * The number of calls recorded before the rates are evaluated.
+     */
+    private final int minimumCalls;
+
+    /**
+     * The percentage of failed calls opening the circuit.
+     */
+    private final float failureRateThreshold;
+
+    /**
+     * The percentage of slow calls opening the circuit.
+     */
+    private final float slowCallRateThreshold;
+
+    /**
+     * The duration in milliseconds from which a call is slow.
+     */
+    private final long slowCallDurationMs;
+
+    /**
+     * The duration in milliseconds the circuit stays open.
+     */
+    private final long waitDurationInOpenMs;
+
+    /**
+     * The number of probe calls let through while half open.
+     */
+    private final int permittedCallsInHalfOpen;
+
+    /**
+     * Default constructor that disables the circuit breaker.
+     */
+    public CircuitBreakerProperties() {
+        this(false, 100, 20, 50, 100, 10000, 30000, 5);
+    }
+
+    public CircuitBreakerProperties(
+            boolean enable,
+            int slidingWindowSize,
+            int minimumCalls,
+            float failureRateThreshold,
+            float slowCallRateThreshold,
+            long slowCallDurationMs,
+            long waitDurationInOpenMs,
+            int permittedCallsInHalfOpen) {
+        this.enable = enable;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationMs = slowCallDurationMs;
+        this.waitDurationInOpenMs = waitDurationInOpenMs;
+        this.permittedCallsInHalfOpen = permittedCallsInHalfOpen;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMs() {
+        return slowCallDurationMs;
+    }
+
+    public long getWaitDurationInOpenMs() {
+        return waitDurationInOpenMs;
+    }
+
+    public int getPermittedCallsInHalfOpen() {
+        return permittedCallsInHalfOpen;
+    }
+}
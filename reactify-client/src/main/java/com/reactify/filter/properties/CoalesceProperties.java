@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * <p>
+ * The CoalesceProperties class holds the configuration of request coalescing:
+ * identical requests issued while one of them is in flight share its exchange
+ * instead of each calling the server. Two requests are identical when they have
+ * the same method, URI and values of the selected headers.
+ * </p>
+ *
+ * <p>
+ * Coalescing is disabled by default. When enabled, it applies to GET and HEAD
+ * requests and the Authorization, Cookie, Accept and Accept-Language headers
+ * are part of the key, so that callers with different credentials or sessions
+ * never share a response; the cookies set on a request count as its Cookie
+ * header. Shared responses are buffered, up to the {@code maxInMemorySize}
+ * of the client codecs by default; a larger response is fetched by every
+ * caller on its own.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class CoalesceProperties {
+
+    /**
+     * Indicates whether identical in-flight requests are coalesced.
+     */
+    private final boolean enable;
+
+    /**
+     * The HTTP methods of the requests which are coalesced, they must be
+     * idempotent.
+     */
+    private final List<HttpMethod> methods;
+
+    /**
+     * The headers whose values are part of the key of a request.
+     */
+    private final List<String> headers;
+
+    /**
+     * The maximum size in bytes of a shared response body, {@code 0} or less for
+     * the {@code maxInMemorySize} of the client codecs.
+     */
+    private final int maxBodyBytes;
+
+    /**
+     * Default constructor that disables coalescing.
+     */
+    public CoalesceProperties() {
+        this(
+                false,
+                List.of(HttpMethod.GET, HttpMethod.HEAD),
+                List.of(
+                        HttpHeaders.AUTHORIZATION,
+                        HttpHeaders.COOKIE,
+                        HttpHeaders.ACCEPT,
+                        HttpHeaders.ACCEPT_LANGUAGE),
+                -1);
+    }
+
+    public CoalesceProperties(boolean enable, List<HttpMethod> methods, List<String> headers, int maxBodyBytes) {
+        this.enable = enable;
+        this.methods = methods;
+        this.headers = headers;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public List<HttpMethod> getMethods() {
+        return methods;
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+/**
+ * <p>
+ * The ConcurrencyLimitProperties class holds the configuration of the adaptive
+ * concurrency limit of a client. The limit of calls in flight starts at
+ * {@code initialLimit} and follows the latency of the server: it grows while
+ * the round trip time stays within {@code rttTolerance} times the minimum
+ * observed one, shrinks as requests start to queue on the server, and is
+ * multiplied by {@code backoffRatio} when a call fails or is throttled. It
+ * always stays between {@code minLimit} and {@code maxLimit}.
+ * </p>
+ *
+ * <p>
+ * Calls beyond the limit wait up to {@code maxWaitMs} in a queue of
+ * {@code maxQueueSize} calls, or fail at once when the queue is full. The limit
+ * is disabled by default, and calls are never queued unless
+ * {@code maxQueueSize} is set.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Indicates whether the adaptive concurrency limit is enabled.
+     */
+    private final boolean enable;
+
+    /**
+     * The limit of calls in flight before any latency is measured.
+     */
+    private final int initialLimit;
+
+    /**
+     * The lowest limit of calls in flight.
+     */
+    private final int minLimit;
+
+    /**
+     * The highest limit of calls in flight.
+     */
+    private final int maxLimit;
+
+    /**
+     * The ratio of the round trip time to the minimum one tolerated before the
+     * limit shrinks.
+     */
+    private final double rttTolerance;
+
+    /**
+     * The weight of a new estimate in the limit, between 0 and 1.
+     */
+    private final double smoothing;
+
+    /**
+     * The ratio applied to the limit when a call fails or is throttled.
+     */
+    private final double backoffRatio;
+
+    /**
+     * The maximum number of calls waiting for the limit.
+     */
+    private final int maxQueueSize;
+
+    /**
+     * The maximum duration in milliseconds a call waits for the limit.
+     */
+    private final long maxWaitMs;
+
+    /**
+     * Default constructor that disables the limit.
+     */
+    public ConcurrencyLimitProperties() {
+        this(false, 20, 5, 500, 2.0, 0.2, 0.9, 0, 50);
+    }
+
+    public ConcurrencyLimitProperties(
+            boolean enable,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double rttTolerance,
+            double smoothing,
+            double backoffRatio,
+            int maxQueueSize,
+            long maxWaitMs) {
+        this.enable = enable;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * <p>
+ * The HttpCacheProperties class holds the configuration of the HTTP cache of a
+ * client. When enabled, GET responses are stored according to their
+ * {@code Cache-Control}, {@code Expires}, {@code ETag} and
+ * {@code Last-Modified} headers, fresh entries are served without calling the
+ * server and stale ones are revalidated with a conditional request.
+ * </p>
+ *
+ * <p>
+ * The cache is private to the client: the values of the key headers, by default
+ * Authorization, Accept and Accept-Language, are part of the key of an entry.
+ * Caching is disabled by default, the cache holds up to 32 MB of responses of up
+ * to 1 MB each.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class HttpCacheProperties {
+
+    /**
+     * Indicates whether responses are cached.
+     */
+    private final boolean enable;
+
+    /**
+     * The maximum total size in bytes of the cached responses.
+     */
+    private final long maxSizeBytes;
+
+    /**
+     * The maximum size in bytes of a cached response body, larger responses are
+     * not stored.
+     */
+    private final int maxEntryBytes;
+
+    /**
+     * The headers whose values are part of the key of a response.
+     */
+    private final List<String> keyHeaders;
+
+    /**
+     * Default constructor that disables the cache.
+     */
+    public HttpCacheProperties() {
+        this(
+                false,
+                32L * 1024 * 1024,
+                1024 * 1024,
+                List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE));
+    }
+
+    public HttpCacheProperties(boolean enable, long maxSizeBytes, int maxEntryBytes, List<String> keyHeaders) {
+        this.enable = enable;
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.keyHeaders = keyHeaders;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public List<String> getKeyHeaders() {
+        return keyHeaders;
+    }
+}
@@ -29,9 +29,21 @@ import org.springframework.http.HttpMethod;
  * </p>
  *
  * <p>
+ * Attempts are spaced by an exponential backoff with full jitter: the n-th
+ * retry waits a random duration between zero and
+ * {@code min(maxBackoffMs, backoffMs * 2^n)}, unless the response carries a
+ * {@code Retry-After} header. Retries are also bounded by a budget: every
+ * request of the client adds {@code budgetRatio} tokens to a bucket of
+ * {@code budgetCapacity} tokens and every retry takes one, so that retries
+ * stay below that ratio of the requests during an outage.
+ * </p>
+ *
+ * <p>
  * The default constructor initializes retries to be enabled with a count of 2,
  * applying to GET, PUT, and DELETE methods, and set to trigger on connection
- * and read timeout exceptions.
+ * and read timeout exceptions and on 429 and 503 responses. The backoff starts
+ * at 100 ms and is capped at 2 s, and retries are limited to 10% of the
+ * requests, with a burst of 10.
  * </p>
  *
  * @author hoangtien2k3
@@ -58,6 +70,32 @@ public class RetryProperties {
      */
     private final List<Class<? extends Exception>> exceptions;
 
+    /**
+     * a list of HTTP status codes of the responses that will trigger a retry
+     */
+    private final List<Integer> statuses;
+
+    /**
+     * the base backoff in milliseconds, doubled at every retry
+     */
+    private final long backoffMs;
+
+    /**
+     * the maximum backoff in milliseconds, a longer {@code Retry-After} is not
+     * waited for
+     */
+    private final long maxBackoffMs;
+
+    /**
+     * the retry tokens earned by each request, {@code 0} disables the budget
+     */
+    private final double budgetRatio;
+
+    /**
+     * the maximum number of retry tokens saved
+     */
+    private final int budgetCapacity;
+
     /**
      * <p>
      * Constructor for RetryProperties.
@@ -73,10 +111,28 @@ public class RetryProperties {
 
     public RetryProperties(
             boolean isEnable, int count, List<HttpMethod> methods, List<Class<? extends Exception>> exceptions) {
+        this(isEnable, count, methods, exceptions, List.of(429, 503), 100, 2000, 0.1, 10);
+    }
+
+    public RetryProperties(
+            boolean isEnable,
+            int count,
+            List<HttpMethod> methods,
+            List<Class<? extends Exception>> exceptions,
+            List<Integer> statuses,
+            long backoffMs,
+            long maxBackoffMs,
+            double budgetRatio,
+            int budgetCapacity) {
         this.isEnable = isEnable;
         this.count = count;
         this.methods = methods;
         this.exceptions = exceptions;
+        this.statuses = statuses;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.budgetRatio = budgetRatio;
+        this.budgetCapacity = budgetCapacity;
     }
 
     public boolean isEnable() {
@@ -94,4 +150,24 @@ public class RetryProperties {
     public List<Class<? extends Exception>> getExceptions() {
         return exceptions;
     }
+
+    public List<Integer> getStatuses() {
+        return statuses;
+    }
+
+    public long getBackoffMs() {
+        return backoffMs;
+    }
+
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public int getBudgetCapacity() {
+        return budgetCapacity;
+    }
 }
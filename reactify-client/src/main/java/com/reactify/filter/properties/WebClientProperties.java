@@ -24,8 +24,9 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
  * <p>
  * This class is designed to hold various configuration parameters for a
  * WebClient, including endpoint details, authorization credentials, connection
- * pooling, request timeouts, retries, logging options, monitoring, and proxy
- * configurations.
+ * pooling, request timeouts, retries, logging options, monitoring, proxy,
+ * request coalescing, HTTP cache, circuit breaker, bulkhead and adaptive
+ * concurrency limit configurations.
  *
  * @author hoangtien2k3
  */
@@ -84,6 +85,33 @@ public class WebClientProperties {
      */
     private ProxyProperties proxy = new ProxyProperties();
 
+    /**
+     * Coalescing settings, letting identical in-flight idempotent requests share
+     * one exchange.
+     */
+    private CoalesceProperties coalesce = new CoalesceProperties();
+
+    /**
+     * HTTP cache settings, storing GET responses according to their caching
+     * headers and revalidating them once stale.
+     */
+    private HttpCacheProperties cache = new HttpCacheProperties();
+
+    /**
+     * Circuit breaker settings, failing fast while the server fails or is slow.
+     */
+    private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    /**
+     * Bulkhead settings, limiting the number of calls in flight.
+     */
+    private BulkheadProperties bulkhead = new BulkheadProperties();
+
+    /**
+     * Adaptive concurrency limit settings, following the latency of the server.
+     */
+    private ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+
     /**
      * A list of custom filters to modify or inspect each request and response
      * processed by the WebClient, allowing for additional processing or logging.
@@ -181,6 +209,46 @@ public class WebClientProperties {
         this.proxy = proxy;
     }
 
+    public CoalesceProperties getCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(CoalesceProperties coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public HttpCacheProperties getCache() {
+        return cache;
+    }
+
+    public void setCache(HttpCacheProperties cache) {
+        this.cache = cache;
+    }
+
+    public CircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerProperties circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public BulkheadProperties getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(BulkheadProperties bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public ConcurrencyLimitProperties getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
     public List<ExchangeFilterFunction> getCustomFilters() {
         return customFilters;
     }
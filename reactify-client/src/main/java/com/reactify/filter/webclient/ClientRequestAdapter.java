@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import java.net.URI;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.web.reactive.function.client.ClientRequest;
+
+/**
+ * <p>
+ * Exposes a {@link ClientRequest} as the {@link HttpRequest} of a response
+ * built by a filter, so a {@code WebClientResponseException} raised for it
+ * reports the method and URI of the caller, like the response of a real
+ * exchange.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+final class ClientRequestAdapter implements HttpRequest {
+
+    private final ClientRequest request;
+
+    ClientRequestAdapter(ClientRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return request.method();
+    }
+
+    @Override
+    public URI getURI() {
+        return request.url();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return request.headers();
+    }
+}
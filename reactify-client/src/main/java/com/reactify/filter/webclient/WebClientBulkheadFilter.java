@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import com.reactify.exception.CallNotPermittedException;
+import com.reactify.filter.properties.BulkheadProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The WebClientBulkheadFilter class limits the number of calls of a client in
+ * flight. A call takes a permit until its response headers are received, or it
+ * fails or is cancelled; when no permit is left the call fails at once with a
+ * {@link CallNotPermittedException} instead of queuing for a pooled
+ * connection.
+ * </p>
+ *
+ * <p>
+ * The calls in flight, the limit and the rejected calls are exported as the
+ * {@code reactify.client.bulkhead.active} and
+ * {@code reactify.client.bulkhead.max} gauges and the
+ * {@code reactify.client.bulkhead.rejected} counter, tagged with the name of the
+ * client.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class WebClientBulkheadFilter implements ExchangeFilterFunction, MeterBinder {
+
+    private final String clientName;
+    private final int maxConcurrentCalls;
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public WebClientBulkheadFilter(String clientName, BulkheadProperties properties) {
+        this.clientName = clientName;
+        this.maxConcurrentCalls = properties.getMaxConcurrentCalls();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Takes a permit for the exchange, or rejects it when none is left.
+     * </p>
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new CallNotPermittedException(
+                        clientName, "bulkhead is full with " + maxConcurrentCalls + " calls"));
+            }
+            return next.exchange(request).doFinally(signal -> active.decrementAndGet());
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Registers the gauges and the rejection counter of the client.
+     * </p>
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reactify.client.bulkhead.active", active, AtomicInteger::get)
+                .description("Calls of the client in flight")
+                .tag("client", clientName)
+                .register(registry);
+        Gauge.builder("reactify.client.bulkhead.max", this, filter -> filter.maxConcurrentCalls)
+                .description("Maximum number of calls of the client in flight")
+                .tag("client", clientName)
+                .register(registry);
+        FunctionCounter.builder("reactify.client.bulkhead.rejected", rejected, LongAdder::sum)
+                .description("Calls of the client rejected by the bulkhead")
+                .tag("client", clientName)
+                .register(registry);
+    }
+
+    /**
+     * Takes a permit if one is left.
+     *
+     * @return {@code true} if the call may proceed
+     */
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = active.get();
+            if (current >= maxConcurrentCalls) {
+                return false;
+            }
+        } while (!active.compareAndSet(current, current + 1));
+        return true;
+    }
+}
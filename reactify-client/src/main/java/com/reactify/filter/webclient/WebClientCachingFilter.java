@@ -0,0 +1,470 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reactify.filter.properties.HttpCacheProperties;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The WebClientCachingFilter class is a private HTTP cache for the GET requests
+ * of a client. Responses are stored in a Caffeine cache bounded by the total
+ * size of their bodies and headers:
+ * </p>
+ * <ul>
+ * <li>a fresh entry, according to {@code Cache-Control: max-age} or
+ * {@code Expires}, is served without calling the server;</li>
+ * <li>a stale entry with an {@code ETag} or a {@code Last-Modified} header is
+ * revalidated with {@code If-None-Match} / {@code If-Modified-Since}, a
+ * {@code 304 Not Modified} refreshes it without transferring the body;</li>
+ * <li>{@code no-store} responses, responses varying on every header and bodies
+ * larger than {@link HttpCacheProperties#getMaxEntryBytes()} are never
+ * stored.</li>
+ * </ul>
+ *
+ * <p>
+ * A body is stored while the caller reads it, only once it has been read
+ * completely. It is the outermost filter set up by the
+ * {@link com.reactify.WebClientFactory}, so cache hits are neither logged nor
+ * recorded as exchanges.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class WebClientCachingFilter implements ExchangeFilterFunction {
+
+    /**
+     * A static logger instance for logging messages related to
+     * WebClientCachingFilter.
+     */
+    private static final Logger log = LoggerFactory.getLogger(WebClientCachingFilter.class);
+
+    /** statuses whose responses may be stored */
+    private static final Set<Integer> CACHEABLE_STATUSES = Set.of(200, 203, 301, 404, 410);
+
+    /** headers of a 304 response which update the stored entry */
+    private static final List<String> REFRESHED_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.DATE,
+            HttpHeaders.AGE);
+
+    /**
+     * The name of the client, part of every key.
+     */
+    private final String clientName;
+
+    private final int maxEntryBytes;
+
+    private final List<String> keyHeaders;
+
+    private final ExchangeStrategies strategies;
+
+    private final Cache<String, CachedResponse> cache;
+
+    /**
+     * Constructs a new instance of {@code WebClientCachingFilter}.
+     *
+     * @param clientName
+     *            the name of the client
+     * @param properties
+     *            the cache configuration of the client
+     * @param strategies
+     *            the strategies of the client, used to decode the cached
+     *            responses
+     */
+    public WebClientCachingFilter(String clientName, HttpCacheProperties properties, ExchangeStrategies strategies) {
+        this.clientName = clientName;
+        this.maxEntryBytes = properties.getMaxEntryBytes();
+        this.keyHeaders = List.copyOf(properties.getKeyHeaders());
+        this.strategies = strategies;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSizeBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Serves the request from the cache, revalidates the cached response, or
+     * calls the server and stores its response.
+     * </p>
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return next.exchange(request);
+        }
+        Directives requestDirectives = Directives.parse(request.headers().getCacheControl());
+        if (requestDirectives.noStore) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            String key = keyOf(request);
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached == null || !cached.matches(request.headers())) {
+                return exchange(key, request, next);
+            }
+            if (!requestDirectives.noCache && cached.freshUntil > System.currentTimeMillis()) {
+                log.debug("Client {} served {} from cache", clientName, request.url());
+                return Mono.just(cached.toResponse(strategies, request));
+            }
+            if (cached.etag == null && cached.lastModified < 0) {
+                return exchange(key, request, next);
+            }
+            return revalidate(key, cached, request, next);
+        });
+    }
+
+    /**
+     * Removes every cached response.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Calls the server and stores its response.
+     *
+     * @param key
+     *            the key of the request
+     * @param request
+     *            the request
+     * @param next
+     *            the next exchange function
+     * @return the response, storing its body while it is read
+     */
+    private Mono<ClientResponse> exchange(String key, ClientRequest request, ExchangeFunction next) {
+        long requestTime = System.currentTimeMillis();
+        return next.exchange(request).map(response -> store(key, request, response, requestTime));
+    }
+
+    /**
+     * Sends the conditional request of a stale entry.
+     *
+     * @param key
+     *            the key of the request
+     * @param cached
+     *            the stale entry
+     * @param request
+     *            the request
+     * @param next
+     *            the next exchange function
+     * @return the refreshed cached response on {@code 304}, otherwise the new
+     *         response
+     */
+    private Mono<ClientResponse> revalidate(
+            String key, CachedResponse cached, ClientRequest request, ExchangeFunction next) {
+        ClientRequest conditional = ClientRequest.from(request)
+                .headers(headers -> {
+                    if (cached.etag != null) {
+                        headers.setIfNoneMatch(cached.etag);
+                    }
+                    if (cached.lastModified >= 0) {
+                        headers.setIfModifiedSince(cached.lastModified);
+                    }
+                })
+                .build();
+        long requestTime = System.currentTimeMillis();
+        return next.exchange(conditional).flatMap(response -> {
+            if (response.statusCode().value() != HttpStatus.NOT_MODIFIED.value()) {
+                return Mono.just(store(key, request, response, requestTime));
+            }
+            HttpHeaders notModified = response.headers().asHttpHeaders();
+            return response.releaseBody().then(Mono.fromSupplier(() -> {
+                CachedResponse refreshed = cached.refresh(notModified, requestTime);
+                cache.put(key, refreshed);
+                log.debug("Client {} revalidated {}", clientName, request.url());
+                return refreshed.toResponse(strategies, request);
+            }));
+        });
+    }
+
+    /**
+     * Stores the response once its body is read, if it is cacheable.
+     *
+     * @param key
+     *            the key of the request
+     * @param request
+     *            the request
+     * @param response
+     *            the response of the server
+     * @param requestTime
+     *            the time the request was sent, in epoch milliseconds
+     * @return the response to hand to the caller
+     */
+    private ClientResponse store(String key, ClientRequest request, ClientResponse response, long requestTime) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        Directives directives = Directives.parse(headers.getCacheControl());
+        if (!CACHEABLE_STATUSES.contains(response.statusCode().value())
+                || directives.noStore
+                || headers.getContentLength() > maxEntryBytes
+                || headers.getVary().contains("*")) {
+            return response;
+        }
+        long freshUntil = freshUntil(headers, directives, requestTime);
+        if (freshUntil <= requestTime && headers.getETag() == null && headers.getLastModified() < 0) {
+            return response;
+        }
+        HttpStatusCode status = response.statusCode();
+        HttpHeaders stored = new HttpHeaders();
+        stored.addAll(headers);
+        stored.remove(HttpHeaders.SET_COOKIE);
+        Map<String, List<String>> vary = new LinkedHashMap<>();
+        for (String name : headers.getVary()) {
+            vary.put(name, request.headers().get(name));
+        }
+        BodyAccumulator body = new BodyAccumulator(maxEntryBytes);
+        return response.mutate()
+                .body(flux -> flux.doOnNext(body::append).doOnComplete(() -> {
+                    if (!body.overflow) {
+                        cache.put(key, new CachedResponse(status, stored, body.toByteArray(), freshUntil, vary));
+                    }
+                }))
+                .build();
+    }
+
+    /**
+     * Builds the key of a request.
+     *
+     * @param request
+     *            the request
+     * @return the client name, URI and key header values
+     */
+    private String keyOf(ClientRequest request) {
+        StringBuilder key = new StringBuilder(clientName).append(' ').append(request.url());
+        HttpHeaders requestHeaders = request.headers();
+        for (String header : keyHeaders) {
+            List<String> values = requestHeaders.get(header);
+            if (values != null) {
+                key.append('\n').append(header).append(':').append(values);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Computes the end of the freshness of a response.
+     *
+     * @param headers
+     *            the headers of the response
+     * @param directives
+     *            the parsed {@code Cache-Control} of the response
+     * @param requestTime
+     *            the time the request was sent, in epoch milliseconds
+     * @return the epoch milliseconds until which the response is fresh
+     */
+    private static long freshUntil(HttpHeaders headers, Directives directives, long requestTime) {
+        if (directives.noCache) {
+            return requestTime;
+        }
+        if (directives.maxAge >= 0) {
+            return requestTime + (directives.maxAge - age(headers)) * 1000;
+        }
+        long expires = headers.getExpires();
+        if (expires >= 0) {
+            long date = date(headers);
+            return requestTime + expires - (date >= 0 ? date : requestTime);
+        }
+        return requestTime;
+    }
+
+    private static long age(HttpHeaders headers) {
+        try {
+            String age = headers.getFirst(HttpHeaders.AGE);
+            return age != null ? Math.max(Long.parseLong(age.trim()), 0) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long date(HttpHeaders headers) {
+        try {
+            return headers.getDate();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Stored response, with its whole body.
+     */
+    private static final class CachedResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long freshUntil;
+        private final String etag;
+        private final long lastModified;
+        private final Map<String, List<String>> vary;
+        private final int weight;
+
+        private CachedResponse(
+                HttpStatusCode status,
+                HttpHeaders headers,
+                byte[] body,
+                long freshUntil,
+                Map<String, List<String>> vary) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.freshUntil = freshUntil;
+            this.etag = headers.getETag();
+            this.lastModified = headers.getLastModified();
+            this.vary = vary;
+            int size = body.length;
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                size += header.getKey().length() + header.getValue().toString().length();
+            }
+            this.weight = size;
+        }
+
+        /**
+         * Tells whether the request has the values of the headers the response
+         * varies on.
+         */
+        private boolean matches(HttpHeaders requestHeaders) {
+            for (Map.Entry<String, List<String>> entry : vary.entrySet()) {
+                if (!Objects.equals(entry.getValue(), requestHeaders.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the entry updated with the headers of a {@code 304} response.
+         */
+        private CachedResponse refresh(HttpHeaders notModified, long requestTime) {
+            HttpHeaders refreshed = new HttpHeaders();
+            refreshed.addAll(headers);
+            for (String name : REFRESHED_HEADERS) {
+                List<String> values = notModified.get(name);
+                if (values != null) {
+                    refreshed.put(name, values);
+                }
+            }
+            long fresh = freshUntil(refreshed, Directives.parse(refreshed.getCacheControl()), requestTime);
+            return new CachedResponse(status, refreshed, body, fresh, vary);
+        }
+
+        private ClientResponse toResponse(ExchangeStrategies strategies, ClientRequest request) {
+            return ClientResponse.create(status, strategies)
+                    .request(new ClientRequestAdapter(request))
+                    .headers(target -> target.addAll(headers))
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build();
+        }
+    }
+
+    /**
+     * Copy of a body read by the caller, dropped once larger than the limit.
+     */
+    private static final class BodyAccumulator {
+        private final int limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean overflow;
+
+        private BodyAccumulator(int limit) {
+            this.limit = limit;
+        }
+
+        private void append(DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            if (overflow || bytes.size() + readable > limit) {
+                overflow = true;
+                bytes = null;
+                return;
+            }
+            byte[] chunk = new byte[readable];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, readable);
+            bytes.write(chunk, 0, readable);
+        }
+
+        private byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * The {@code Cache-Control} directives the cache acts on.
+     */
+    private static final class Directives {
+        private static final Directives NONE = new Directives(false, false, -1);
+
+        private final boolean noStore;
+        private final boolean noCache;
+        private final long maxAge;
+
+        private Directives(boolean noStore, boolean noCache, long maxAge) {
+            this.noStore = noStore;
+            this.noCache = noCache;
+            this.maxAge = maxAge;
+        }
+
+        private static Directives parse(String cacheControl) {
+            if (cacheControl == null || cacheControl.isBlank()) {
+                return NONE;
+            }
+            boolean noStore = false;
+            boolean noCache = false;
+            long maxAge = -1;
+            for (String directive : cacheControl.split(",")) {
+                String token = directive.trim().toLowerCase(Locale.ROOT);
+                if (token.equals("no-store")) {
+                    noStore = true;
+                } else if (token.equals("no-cache") || token.startsWith("no-cache=")) {
+                    noCache = true;
+                } else if (token.startsWith("max-age=")) {
+                    try {
+                        maxAge = Long.parseLong(token.substring("max-age=".length()).replace("\"", ""));
+                    } catch (NumberFormatException e) {
+                        noCache = true;
+                    }
+                }
+            }
+            return new Directives(noStore, noCache, maxAge);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import com.reactify.exception.CallNotPermittedException;
+import com.reactify.filter.properties.CircuitBreakerProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The WebClientCircuitBreakerFilter class stops calling a failing server. It
+ * keeps the outcome of the latest calls of a client in a sliding window and
+ * opens the circuit once the rate of failed or slow calls reaches the
+ * configured threshold: calls then fail at once with a
+ * {@link CallNotPermittedException}, without taking a pooled connection. After
+ * the configured wait, a few probe calls are let through and their outcome
+ * closes or opens the circuit again.
+ * </p>
+ *
+ * <p>
+ * It sits inside the {@link WebClientRetryHandler}, so every attempt is
+ * recorded, and rejected calls are not retried. It also sits inside the
+ * bulkhead and the concurrency limit; a call they reject never reached the
+ * server and is not recorded either. A call is measured until its response
+ * headers are received; an exchange cancelled before is not recorded.
+ * Outcomes of calls started before the last state change are ignored, so late
+ * responses of the closed circuit do not count as probes.
+ * </p>
+ *
+ * <p>
+ * The state ({@code 0} closed, {@code 1} open, {@code 2} half open) and the
+ * calls by outcome are exported as the {@code reactify.client.circuit.state}
+ * gauge and the {@code reactify.client.circuit.calls} counter, tagged with the
+ * name of the client.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class WebClientCircuitBreakerFilter implements ExchangeFilterFunction, MeterBinder {
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(WebClientCircuitBreakerFilter.class);
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String clientName;
+    private final CircuitBreakerProperties properties;
+    private final long slowCallNanos;
+    private final long waitNanos;
+
+    /** outcomes of the latest calls of the closed circuit, a ring buffer */
+    private final byte[] window;
+
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    private volatile State state = State.CLOSED;
+
+    /** incremented on every state change, calls of an older generation are ignored */
+    private long generation;
+
+    private long openedAt;
+    private int probesIssued;
+    private int probesDone;
+    private int probeFailures;
+    private int probeSlowCalls;
+
+    private final LongAdder successful = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public WebClientCircuitBreakerFilter(String clientName, CircuitBreakerProperties properties) {
+        this.clientName = clientName;
+        this.properties = properties;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallDurationMs());
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWaitDurationInOpenMs());
+        this.window = new byte[Math.max(properties.getSlidingWindowSize(), 1)];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Rejects the request while the circuit is open, otherwise records the
+     * outcome of the exchange.
+     * </p>
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long permit = acquire();
+            if (permit < 0) {
+                rejected.increment();
+                return Mono.error(new CallNotPermittedException(clientName, "circuit breaker is " + state));
+            }
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> record(
+                            permit, response.statusCode().is5xxServerError(), System.nanoTime() - start))
+                    .doOnError(error -> {
+                        if (isLocalRejection(error)) {
+                            // rejected by an inner bulkhead or limit, the server was never called
+                            release(permit);
+                        } else {
+                            record(permit, true, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(() -> release(permit));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Registers the state gauge and the call counters of the client.
+     * </p>
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reactify.client.circuit.state", this, filter -> filter.state.ordinal())
+                .description("State of the circuit breaker: 0 closed, 1 open, 2 half open")
+                .tag("client", clientName)
+                .register(registry);
+        bindCounter(registry, "successful", successful);
+        bindCounter(registry, "failed", failed);
+        bindCounter(registry, "slow", slow);
+        bindCounter(registry, "rejected", rejected);
+    }
+
+    /**
+     * Returns the current state of the circuit.
+     *
+     * @return the {@link State}
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Registers the counter of an outcome.
+     *
+     * @param registry
+     *            the registry of the meters
+     * @param outcome
+     *            the outcome tag
+     * @param adder
+     *            the counted calls
+     */
+    private void bindCounter(MeterRegistry registry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("reactify.client.circuit.calls", adder, LongAdder::sum)
+                .description("Calls of the client by outcome of the circuit breaker")
+                .tags("client", clientName, "outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Lets a call through if the state of the circuit permits it.
+     *
+     * @return the generation of the call, or {@code -1} if it is rejected
+     */
+    private synchronized long acquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < waitNanos) {
+                return -1;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= properties.getPermittedCallsInHalfOpen()) {
+                return -1;
+            }
+            probesIssued++;
+        }
+        return generation;
+    }
+
+    /**
+     * Tells whether a failure is a {@link CallNotPermittedException} raised by
+     * another filter before the request was sent.
+     *
+     * @param error
+     *            the failure of the call
+     * @return {@code true} if the call never reached the server
+     */
+    private static boolean isLocalRejection(Throwable error) {
+        return error instanceof CallNotPermittedException
+                || NestedExceptionUtils.getRootCause(error) instanceof CallNotPermittedException;
+    }
+
+    /**
+     * Gives back the permit of a cancelled or locally rejected call, so another probe can be sent.
+     *
+     * @param permit
+     *            the generation of the call
+     */
+    private synchronized void release(long permit) {
+        if (permit == generation && state == State.HALF_OPEN && probesIssued > 0) {
+            probesIssued--;
+        }
+    }
+
+    /**
+     * Records the outcome of a call and changes the state when a threshold is
+     * reached.
+     *
+     * @param permit
+     *            the generation of the call
+     * @param failure
+     *            whether the call failed
+     * @param elapsedNanos
+     *            the duration of the call
+     */
+    private synchronized void record(long permit, boolean failure, long elapsedNanos) {
+        boolean slowCall = elapsedNanos >= slowCallNanos;
+        if (failure) {
+            failed.increment();
+        } else if (slowCall) {
+            slow.increment();
+        } else {
+            successful.increment();
+        }
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.CLOSED) {
+            byte outcome = (byte) ((failure ? FAILED : 0) | (slowCall ? SLOW : 0));
+            byte evicted = window[windowIndex];
+            window[windowIndex] = outcome;
+            windowIndex = (windowIndex + 1) % window.length;
+            if (windowCalls < window.length) {
+                windowCalls++;
+            }
+            windowFailures += (outcome & FAILED) - (evicted & FAILED);
+            windowSlowCalls += ((outcome & SLOW) - (evicted & SLOW)) / SLOW;
+            if (windowCalls >= properties.getMinimumCalls()
+                    && exceeds(windowFailures, windowSlowCalls, windowCalls)) {
+                transition(State.OPEN);
+            }
+        } else if (state == State.HALF_OPEN) {
+            probesDone++;
+            probeFailures += failure ? 1 : 0;
+            probeSlowCalls += slowCall ? 1 : 0;
+            if (exceeds(probeFailures, probeSlowCalls, properties.getPermittedCallsInHalfOpen())) {
+                transition(State.OPEN);
+            } else if (probesDone >= properties.getPermittedCallsInHalfOpen()) {
+                transition(State.CLOSED);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the failure or slow call rate reaches its threshold.
+     *
+     * @param failures
+     *            the number of failed calls
+     * @param slowCalls
+     *            the number of slow calls
+     * @param calls
+     *            the number of calls
+     * @return {@code true} if the circuit must open
+     */
+    private boolean exceeds(int failures, int slowCalls, int calls) {
+        float total = Math.max(calls, 1);
+        return failures * 100f / total >= properties.getFailureRateThreshold()
+                || slowCalls * 100f / total >= properties.getSlowCallRateThreshold();
+    }
+
+    /**
+     * Moves the circuit to a new state and resets the counts of the previous one.
+     *
+     * @param next
+     *            the new state
+     */
+    private void transition(State next) {
+        log.warn("Circuit breaker of client {} changed from {} to {}", clientName, state, next);
+        state = next;
+        generation++;
+        probesIssued = 0;
+        probesDone = 0;
+        probeFailures = 0;
+        probeSlowCalls = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (next == State.CLOSED) {
+            Arrays.fill(window, (byte) 0);
+            windowIndex = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+            windowSlowCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import com.reactify.filter.properties.CoalesceProperties;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The WebClientCoalescingFilter class shares one exchange between identical
+ * requests issued while it is in flight. It is set up by the
+ * {@link com.reactify.WebClientFactory} when
+ * {@link CoalesceProperties#isEnable()}, outside the logging, retry and
+ * recording filters, so the shared exchange is logged, retried and recorded
+ * once.
+ * </p>
+ *
+ * <p>
+ * The key of a request is made of the client name, the method, the URI and the
+ * values of the configured headers. When the Cookie header is one of them, the
+ * cookies set on the request with {@code cookie(...)}, which are only written
+ * as a header by the connector, are part of the key too. The response of the shared exchange is
+ * buffered, up to {@link CoalesceProperties#getMaxBodyBytes()} or by default
+ * the {@code maxInMemorySize} of the codecs, and every caller receives its own
+ * copy to decode. A larger response is not shared: every caller then sends its
+ * own request. The in-flight entry is removed as soon as the exchange
+ * terminates, nothing is cached afterwards.
+ * </p>
+ *
+ * <p>
+ * Requests accepting {@code application/x-ndjson} or
+ * {@code text/event-stream}, such as those of
+ * {@link com.reactify.BaseRestClient#getFlux}, are never coalesced, so that
+ * their body is streamed instead of buffered.
+ * </p>
+ *
+ * <p>
+ * The shared exchange runs with the Reactor context of the first caller, and
+ * keeps running when that caller cancels, as long as others wait for it.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class WebClientCoalescingFilter implements ExchangeFilterFunction {
+
+    /**
+     * A static logger instance for logging messages related to
+     * WebClientCoalescingFilter.
+     */
+    private static final Logger log = LoggerFactory.getLogger(WebClientCoalescingFilter.class);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /** placeholder of a shared response too large to be buffered */
+    private static final BufferedResponse TOO_LARGE = new BufferedResponse(null, new HttpHeaders(), null, EMPTY);
+
+    /**
+     * The name of the client, part of every key.
+     */
+    private final String clientName;
+
+    private final List<HttpMethod> methods;
+
+    private final List<String> headers;
+
+    /** whether the cookies of a request are part of its key */
+    private final boolean keyedByCookies;
+
+    private final int maxBodyBytes;
+
+    private final ExchangeStrategies strategies;
+
+    /** exchanges in flight, keyed by request */
+    private final Map<String, Mono<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@code WebClientCoalescingFilter}.
+     *
+     * @param clientName
+     *            the name of the client
+     * @param properties
+     *            the coalescing configuration of the client
+     * @param strategies
+     *            the strategies of the client, used to decode the shared
+     *            responses
+     * @param maxInMemorySize
+     *            the {@code maxInMemorySize} of the codecs of the client, the
+     *            default limit of a shared body
+     */
+    public WebClientCoalescingFilter(
+            String clientName, CoalesceProperties properties, ExchangeStrategies strategies, int maxInMemorySize) {
+        this.clientName = clientName;
+        this.methods = List.copyOf(properties.getMethods());
+        this.headers = List.copyOf(properties.getHeaders());
+        this.keyedByCookies = this.headers.stream().anyMatch(HttpHeaders.COOKIE::equalsIgnoreCase);
+        this.maxBodyBytes = properties.getMaxBodyBytes() > 0 ? properties.getMaxBodyBytes() : maxInMemorySize;
+        this.strategies = strategies;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Joins the exchange in flight for an identical request, or starts it.
+     * </p>
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!methods.contains(request.method()) || isStreaming(request)) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+                    String key = keyOf(request);
+                    return inFlight.computeIfAbsent(key, k -> share(k, request, next));
+                })
+                .flatMap(buffered ->
+                        buffered == TOO_LARGE ? next.exchange(request) : Mono.just(toResponse(buffered, request)));
+    }
+
+    /**
+     * Returns the number of exchanges currently shared.
+     *
+     * @return the number of keys in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Starts the exchange shared by the requests of a key.
+     *
+     * @param key
+     *            the key of the request
+     * @param request
+     *            the first request of the key
+     * @param next
+     *            the next exchange function
+     * @return the cached {@link Mono} of the buffered response
+     */
+    private Mono<BufferedResponse> share(String key, ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request)
+                .flatMap(response -> buffer(key, response))
+                .doOnError(e -> log.debug("Coalesced request {} failed", key, e))
+                .doFinally(signal -> inFlight.remove(key))
+                .cache();
+    }
+
+    /**
+     * Buffers the response of a shared exchange, unless it is larger than the
+     * limit of a shared body.
+     *
+     * @param key
+     *            the key of the request
+     * @param response
+     *            the response of the shared exchange
+     * @return the buffered response, or {@link #TOO_LARGE}
+     */
+    private Mono<BufferedResponse> buffer(String key, ClientResponse response) {
+        if (response.headers().contentLength().orElse(-1) > maxBodyBytes) {
+            log.debug("Response of coalesced request {} is too large to be shared", key);
+            return response.releaseBody().thenReturn(TOO_LARGE);
+        }
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), maxBodyBytes)
+                .map(WebClientCoalescingFilter::toBytes)
+                .defaultIfEmpty(EMPTY)
+                .map(body -> new BufferedResponse(
+                        response.statusCode(), response.headers().asHttpHeaders(), response.cookies(), body))
+                .onErrorResume(DataBufferLimitException.class, e -> {
+                    log.debug("Response of coalesced request {} is too large to be shared", key);
+                    return Mono.just(TOO_LARGE);
+                });
+    }
+
+    /**
+     * Tells whether a request asks for a streamed body.
+     *
+     * @param request
+     *            the request
+     * @return {@code true} if it accepts NDJSON or server-sent events
+     */
+    private static boolean isStreaming(ClientRequest request) {
+        for (MediaType accept : request.headers().getAccept()) {
+            if (accept.isWildcardType() || accept.isWildcardSubtype()) {
+                continue;
+            }
+            if (accept.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    || accept.isCompatibleWith(MediaType.TEXT_EVENT_STREAM)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the key of a request.
+     *
+     * @param request
+     *            the request
+     * @return the client name, method, URI and selected header values
+     */
+    private String keyOf(ClientRequest request) {
+        StringBuilder key = new StringBuilder(clientName)
+                .append(' ')
+                .append(request.method().name())
+                .append(' ')
+                .append(request.url());
+        HttpHeaders requestHeaders = request.headers();
+        for (String header : headers) {
+            List<String> values = requestHeaders.get(header);
+            if (values != null) {
+                key.append('\n').append(header).append(':').append(values);
+            }
+        }
+        if (keyedByCookies && !request.cookies().isEmpty()) {
+            key.append("\ncookies:").append(request.cookies());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Creates the response of one caller from the shared one.
+     *
+     * @param buffered
+     *            the buffered shared response
+     * @param request
+     *            the request of the caller
+     * @return a {@link ClientResponse} with its own body
+     */
+    private ClientResponse toResponse(BufferedResponse buffered, ClientRequest request) {
+        return ClientResponse.create(buffered.status, strategies)
+                .request(new ClientRequestAdapter(request))
+                .headers(target -> target.addAll(buffered.headers))
+                .cookies(target -> target.addAll(buffered.cookies))
+                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(buffered.body))))
+                .build();
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Response of a shared exchange, with its whole body.
+     */
+    private static final class BufferedResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final MultiValueMap<String, ResponseCookie> cookies;
+        private final byte[] body;
+
+        private BufferedResponse(
+                HttpStatusCode status,
+                HttpHeaders headers,
+                MultiValueMap<String, ResponseCookie> cookies,
+                byte[] body) {
+            this.status = status;
+            this.headers = new HttpHeaders();
+            this.headers.addAll(headers);
+            this.cookies = cookies;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import com.reactify.exception.CallNotPermittedException;
+import com.reactify.filter.properties.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * <p>
+ * The WebClientConcurrencyLimitFilter class limits the calls of a client in
+ * flight to a limit adapted to the latency of the server, in the manner of the
+ * Vegas and Gradient algorithms of TCP congestion control. Each response time
+ * is compared to the minimum one observed: while they are close, the server is
+ * not queuing and the limit grows by about its square root; as the ratio
+ * drops, the limit shrinks in proportion. A failed call, a {@code 429} or a
+ * {@code 503} response shrinks the limit by the configured backoff ratio.
+ * </p>
+ *
+ * <p>
+ * Calls beyond the limit wait briefly in a bounded queue when one is
+ * configured, and otherwise fail at once with a
+ * {@link CallNotPermittedException}. A call is measured until its response
+ * headers are received. The minimum response time is measured again every
+ * {@link #MIN_RTT_PROBE_SAMPLES} samples, so the limit follows a server whose
+ * latency changed for good.
+ * </p>
+ *
+ * <p>
+ * The limit, the calls in flight and the minimum response time are exported as
+ * the {@code reactify.client.concurrency.limit},
+ * {@code reactify.client.concurrency.inflight} and
+ * {@code reactify.client.concurrency.min.rtt} gauges, and the rejected calls as
+ * the {@code reactify.client.concurrency.rejected} counter, tagged with the name
+ * of the client.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class WebClientConcurrencyLimitFilter implements ExchangeFilterFunction, MeterBinder {
+
+    /** number of samples after which the minimum response time is measured again */
+    static final int MIN_RTT_PROBE_SAMPLES = 1000;
+
+    private final String clientName;
+    private final ConcurrencyLimitProperties properties;
+    private final Duration maxWait;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Queue<Waiter> queue = new ConcurrentLinkedQueue<>();
+    private final LongAdder rejected = new LongAdder();
+
+    /** exact limit, only updated under the lock of the filter */
+    private double estimatedLimit;
+
+    /** limit read by the callers without locking */
+    private volatile int limit;
+
+    private long minRttNanos = Long.MAX_VALUE;
+    private long samples;
+
+    public WebClientConcurrencyLimitFilter(String clientName, ConcurrencyLimitProperties properties) {
+        this.clientName = clientName;
+        this.properties = properties;
+        this.maxWait = Duration.ofMillis(properties.getMaxWaitMs());
+        this.estimatedLimit = clamp(properties.getInitialLimit());
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Sends the request once it fits in the limit, waiting in the queue when
+     * needed, and feeds its response time back into the limit.
+     * </p>
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (tryAcquire()) {
+                return measure(request, next);
+            }
+            if (properties.getMaxQueueSize() <= 0) {
+                return reject();
+            }
+            if (waiting.incrementAndGet() > properties.getMaxQueueSize()) {
+                waiting.decrementAndGet();
+                return reject();
+            }
+            return Mono.<Void>create(this::enqueue)
+                    .timeout(maxWait, Mono.defer(this::reject))
+                    .doFinally(signal -> waiting.decrementAndGet())
+                    .then(Mono.defer(() -> measure(request, next)));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Registers the gauges and the rejection counter of the client.
+     * </p>
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reactify.client.concurrency.limit", this, WebClientConcurrencyLimitFilter::getLimit)
+                .description("Adaptive limit of the calls of the client in flight")
+                .tag("client", clientName)
+                .register(registry);
+        Gauge.builder("reactify.client.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Calls of the client in flight")
+                .tag("client", clientName)
+                .register(registry);
+        Gauge.builder("reactify.client.concurrency.min.rtt", this, WebClientConcurrencyLimitFilter::getMinRttMillis)
+                .description("Minimum response time of the client")
+                .tag("client", clientName)
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("reactify.client.concurrency.rejected", rejected, LongAdder::sum)
+                .description("Calls of the client rejected by the concurrency limit")
+                .tag("client", clientName)
+                .register(registry);
+    }
+
+    /**
+     * Returns the current limit of calls in flight.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the minimum response time currently observed.
+     *
+     * @return the duration in milliseconds, or {@code 0} before any sample
+     */
+    public synchronized double getMinRttMillis() {
+        return minRttNanos == Long.MAX_VALUE ? 0 : minRttNanos / 1_000_000.0;
+    }
+
+    /**
+     * Sends the request while holding a permit, and releases it afterwards.
+     *
+     * @param request
+     *            the request to send
+     * @param next
+     *            the next exchange function
+     * @return the response
+     */
+    private Mono<ClientResponse> measure(ClientRequest request, ExchangeFunction next) {
+        long start = System.nanoTime();
+        int inFlightAtStart = inFlight.get();
+        return next.exchange(request)
+                .doOnNext(response -> onSample(
+                        System.nanoTime() - start, inFlightAtStart, isThrottled(response.statusCode())))
+                .doOnError(error -> onSample(System.nanoTime() - start, inFlightAtStart, true))
+                .doFinally(signal -> release());
+    }
+
+    /**
+     * Fails the request as the limit is reached.
+     *
+     * @param <T>
+     *            the type of the {@link Mono}
+     * @return a failing {@link Mono}
+     */
+    private <T> Mono<T> reject() {
+        rejected.increment();
+        return Mono.error(
+                new CallNotPermittedException(clientName, "concurrency limit of " + limit + " calls reached"));
+    }
+
+    /**
+     * Takes a permit if the calls in flight are below the limit.
+     *
+     * @return {@code true} if the call may proceed
+     */
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gives back a permit and hands it to a waiting call, if any.
+     */
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Queues a call until a permit is handed to it.
+     *
+     * @param sink
+     *            the sink completed with the permit
+     */
+    private void enqueue(MonoSink<Void> sink) {
+        Waiter waiter = new Waiter(sink);
+        sink.onCancel(() -> {
+            if (!waiter.abandon()) {
+                release();
+            } else {
+                queue.remove(waiter);
+            }
+        });
+        queue.offer(waiter);
+        drain();
+    }
+
+    /**
+     * Hands the free permits to the waiting calls. The queue is checked again
+     * after giving back an unused permit, so a call queued meanwhile is not
+     * left waiting.
+     */
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            Waiter waiter = queue.poll();
+            if (waiter == null || !waiter.grant()) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Updates the limit with the response time of a call.
+     *
+     * @param rttNanos
+     *            the response time of the call
+     * @param inFlightAtStart
+     *            the calls in flight when it was sent
+     * @param dropped
+     *            whether the call failed or was throttled
+     */
+    private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (++samples % MIN_RTT_PROBE_SAMPLES == 0) {
+            minRttNanos = rttNanos;
+        }
+        if (dropped) {
+            update(estimatedLimit * properties.getBackoffRatio());
+            return;
+        }
+        minRttNanos = Math.min(minRttNanos, Math.max(rttNanos, 1));
+        if (inFlightAtStart < estimatedLimit / 2) {
+            // the client is not using the limit, its latency says nothing about it
+            return;
+        }
+        double gradient = Math.max(
+                0.5, Math.min(1.0, properties.getRttTolerance() * minRttNanos / Math.max(rttNanos, 1)));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing());
+    }
+
+    /**
+     * Sets the limit. Waiting calls it lets through are woken when the permit of
+     * the measured call is released.
+     *
+     * @param newLimit
+     *            the new limit, before clamping
+     */
+    private void update(double newLimit) {
+        estimatedLimit = clamp(newLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Keeps a limit within the configured bounds.
+     *
+     * @param value
+     *            the limit
+     * @return the bounded limit
+     */
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+
+    /**
+     * Tells whether the server asked the client to slow down.
+     *
+     * @param status
+     *            the status of the response
+     * @return {@code true} for {@code 429} and {@code 503}
+     */
+    private static boolean isThrottled(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    /**
+     * A call waiting for a permit. It is either granted a permit or abandoned,
+     * whichever happens first.
+     */
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int ABANDONED = 2;
+
+        private final MonoSink<Void> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant() {
+            if (state.compareAndSet(WAITING, GRANTED)) {
+                sink.success();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean abandon() {
+            return state.compareAndSet(WAITING, ABANDONED);
+        }
+    }
+}
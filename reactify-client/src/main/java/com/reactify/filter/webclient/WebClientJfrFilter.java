@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.webclient;
+
+import com.reactify.jfr.ClientExchangeEvent;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The WebClientJfrFilter class emits a {@link ClientExchangeEvent} for every
+ * exchange of a client. It is the innermost filter set up by the
+ * {@link com.reactify.WebClientFactory}, after the custom filters of the
+ * client, so the event times the exchange alone and each attempt of a retried
+ * request is a separate event. The event travels in the Reactor context of the
+ * exchange, where the HTTP client finds it once a connection is acquired.
+ * </p>
+ *
+ * <p>
+ * When the event is not enabled in the running recording, the request is
+ * passed on as is.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class WebClientJfrFilter implements ExchangeFilterFunction {
+
+    /**
+     * The name of the client, recorded with every event.
+     */
+    private final String clientName;
+
+    public WebClientJfrFilter(String clientName) {
+        this.clientName = clientName;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Times the exchange until the response headers are received.
+     * </p>
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ClientExchangeEvent event = ClientExchangeEvent.start(clientName, request);
+            if (!event.isEnabled()) {
+                return next.exchange(request);
+            }
+            return next.exchange(request)
+                    .doOnNext(response -> event.setStatus(response.statusCode().value()))
+                    .doFinally(signal -> event.finish(signal.toString()))
+                    .contextWrite(context -> context.put(ClientExchangeEvent.class, event));
+        });
+    }
+}
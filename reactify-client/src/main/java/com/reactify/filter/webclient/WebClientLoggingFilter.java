@@ -15,6 +15,7 @@
  */
 package com.reactify.filter.webclient;
 
+import com.reactify.constants.Constants;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,11 @@ import reactor.core.publisher.Mono;
  * obfuscation.
  * </p>
  *
+ * <p>
+ * Headers are logged at debug level, or at info level for the exchanges with
+ * request-scoped debug logging turned on by reactify-logging.
+ * </p>
+ *
  * @author hoangtien2k3
  */
 public class WebClientLoggingFilter implements ExchangeFilterFunction {
@@ -73,26 +79,54 @@ public class WebClientLoggingFilter implements ExchangeFilterFunction {
      */
     @Override
     public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
-        log.info("Start Call API - Method: {} {}", request.method(), request.url());
-        if (request.headers().getContentLength() > 0) {
-            log.info("body {}", request.body());
-        }
-        if (log.isDebugEnabled()) {
-            request.headers()
-                    .forEach((name, values) -> values.forEach(value -> log.debug(
-                            "Request header: {}={}", name, obfuscateHeader.contains(name) ? OBFUSCATE_HEADER : value)));
-        }
-        return next.exchange(request).flatMap(clientResponse -> {
-            if (log.isDebugEnabled()) {
-                clientResponse
-                        .headers()
-                        .asHttpHeaders()
-                        .forEach((name, values) -> values.forEach(value -> log.debug(
-                                "Response header: {}={}",
-                                name,
-                                obfuscateHeader.contains(name) ? OBFUSCATE_HEADER : value)));
+        return Mono.deferContextual(context -> {
+            boolean debug = context.getOrDefault(Constants.DEBUG_LOG_CONTEXT_KEY, Boolean.FALSE);
+            log.info("Start Call API - Method: {} {}", request.method(), request.url());
+            if (request.headers().getContentLength() > 0) {
+                log.info("body {}", request.body());
+            }
+            if (debug || log.isDebugEnabled()) {
+                request.headers()
+                        .forEach((name, values) -> values.forEach(
+                                value -> logHeader(debug, "Request header: {}={}", name, value)));
             }
-            return Mono.just(clientResponse);
+            return next.exchange(request).doOnNext(clientResponse -> {
+                if (debug || log.isDebugEnabled()) {
+                    if (debug) {
+                        log.info("[debug] Response status: {} {}", request.url(), clientResponse.statusCode());
+                    } else {
+                        log.debug("Response status: {} {}", request.url(), clientResponse.statusCode());
+                    }
+                    clientResponse
+                            .headers()
+                            .asHttpHeaders()
+                            .forEach((name, values) -> values.forEach(
+                                    value -> logHeader(debug, "Response header: {}={}", name, value)));
+                }
+            });
         });
     }
+
+    /**
+     * Logs a header, obfuscating sensitive values.
+     * Exchanges with request-scoped debug logging are logged at info level,
+     * whatever the level of this logger.
+     *
+     * @param debug
+     *            whether debug logging is on for the exchange
+     * @param format
+     *            the message format
+     * @param name
+     *            the name of the header
+     * @param value
+     *            the value of the header
+     */
+    private void logHeader(boolean debug, String format, String name, String value) {
+        String logged = obfuscateHeader.contains(name) ? OBFUSCATE_HEADER : value;
+        if (debug) {
+            log.info("[debug] " + format, name, logged);
+        } else {
+            log.debug(format, name, logged);
+        }
+    }
 }
@@ -15,10 +15,19 @@
  */
 package com.reactify.filter.webclient;
 
+import com.reactify.exception.CallNotPermittedException;
 import com.reactify.filter.properties.RetryProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
@@ -32,32 +41,82 @@ import reactor.util.retry.Retry;
  * interface to provide retry logic for HTTP requests made through a WebClient
  * instance. It uses properties defined in the RetryProperties class to
  * determine the retry behavior, such as the number of retries and which HTTP
- * methods and exceptions to retry.
+ * methods, exceptions and response statuses to retry.
  * </p>
  *
  * <p>
- * This handler is particularly useful for enhancing the reliability of API
- * calls, allowing the application to automatically attempt requests again in
- * the case of transient failures.
+ * Attempts are spaced by an exponential backoff with full jitter, so that the
+ * callers of a failing server do not retry in lockstep, or by the delay of the
+ * {@code Retry-After} header of the response. A delay longer than the maximum
+ * backoff is not waited for. Retries also draw on a token bucket shared by the
+ * requests of the client, which stops retry storms during an outage: once it is
+ * empty, the failure or response of the attempt is returned as is. The
+ * {@link Retry} spec is built once, with the handler.
+ * </p>
+ *
+ * <p>
+ * When a response status is retried and the retries are exhausted, the last
+ * response is returned to the caller; its body is released for the earlier
+ * attempts.
+ * </p>
+ *
+ * <p>
+ * The retries and the retries denied by the budget are exported as the
+ * {@code reactify.client.retry.attempts} and
+ * {@code reactify.client.retry.budget.exhausted} counters, tagged with the name
+ * of the client.
  * </p>
  *
  * @author hoangtien2k3
  */
-public class WebClientRetryHandler implements ExchangeFilterFunction {
+public class WebClientRetryHandler implements ExchangeFilterFunction, MeterBinder {
 
     /**
      * A static logger instance for logging messages
      */
     private static final Logger log = LoggerFactory.getLogger(WebClientRetryHandler.class);
 
+    /** one retry, in thousandths of a token */
+    private static final long TOKEN = 1000;
+
+    /**
+     * the name of the client, tagging the meters
+     */
+    private final String clientName;
+
     /**
      * the {@link RetryProperties} defining retry behavior, including retry count,
      * applicable HTTP methods, and exceptions to retry
      */
     private final RetryProperties properties;
 
+    /**
+     * the retry spec shared by the requests of the client
+     */
+    private final Retry retry;
+
+    /**
+     * the retry tokens saved, in thousandths of a token
+     */
+    private final AtomicLong budget;
+
+    private final long budgetDeposit;
+    private final long budgetCapacity;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
     public WebClientRetryHandler(RetryProperties properties) {
+        this("default", properties);
+    }
+
+    public WebClientRetryHandler(String clientName, RetryProperties properties) {
+        this.clientName = clientName;
         this.properties = properties;
+        this.budgetDeposit = Math.round(properties.getBudgetRatio() * TOKEN);
+        this.budgetCapacity = Math.max(properties.getBudgetCapacity(), 1) * TOKEN;
+        this.budget = new AtomicLong(budgetCapacity);
+        this.retry = Retry.from(signals -> signals.concatMap(this::nextAttempt));
     }
 
     /**
@@ -65,21 +124,202 @@ public class WebClientRetryHandler implements ExchangeFilterFunction {
      *
      * <p>
      * Filters the client request to apply retry logic based on the specified
-     * RetryProperties. If a request fails due to specific exceptions or methods, it
-     * will be retried according to the configured properties.
+     * RetryProperties. If a request fails due to specific exceptions or
+     * statuses, it will be retried according to the configured properties.
      * </p>
      */
     @Override
     public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
-        Retry retry = Retry.max(properties.getCount())
-                .filter(e -> properties.getMethods().contains(request.method())
-                        && properties.getExceptions().stream()
-                                .anyMatch(clazz ->
-                                        clazz.isInstance(e) || clazz.isInstance(NestedExceptionUtils.getRootCause(e))))
-                .doBeforeRetry(retrySignal -> {
-                    log.warn("Retrying: {}; Cause: {}.", retrySignal.totalRetries(), retrySignal.failure());
-                })
-                .onRetryExhaustedThrow(((retrySpec, retrySignal) -> retrySignal.failure()));
-        return next.exchange(request).retryWhen(retry);
+        deposit();
+        if (properties.getCount() <= 0 || !properties.getMethods().contains(request.method())) {
+            return next.exchange(request);
+        }
+        return next.exchange(request)
+                .flatMap(this::checkStatus)
+                .retryWhen(retry)
+                .onErrorResume(RetryableStatusException.class, e -> Mono.just(e.response));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Registers the retry counters of the client.
+     * </p>
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("reactify.client.retry.attempts", retries, LongAdder::sum)
+                .description("Retries of the client")
+                .tag("client", clientName)
+                .register(registry);
+        FunctionCounter.builder("reactify.client.retry.budget.exhausted", budgetExhausted, LongAdder::sum)
+                .description("Retries of the client denied by the retry budget")
+                .tag("client", clientName)
+                .register(registry);
+    }
+
+    /**
+     * Turns a response with a retried status into an error, so it is retried.
+     *
+     * @param response
+     *            the response of the attempt
+     * @return the response, or a {@link RetryableStatusException} holding it
+     */
+    private Mono<ClientResponse> checkStatus(ClientResponse response) {
+        if (properties.getStatuses() != null
+                && properties.getStatuses().contains(response.statusCode().value())) {
+            return Mono.error(new RetryableStatusException(response));
+        }
+        return Mono.just(response);
+    }
+
+    /**
+     * Decides whether a failed attempt is retried, and when.
+     *
+     * @param signal
+     *            the failure of the attempt
+     * @return a {@link Mono} emitting once the next attempt may start, or the
+     *         failure when it is not retried
+     */
+    private Mono<Long> nextAttempt(Retry.RetrySignal signal) {
+        Throwable failure = signal.failure();
+        if (signal.totalRetries() >= properties.getCount() || !isRetryable(failure)) {
+            return Mono.error(failure);
+        }
+        Duration delay = delay(signal.totalRetries(), failure);
+        if (delay == null) {
+            return Mono.error(failure);
+        }
+        if (!withdraw()) {
+            budgetExhausted.increment();
+            log.warn("Retry budget of client {} exhausted; Cause: {}.", clientName, failure.toString());
+            return Mono.error(failure);
+        }
+        retries.increment();
+        log.warn("Retrying: {} in {}ms; Cause: {}.", signal.totalRetries() + 1, delay.toMillis(), failure.toString());
+        Mono<Void> release = failure instanceof RetryableStatusException status
+                ? status.response.releaseBody()
+                : Mono.empty();
+        return release.then(Mono.delay(delay));
+    }
+
+    /**
+     * Tells whether a failure is one of the retried exceptions or statuses. A
+     * {@link CallNotPermittedException} is never retried, whatever the
+     * configured exceptions.
+     *
+     * @param failure
+     *            the failure of the attempt
+     * @return {@code true} if the attempt may be retried
+     */
+    private boolean isRetryable(Throwable failure) {
+        if (failure instanceof RetryableStatusException) {
+            return true;
+        }
+        Throwable rootCause = NestedExceptionUtils.getRootCause(failure);
+        if (failure instanceof CallNotPermittedException || rootCause instanceof CallNotPermittedException) {
+            // the call was rejected before being sent, retrying would only drain the budget
+            return false;
+        }
+        return properties.getExceptions().stream()
+                .anyMatch(clazz -> clazz.isInstance(failure) || clazz.isInstance(rootCause));
+    }
+
+    /**
+     * Computes the delay before the next attempt: the {@code Retry-After} of the
+     * response when present, otherwise a random duration up to the exponential
+     * backoff of the attempt.
+     *
+     * @param retried
+     *            the number of retries already done
+     * @param failure
+     *            the failure of the attempt
+     * @return the delay, or {@code null} when the server asks to wait longer than
+     *         the maximum backoff
+     */
+    private Duration delay(long retried, Throwable failure) {
+        long maxBackoffMs = properties.getMaxBackoffMs();
+        if (failure instanceof RetryableStatusException status) {
+            Long retryAfterMs = retryAfterMs(status.response);
+            if (retryAfterMs != null) {
+                return retryAfterMs <= maxBackoffMs ? Duration.ofMillis(Math.max(retryAfterMs, 0)) : null;
+            }
+        }
+        long ceiling = Math.min(maxBackoffMs, properties.getBackoffMs() << Math.min(retried, 30));
+        return Duration.ofMillis(ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0);
+    }
+
+    /**
+     * Reads the {@code Retry-After} header of a response, given in seconds or as
+     * an HTTP date.
+     *
+     * @param response
+     *            the response of the attempt
+     * @return the delay in milliseconds, or {@code null} if absent or invalid
+     */
+    private static Long retryAfterMs(ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                return headers.getFirstDate(HttpHeaders.RETRY_AFTER) - System.currentTimeMillis();
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Adds the tokens earned by a request to the budget.
+     */
+    private void deposit() {
+        if (budgetDeposit <= 0) {
+            return;
+        }
+        long current;
+        do {
+            current = budget.get();
+            if (current >= budgetCapacity) {
+                return;
+            }
+        } while (!budget.compareAndSet(current, Math.min(budgetCapacity, current + budgetDeposit)));
+    }
+
+    /**
+     * Takes a token from the budget for a retry. Without a budget, retries are
+     * always allowed.
+     *
+     * @return {@code true} if the retry may proceed
+     */
+    private boolean withdraw() {
+        if (budgetDeposit <= 0) {
+            return true;
+        }
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Carries a response whose status is retried through the retry spec.
+     */
+    private static final class RetryableStatusException extends RuntimeException {
+        private final transient ClientResponse response;
+
+        private RetryableStatusException(ClientResponse response) {
+            super("Retryable status " + response.statusCode().value(), null, false, false);
+            this.response = response;
+        }
     }
 }
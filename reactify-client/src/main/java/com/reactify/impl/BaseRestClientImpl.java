@@ -32,6 +32,7 @@ import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
@@ -44,6 +45,7 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
@@ -70,6 +72,13 @@ public class BaseRestClientImpl<T> implements BaseRestClient<T> {
      */
     private static final Logger log = LoggerFactory.getLogger(BaseRestClientImpl.class);
 
+    /**
+     * Media types accepted by the streaming methods, decoded element by element.
+     */
+    private static final MediaType[] STREAMING_TYPES = {
+        MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM
+    };
+
     /**
      * {@inheritDoc}
      *
@@ -93,7 +102,7 @@ public class BaseRestClientImpl<T> implements BaseRestClient<T> {
                 .retrieve()
                 .bodyToMono(String.class)
                 .map(response -> {
-                    log.info("Rest response {}", response);
+                    log.debug("Rest response {}", response);
                     if (DataUtil.isNullOrEmpty(response)) {
                         return Optional.<T>empty();
                     }
@@ -465,6 +474,163 @@ public class BaseRestClientImpl<T> implements BaseRestClient<T> {
                 });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Executes a GET request and decodes the response with the client codecs.
+     */
+    @Override
+    public <R> Mono<Optional<R>> get(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            MultiValueMap<String, String> payload,
+            ParameterizedTypeReference<R> resultType) {
+        return webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(url)
+                        .queryParams(getSafePayload(payload))
+                        .build())
+                .headers(httpHeaders -> httpHeaders.addAll(getSafeRestHeader(headerList)))
+                .retrieve()
+                .bodyToMono(resultType)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("Exception call get rest api: ", e);
+                    return Mono.just(errorBody(e, resultType));
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Executes a POST request, encoding the payload and decoding the response with
+     * the client codecs.
+     */
+    @Override
+    public <R> Mono<Optional<R>> post(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            Object payload,
+            ParameterizedTypeReference<R> resultType) {
+        WebClient.RequestBodySpec request = webClient
+                .post()
+                .uri(url)
+                .headers(httpHeaders -> httpHeaders.addAll(getSafeRestHeader(headerList)));
+        return (payload != null ? request.bodyValue(payload) : request)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, BaseRestClientImpl::handleErrorResponse)
+                .bodyToMono(resultType)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("call post rest api error: ", e);
+                    return Mono.just(errorBody(e, resultType));
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Executes a DELETE request and decodes the response with the client codecs.
+     */
+    @Override
+    public <R> Mono<Optional<R>> delete(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            MultiValueMap<String, String> payload,
+            ParameterizedTypeReference<R> resultType) {
+        return webClient
+                .delete()
+                .uri(uriBuilder -> uriBuilder
+                        .path(url)
+                        .queryParams(getSafePayload(payload))
+                        .build())
+                .headers(httpHeaders -> httpHeaders.addAll(getSafeRestHeader(headerList)))
+                .retrieve()
+                .bodyToMono(resultType)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("call delete rest api: ", e);
+                    return Mono.just(errorBody(e, resultType));
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Executes a GET request and decodes the elements of the response as they are
+     * requested.
+     */
+    @Override
+    public <R> Flux<R> getFlux(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            MultiValueMap<String, String> payload,
+            ParameterizedTypeReference<R> elementType) {
+        return webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(url)
+                        .queryParams(getSafePayload(payload))
+                        .build())
+                .headers(httpHeaders -> httpHeaders.addAll(getSafeRestHeader(headerList)))
+                .accept(STREAMING_TYPES)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, BaseRestClientImpl::handleErrorResponse)
+                .bodyToFlux(elementType);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Executes a POST request and decodes the elements of the response as they
+     * are requested.
+     */
+    @Override
+    public <R> Flux<R> postFlux(
+            WebClient webClient,
+            String url,
+            MultiValueMap<String, String> headerList,
+            Object payload,
+            ParameterizedTypeReference<R> elementType) {
+        WebClient.RequestBodySpec request = webClient
+                .post()
+                .uri(url)
+                .headers(httpHeaders -> httpHeaders.addAll(getSafeRestHeader(headerList)))
+                .accept(STREAMING_TYPES);
+        return (payload != null ? request.bodyValue(payload) : request)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, BaseRestClientImpl::handleErrorResponse)
+                .bodyToFlux(elementType);
+    }
+
+    /**
+     * Decodes the body of an error response into the result type, as the
+     * {@link Class} based methods do with the error body.
+     *
+     * @param e
+     *            the exception holding the error response
+     * @param resultType
+     *            the type of the response body
+     * @return the decoded error body, or an empty {@link Optional} if it cannot be
+     *         decoded
+     */
+    private <R> Optional<R> errorBody(WebClientResponseException e, ParameterizedTypeReference<R> resultType) {
+        try {
+            return Optional.ofNullable(e.getResponseBodyAs(resultType));
+        } catch (RuntimeException decodingError) {
+            log.debug("Cannot decode error body as {}", resultType, decodingError);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Ensures a safe MultiValueMap for headers, with a default "Content-Type:
      * application/json" if empty.
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import org.springframework.web.reactive.function.client.ClientRequest;
+
+/**
+ * <p>
+ * Java Flight Recorder event of an exchange made by a client of the
+ * {@link com.reactify.WebClientFactory}. The event spans from the moment the
+ * request enters the filter chain to the reception of the response headers,
+ * and tells how long was spent acquiring a pooled connection, so pool
+ * starvation shows up next to the GC and CPU events of the same recording.
+ * </p>
+ *
+ * <p>
+ * The event is disabled by default and enabled, with its threshold, through
+ * the {@code reactify.jfc} settings shipped with reactify-utils.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Name("com.reactify.ClientExchange")
+@Label("Client Exchange")
+@Category({"Reactify", "Client"})
+@Description("HTTP exchange made by a reactify web client")
+@Enabled(false)
+@Threshold("50 ms")
+@StackTrace(false)
+public class ClientExchangeEvent extends Event {
+
+    @Label("Client")
+    private String client;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Connection Acquire Time")
+    @Description("Time spent acquiring a connection from the pool, connecting included")
+    @Timespan(Timespan.NANOSECONDS)
+    private long acquireTime;
+
+    @Label("Outcome")
+    @Description("onComplete, onError or cancel")
+    private String outcome;
+
+    /** not recorded, start of the exchange used to compute the acquire time */
+    private transient long startNanos;
+
+    /**
+     * Starts the event of an exchange.
+     *
+     * @param client
+     *            the name of the client
+     * @param request
+     *            the outgoing request
+     * @return the started event
+     */
+    public static ClientExchangeEvent start(String client, ClientRequest request) {
+        ClientExchangeEvent event = new ClientExchangeEvent();
+        if (event.isEnabled()) {
+            event.client = client;
+            event.method = request.method().name();
+            event.host = request.url().getHost();
+            event.path = request.url().getRawPath();
+            event.startNanos = System.nanoTime();
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Marks the moment a connection was acquired for the request.
+     */
+    public void acquired() {
+        acquireTime = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Sets the status of the response.
+     *
+     * @param status
+     *            the HTTP status code
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Ends the event and commits it when it exceeds the threshold.
+     *
+     * @param outcome
+     *            how the exchange terminated
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.reactify.filter.webclient.WebClientLoggingFilter;
 import com.reactify.filter.webclient.WebClientMonitoringFilter;
 import com.reactify.filter.webclient.WebClientRetryHandler;
 import com.reactify.util.DataUtil;
+import io.micrometer.observation.ObservationRegistry;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.handler.ssl.SslContext;
@@ -194,6 +195,9 @@ public class WebClientFactory implements InitializingBean {
 
         Builder exchangeStrategies =
                 WebClient.builder().baseUrl(webClientProperties.getAddress()).exchangeStrategies(strategies);
+        applicationContext
+                .getBeanProvider(ObservationRegistry.class)
+                .ifAvailable(exchangeStrategies::observationRegistry);
         if (!DataUtil.isNullOrEmpty(webClientProperties.getUsername())) {
             exchangeStrategies.defaultHeader(
                     HttpHeaders.AUTHORIZATION,
@@ -17,6 +17,8 @@ package com.reactify.config;
 
 import brave.Tracing;
 import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
 import io.micrometer.tracing.brave.bridge.BraveTracer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,8 +33,9 @@ import org.springframework.context.annotation.Configuration;
  * </p>
  *
  * <p>
- * It configures the tracing system with the default settings and creates a
- * no-op Tracer instance when tracing is not needed.
+ * It configures the tracing system with the default settings and bridges the
+ * Micrometer {@link io.micrometer.tracing.Tracer} to Brave, so the current span
+ * seen by the application is the one created by Brave.
  * </p>
  *
  * @author hoangtien2k3
@@ -42,9 +45,9 @@ public class TracingConfiguration {
 
     /**
      * <p>
-     * Creates a Tracer bean. This method returns a NOOP Tracer instance which means
-     * that it does not perform any actual tracing. You may replace it with a real
-     * tracer instance as needed.
+     * Creates a Tracer bean. This method returns a Micrometer Tracer backed by the
+     * Brave {@link brave.Tracing} instance, so spans are really created and
+     * reported.
      * </p>
      *
      * @param tracing
@@ -54,7 +57,10 @@ public class TracingConfiguration {
      */
     @Bean
     public Tracer tracer(Tracing tracing) {
-        return BraveTracer.NOOP;
+        return new BraveTracer(
+                tracing.tracer(),
+                new BraveCurrentTraceContext(tracing.currentTraceContext()),
+                new BraveBaggageManager());
     }
 
     /**
@@ -20,11 +20,11 @@ import com.reactify.exception.BusinessException;
 import com.reactify.model.response.TraceErrorResponse;
 import com.reactify.util.DataUtil;
 import com.reactify.util.Translator;
+import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import io.r2dbc.spi.R2dbcException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,7 +80,7 @@ public class ExceptionResponseConfig {
     @ExceptionHandler(RuntimeException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> runtimeException(
             RuntimeException ex, ServerWebExchange serverWebExchange) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(serverWebExchange);
         log.error("Runtime exception trace-id {} , error ", traceId, ex);
         return Mono.just(new ResponseEntity<>(
                 new TraceErrorResponse<>(CommonErrorCode.INTERNAL_SERVER_ERROR, "Server error", null, traceId),
@@ -101,7 +101,7 @@ public class ExceptionResponseConfig {
     @ExceptionHandler(R2dbcException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> r2dbcException(
             R2dbcException ex, ServerWebExchange serverWebExchange) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(serverWebExchange);
         log.error("R2dbc trace-id {} , error ", traceId, ex);
         return Mono.just(new ResponseEntity<>(
                 new TraceErrorResponse<>(CommonErrorCode.SQL_ERROR, "Server error", null, traceId),
@@ -122,7 +122,7 @@ public class ExceptionResponseConfig {
     @ExceptionHandler(AccessDeniedException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> accessDeniedException(
             AccessDeniedException ex, ServerWebExchange serverWebExchange) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(serverWebExchange);
         log.error("Access denied trace-id {} , error ", traceId, ex);
         return Mono.just(new ResponseEntity<>(
                 new TraceErrorResponse<>(CommonErrorCode.ACCESS_DENIED, "Access denied", null, traceId),
@@ -142,7 +142,7 @@ public class ExceptionResponseConfig {
      */
     @ExceptionHandler(DataBufferLimitException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> dataBufferLimitException(DataBufferLimitException ex) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(null);
         log.error("DataBuffer limit trace-id {} , error ", traceId, ex);
         return Mono.just(new ResponseEntity<>(
                 new TraceErrorResponse<>(
@@ -165,7 +165,7 @@ public class ExceptionResponseConfig {
     @ExceptionHandler(ServerWebInputException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> serverInputException(
             ServerWebInputException ex, ServerWebExchange serverWebExchange) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(serverWebExchange);
         log.error("Request Input invalid format trace-id {} , error ", traceId, ex);
         return Mono.just(new ResponseEntity<>(
                 new TraceErrorResponse<>(CommonErrorCode.INVALID_PARAMS, ex.getReason(), null, traceId),
@@ -188,7 +188,7 @@ public class ExceptionResponseConfig {
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> serverInputException(
             WebExchangeBindException ex, ServerWebExchange serverWebExchange) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(serverWebExchange);
         List<String> errors = ex.getBindingResult().getFieldErrors().stream()
                 .map(DefaultMessageSourceResolvable::getDefaultMessage)
                 .map(Translator::toLocaleVi)
@@ -223,7 +223,7 @@ public class ExceptionResponseConfig {
     @ExceptionHandler(BusinessException.class)
     public Mono<ResponseEntity<TraceErrorResponse<Object>>> businessException(
             BusinessException ex, ServerWebExchange serverWebExchange) {
-        String traceId = Objects.requireNonNull(tracer.currentSpan()).context().traceId();
+        String traceId = traceId(serverWebExchange);
         String errorCode = ex.getErrorCode();
         HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
         if (!DataUtil.isNullOrEmpty(errorCode)) {
@@ -236,4 +236,24 @@ public class ExceptionResponseConfig {
         return Mono.just(new ResponseEntity<>(
                 new TraceErrorResponse<>(ex.getErrorCode(), ex.getMessage(), null, traceId), httpStatus));
     }
+
+    /**
+     * <p>
+     * Returns the trace ID of the current span. When no span is in scope (e.g.
+     * the request is not sampled or tracing is disabled) the ID of the request is
+     * returned instead, so the error response can still be correlated with the
+     * logs.
+     * </p>
+     *
+     * @param serverWebExchange
+     *            the current exchange, may be {@code null}
+     * @return the trace ID, the request ID, or {@code null}
+     */
+    private String traceId(ServerWebExchange serverWebExchange) {
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            return span.context().traceId();
+        }
+        return serverWebExchange != null ? serverWebExchange.getRequest().getId() : null;
+    }
 }
@@ -20,6 +20,7 @@ import brave.Tracer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reactify.constants.CommonConstant;
 import com.reactify.model.GatewayContext;
+import com.reactify.tracing.MdcScope;
 import com.reactify.util.DataUtil;
 import com.reactify.util.RequestUtils;
 import com.reactify.util.TruncateUtils;
@@ -28,11 +29,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
@@ -45,7 +44,6 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
-import reactor.util.context.Context;
 
 /**
  * <p>
@@ -68,6 +66,10 @@ import reactor.util.context.Context;
  * <li>Logging request and response details, including headers and bodies, with
  * truncation for safety.</li>
  * <li>Integrating with Sleuth for distributed tracing.</li>
+ * <li>Putting the trace ID, msisdn and request ID of the request in the Reactor
+ * context for {@link MdcScope}. They are set in the MDC only while the lines of
+ * this filter are written, so they never leak to the next request of the
+ * thread.</li>
  * </ul>
  *
  * <p>
@@ -119,13 +121,16 @@ public class PerformanceLogFilter implements WebFilter, Ordered {
         return chain.filter(exchange)
                 .doOnSuccess(o -> logPerf(exchange, newSpan, name, startMillis, "Success", null))
                 .doOnError(o -> logPerf(exchange, newSpan, name, startMillis, "Failed", o))
-                .contextWrite(context -> {
-                    setTraceIdFromContext(newSpan.context().traceIdString());
-                    return context;
-                })
+                .contextWrite(context -> MdcScope.write(
+                        context,
+                        newSpan.context().traceIdString(),
+                        exchange.getAttribute(CommonConstant.MSISDN_TOKEN),
+                        exchange.getRequest().getHeaders().getFirst("Request-Id")))
                 .then(Mono.fromRunnable(() -> {
                     if (!List.of(environment.getActiveProfiles()).contains("prod")) {
-                        this.logReqResponse(exchange);
+                        try (MdcScope ignored = openMdc(exchange, newSpan)) {
+                            this.logReqResponse(exchange);
+                        }
                     }
                 }));
     }
@@ -152,46 +157,29 @@ public class PerformanceLogFilter implements WebFilter, Ordered {
         long duration = System.currentTimeMillis() - start;
         if (duration < 50 || name.equals("health")) return;
 
-        setTraceIdInMDC(newSpan.context().traceIdString());
-        String msisdn = exchange.getAttribute(CommonConstant.MSISDN_TOKEN);
-        MDC.put(CommonConstant.MSISDN_TOKEN, !DataUtil.isNullOrEmpty(msisdn) ? msisdn : "-");
-        String requestId = exchange.getRequest().getHeaders().getFirst("Request-Id");
-        MDC.put(CommonConstant.REQUEST_ID, !DataUtil.isNullOrEmpty(requestId) ? requestId : "-");
-
-        logPerf.info("{} {} {} A2 {}", name, duration, result, o == null ? "-" : o.getMessage());
+        try (MdcScope ignored = openMdc(exchange, newSpan)) {
+            logPerf.info("{} {} {} A2 {}", name, duration, result, o == null ? "-" : o.getMessage());
+        }
     }
 
     /**
-     * Logs the performance metrics of the request.
+     * Sets the trace ID, msisdn and request ID of the exchange in the MDC, for the
+     * lines written by this filter only.
      *
-     * @param contextRef
+     * @param exchange
      *            the current ServerWebExchange
      * @param newSpan
      *            the Span associated with the request
-     * @param name
-     *            the name of the request
-     * @param start
-     *            the start time in milliseconds
-     * @param result
-     *            the result status (Success or Failed)
-     * @param o
-     *            the Throwable if an error occurred
+     * @return the scope to close once the lines are written
      */
-    private void logPerf(
-            AtomicReference<Context> contextRef, Span newSpan, String name, Long start, String result, Throwable o) {
-        newSpan.finish();
-        long duration = System.currentTimeMillis() - start;
-        if (duration < 50 || "health".equals(name)) return;
-
-        setTraceIdInMDC(newSpan.context().traceIdString());
-        if (contextRef.get() != null) {
-            Context context = contextRef.get();
-            if (context.hasKey(CommonConstant.MSISDN_TOKEN))
-                MDC.put(CommonConstant.MSISDN_TOKEN, contextRef.get().get(CommonConstant.MSISDN_TOKEN));
-            else MDC.put(CommonConstant.MSISDN_TOKEN, "-");
-        }
-
-        logPerf.info("{} {} {} A2 {}", name, duration, result, o == null ? "-" : o.getMessage());
+    private MdcScope openMdc(ServerWebExchange exchange, Span newSpan) {
+        String traceId = newSpan.context().traceIdString();
+        String msisdn = exchange.getAttribute(CommonConstant.MSISDN_TOKEN);
+        String requestId = exchange.getRequest().getHeaders().getFirst("Request-Id");
+        return MdcScope.open(
+                !DataUtil.isNullOrEmpty(traceId) ? traceId : null,
+                !DataUtil.isNullOrEmpty(msisdn) ? msisdn : "-",
+                !DataUtil.isNullOrEmpty(requestId) ? requestId : "-");
     }
 
     /**
@@ -329,28 +317,6 @@ public class PerformanceLogFilter implements WebFilter, Ordered {
         }
     }
 
-    /**
-     * Sets the trace ID in the MDC for logging.
-     *
-     * @param traceId
-     *            the trace ID to set
-     */
-    private void setTraceIdInMDC(String traceId) {
-        if (!DataUtil.isNullOrEmpty(traceId)) {
-            MDC.put("X-B3-TraceId", traceId);
-        }
-    }
-
-    /**
-     * Sets the trace ID from the context.
-     *
-     * @param traceId
-     *            the trace ID to set
-     */
-    private void setTraceIdFromContext(String traceId) {
-        setTraceIdInMDC(traceId);
-    }
-
     /**
      * {@inheritDoc}
      *
@@ -20,7 +20,6 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.context.annotation.Configuration;
-import reactor.core.publisher.Mono;
 
 /**
  * <p>
@@ -84,12 +83,13 @@ public class LoggerAspect {
      *
      * @param joinPoint
      *            a {@link ProceedingJoinPoint} object
-     * @return a {@link Object} object
+     * @return a {@link Object} object, the same kind of publisher as the
+     *         intercepted method returns
      * @throws Throwable
      *             if any.
      */
     @Around("performancePointCut() || logPerfMethods()")
-    public Mono<Object> logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         return loggerAspectUtils.logAround(joinPoint);
     }
 }
@@ -17,7 +17,24 @@ package com.reactify;
 
 import brave.Span;
 import brave.Tracer;
+import brave.propagation.TraceContext;
+import com.reactify.jfr.MethodInvocationEvent;
+import com.reactify.logging.DownstreamCall;
+import com.reactify.logging.FlightRecord;
+import com.reactify.logging.StreamSummary;
+import com.reactify.metrics.LatencyHistogramRegistry;
+import com.reactify.sampling.DebugLogResolver;
+import com.reactify.sampling.LoggingGovernor;
+import com.reactify.sampling.PerfLogSampler;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.brave.bridge.BraveSpan;
+import io.micrometer.tracing.handler.TracingObservationHandler;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.PostConstruct;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -25,10 +42,14 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 
 /**
  * <p>
@@ -60,6 +81,12 @@ public class LoggerAspectUtils {
     private static final Logger log = LoggerFactory.getLogger("LoggerAspect");
 
     private final Tracer tracer;
+    private final PerfLogSampler perfLogSampler;
+    private final LatencyHistogramRegistry latencyHistogramRegistry;
+    private final LoggingGovernor loggingGovernor;
+
+    /** metadata of the intercepted methods, keyed by method and target class */
+    private final Map<MethodClassKey, MethodMetadata> metadataCache = new ConcurrentHashMap<>();
 
     @Value("${debug.detailException:true}")
     private boolean detailException;
@@ -69,9 +96,22 @@ public class LoggerAspectUtils {
      *
      * @param tracer
      *            the tracer used for logging and tracing operations.
+     * @param perfLogSampler
+     *            the sampler deciding which performance records are logged.
+     * @param latencyHistogramRegistry
+     *            the registry recording the latency of every call.
+     * @param loggingGovernor
+     *            the governor choosing the detail of the records under load.
      */
-    public LoggerAspectUtils(Tracer tracer) {
+    public LoggerAspectUtils(
+            Tracer tracer,
+            PerfLogSampler perfLogSampler,
+            LatencyHistogramRegistry latencyHistogramRegistry,
+            LoggingGovernor loggingGovernor) {
         this.tracer = tracer;
+        this.perfLogSampler = perfLogSampler;
+        this.latencyHistogramRegistry = latencyHistogramRegistry;
+        this.loggingGovernor = loggingGovernor;
     }
 
     @PostConstruct
@@ -84,6 +124,19 @@ public class LoggerAspectUtils {
      * performance data, including execution time.
      * </p>
      *
+     * <p>
+     * The metadata of a method (name, log type, action type and the
+     * {@link LogPerformance} attributes) is resolved on its first call only.
+     * Methods disabled through the performance log rules are invoked directly,
+     * without any span, histogram or log record. The others also emit a
+     * {@link MethodInvocationEvent} when Java Flight Recorder records it. The span
+     * of the method is finished on every outcome: a synchronous result or throw,
+     * and the completion, error or cancellation of a {@link Mono} or {@link Flux}.
+     * The span of a {@link Mono} or {@link Flux} is started on subscription, so its
+     * parent is taken from the Reactor context even when the context is not
+     * propagated to thread locals.
+     * </p>
+     *
      * @param joinPoint
      *            a {@link org.aspectj.lang.ProceedingJoinPoint} object representing
      *            the intercepted method call
@@ -92,64 +145,131 @@ public class LoggerAspectUtils {
      * @throws java.lang.Throwable
      *             if any error occurs during the execution of the method
      */
-    public Mono<Object> logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        LogPerformance logPerformance = method.getAnnotation(LogPerformance.class);
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMetadata metadata = metadataOf(joinPoint);
+        String name = metadata.name;
+        if (!perfLogSampler.isEnabled(name)) {
+            return joinPoint.proceed();
+        }
 
         long start = System.currentTimeMillis();
-        String name = joinPoint.getTarget().getClass().getSimpleName() + "."
-                + joinPoint.getSignature().getName();
-
-        String logType = joinPoint.getTarget().getClass().getName();
-        String actionType = joinPoint.getTarget().getClass().getSimpleName();
-        boolean logOutput = true;
-        boolean logInput = true;
-        String title = null;
-        if (logPerformance != null) {
-            if (!DataUtil.isNullOrEmpty(logPerformance.logType())) {
-                logType = logPerformance.logType();
-            }
-            if (!DataUtil.isNullOrEmpty(logPerformance.actionType())) {
-                actionType = logPerformance.actionType();
-            }
-            logOutput = logPerformance.logOutput();
-            logInput = logPerformance.logInput();
-            title = logPerformance.title();
+        long startNanos = System.nanoTime();
+        MethodInvocationEvent event = MethodInvocationEvent.start(name, metadata.logType, metadata.actionType);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            startSpan(name, start, Context.empty()).error(e).finish();
+            throw e;
         }
-
-        Span newSpan = tracer.nextSpan().name(name);
-        var result = joinPoint.proceed();
         if (result instanceof Mono<?> monoResult) {
-            return logMonoResult(
+            return Mono.deferContextual(context -> {
+                Span newSpan = startSpan(name, start, context);
+                return logMonoResult(
+                        joinPoint,
+                        start,
+                        monoResult
+                                .cast(Object.class)
+                                .doFinally(signal -> {
+                                    latencyHistogramRegistry.recordMethod(name, System.nanoTime() - startNanos);
+                                    event.finish(signal.toString());
+                                    if (signal == SignalType.CANCEL) {
+                                        // success and error finish the span when logged
+                                        newSpan.finish();
+                                    }
+                                }),
+                        newSpan,
+                        name,
+                        metadata.logType,
+                        metadata.actionType,
+                        metadata.logOutput,
+                        metadata.logInput,
+                        metadata.title);
+            });
+        }
+        if (result instanceof Flux<?> fluxResult) {
+            return Flux.deferContextual(context -> logFluxResult(
                     joinPoint,
                     start,
-                    monoResult.cast(Object.class),
-                    newSpan,
+                    fluxResult
+                            .cast(Object.class)
+                            .doFinally(signal -> {
+                                latencyHistogramRegistry.recordMethod(name, System.nanoTime() - startNanos);
+                                event.finish(signal.toString());
+                            }),
+                    startSpan(name, start, context),
                     name,
-                    logType,
-                    actionType,
-                    logOutput,
-                    logInput,
-                    title);
-        }
-        if (result instanceof Flux<?> fluxResult) {
-            return logFluxResult(
-                            joinPoint,
-                            start,
-                            fluxResult.cast(Object.class),
-                            newSpan,
-                            name,
-                            logType,
-                            actionType,
-                            logOutput,
-                            logInput,
-                            title)
-                    .collectList()
-                    .map(list -> list);
+                    metadata.logType,
+                    metadata.actionType,
+                    metadata.logInput,
+                    metadata.title));
         } else {
-            return Mono.just(result);
+            startSpan(name, start, Context.empty()).finish();
+            latencyHistogramRegistry.recordMethod(name, System.nanoTime() - startNanos);
+            event.finish(SignalType.ON_COMPLETE.toString());
+            return result;
+        }
+    }
+
+    /**
+     * Starts the span of an intercepted method at the time it was called. The
+     * parent is the current span of the thread or, when there is none, the span
+     * of the observation found in the Reactor context, such as the server
+     * observation started by the logging filter. Without either, the span starts
+     * a new trace.
+     *
+     * @param name
+     *            the name of the method
+     * @param start
+     *            the time the method was called, in milliseconds
+     * @param context
+     *            the Reactor context of the subscriber, empty for synchronous
+     *            results
+     * @return the started {@link Span}
+     */
+    private Span startSpan(String name, long start, ContextView context) {
+        TraceContext parent = tracer.currentSpan() == null ? parentOf(context) : null;
+        Span span = parent != null ? tracer.newChild(parent) : tracer.nextSpan();
+        return span.name(name).start(TimeUnit.MILLISECONDS.toMicros(start));
+    }
+
+    /**
+     * Returns the trace context of the observation kept in the Reactor context.
+     *
+     * @param context
+     *            the Reactor context of the subscriber
+     * @return the {@link TraceContext} of the observation, or {@code null}
+     */
+    private static TraceContext parentOf(ContextView context) {
+        Observation observation = context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+        if (observation == null) {
+            return null;
+        }
+        TracingObservationHandler.TracingContext tracingContext =
+                observation.getContextView().get(TracingObservationHandler.TracingContext.class);
+        if (tracingContext != null && tracingContext.getSpan() instanceof BraveSpan span) {
+            return BraveSpan.toBrave(span).context();
         }
+        return null;
+    }
+
+    /**
+     * Returns the cached metadata of the intercepted method, building it on the
+     * first call.
+     *
+     * @param joinPoint
+     *            the intercepted method call
+     * @return the {@link MethodMetadata} of the method
+     */
+    private MethodMetadata metadataOf(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        MethodMetadata metadata = metadataCache.get(key);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(key, k -> MethodMetadata.of(method, targetClass));
+        }
+        return metadata;
     }
 
     /**
@@ -222,8 +342,10 @@ public class LoggerAspectUtils {
 
     /**
      * <p>
-     * Handles logging for methods that return a {@link Flux}. It records the
-     * completion and error details along with performance metrics.
+     * Handles logging for methods that return a {@link Flux}. The stream is
+     * returned as is, so elements are neither buffered nor is backpressure
+     * affected. A single {@link StreamSummary} record (element count, time to
+     * first element, duration and bytes) is logged when the stream terminates.
      * </p>
      *
      * @param joinPoint
@@ -241,13 +363,11 @@ public class LoggerAspectUtils {
      *            the type of logging to be used
      * @param actionType
      *            the action type for the logging
-     * @param logOutput
-     *            flag indicating whether to log output
      * @param logInput
      *            flag indicating whether to log input
      * @param title
      *            a title for the log entry
-     * @return a {@link Flux} containing the logged result
+     * @return a {@link Flux} emitting the elements of the result
      */
     private Flux<Object> logFluxResult(
             ProceedingJoinPoint joinPoint,
@@ -257,33 +377,26 @@ public class LoggerAspectUtils {
             String name,
             String logType,
             String actionType,
-            boolean logOutput,
             boolean logInput,
             String title) {
         var contextRef = new AtomicReference<Context>();
-        if (logInput) {
-            Object[] args = joinPoint.getArgs();
-            logPerf(contextRef, newSpan, name, start, "INPUT", null, logType, actionType, args, title);
-        }
-        return result.doOnNext(output -> {
-                    if (logOutput) {
-                        logPerf(
-                                contextRef,
-                                newSpan,
-                                name,
-                                start,
-                                "OUTPUT",
-                                null,
-                                logType,
-                                actionType,
-                                new Object[] {output},
-                                title);
-                    }
+        Object[] args = logInput ? joinPoint.getArgs() : null;
+        return Flux.defer(() -> {
+                    StreamStats stats = new StreamStats();
+                    return result.doOnNext(element -> stats.onNext(element, start))
+                            .doOnError(error -> stats.error = error)
+                            .doFinally(signal -> logPerf(
+                                    contextRef,
+                                    newSpan,
+                                    name,
+                                    start,
+                                    stats.error == null || stats.error instanceof RuntimeException ? "0" : "1",
+                                    stats.summary(signal, start),
+                                    logType,
+                                    actionType,
+                                    args,
+                                    title));
                 })
-                .doOnError(error ->
-                        logPerf(contextRef, newSpan, name, start, "0", error, logType, actionType, null, title))
-                .doFinally(signalType ->
-                        logPerf(contextRef, newSpan, name, start, "1", null, logType, actionType, null, title))
                 .contextWrite(context -> contextRef.updateAndGet(ctx -> context));
     }
 
@@ -321,7 +434,7 @@ public class LoggerAspectUtils {
             newSpan.finish();
         }
         long duration = System.currentTimeMillis() - start;
-        if (duration < 50) return;
+        if (!perfLogSampler.shouldLog(name, duration, data instanceof Throwable)) return;
 
         Context context = contextRef != null ? contextRef.get() : Context.empty();
         String contextInfo = context != null ? context.toString() : "-";
@@ -349,7 +462,7 @@ public class LoggerAspectUtils {
      * <p>
      * Logs performance metrics, including the method's execution details, input
      * parameters, output results, and action type. The logging is performed only if
-     * the execution duration exceeds a specified threshold.
+     * the {@link PerfLogSampler} keeps the record.
      * </p>
      *
      * @param contextRef
@@ -387,7 +500,23 @@ public class LoggerAspectUtils {
             String title) {
         newSpan.finish();
         long endTime = System.currentTimeMillis();
-        if (endTime - startTime > 50) {
+        Context context = contextRef.get();
+        if (context != null) {
+            context.<FlightRecord>getOrEmpty(FlightRecord.class)
+                    .ifPresent(record ->
+                            record.addCall(new DownstreamCall(name, startTime, endTime - startTime, result)));
+        }
+        boolean error =
+                obj instanceof Throwable || (obj instanceof StreamSummary summary && summary.getError() != null);
+        // exchanges with request-scoped debug logging are neither sampled nor stripped
+        boolean debug = DebugLogResolver.isActive(context);
+        if (debug
+                || (perfLogSampler.shouldLog(name, endTime - startTime, error) && loggingGovernor.sample(error))) {
+            if (!debug && !loggingGovernor.keepBodies()) {
+                // inputs and outputs are dropped under load, failures and stream summaries are kept
+                args = null;
+                obj = obj instanceof Throwable || obj instanceof StreamSummary ? obj : null;
+            }
             LoggerQueue.getInstance()
                     .addQueue(
                             contextRef,
@@ -403,4 +532,98 @@ public class LoggerAspectUtils {
                             title);
         }
     }
+
+    /**
+     * Mutable statistics of a single subscription to an instrumented
+     * {@link Flux}. Signals of a subscription are serialized, so no
+     * synchronization is needed.
+     */
+    private static final class StreamStats {
+        private long count;
+        private long bytes;
+        private Long firstElementMs;
+        private Throwable error;
+
+        private void onNext(Object element, long start) {
+            if (count++ == 0) {
+                firstElementMs = System.currentTimeMillis() - start;
+            }
+            bytes += sizeOf(element);
+        }
+
+        private StreamSummary summary(SignalType signal, long start) {
+            return new StreamSummary(
+                    count,
+                    firstElementMs,
+                    System.currentTimeMillis() - start,
+                    bytes,
+                    signal.name(),
+                    error != null ? error.getClass().getSimpleName() + " - " + error.getMessage() : null);
+        }
+
+        private static long sizeOf(Object element) {
+            if (element instanceof byte[] array) {
+                return array.length;
+            }
+            if (element instanceof DataBuffer buffer) {
+                return buffer.readableByteCount();
+            }
+            if (element instanceof ByteBuffer buffer) {
+                return buffer.remaining();
+            }
+            if (element instanceof CharSequence chars) {
+                return chars.length();
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Immutable logging metadata of an intercepted method.
+     */
+    private static final class MethodMetadata {
+        private final String name;
+        private final String logType;
+        private final String actionType;
+        private final boolean logOutput;
+        private final boolean logInput;
+        private final String title;
+
+        private MethodMetadata(
+                String name, String logType, String actionType, boolean logOutput, boolean logInput, String title) {
+            this.name = name;
+            this.logType = logType;
+            this.actionType = actionType;
+            this.logOutput = logOutput;
+            this.logInput = logInput;
+            this.title = title;
+        }
+
+        private static MethodMetadata of(Method method, Class<?> targetClass) {
+            LogPerformance logPerformance = method.getAnnotation(LogPerformance.class);
+            String logType = targetClass.getName();
+            String actionType = targetClass.getSimpleName();
+            boolean logOutput = true;
+            boolean logInput = true;
+            String title = null;
+            if (logPerformance != null) {
+                if (!DataUtil.isNullOrEmpty(logPerformance.logType())) {
+                    logType = logPerformance.logType();
+                }
+                if (!DataUtil.isNullOrEmpty(logPerformance.actionType())) {
+                    actionType = logPerformance.actionType();
+                }
+                logOutput = logPerformance.logOutput();
+                logInput = logPerformance.logInput();
+                title = logPerformance.title();
+            }
+            return new MethodMetadata(
+                    targetClass.getSimpleName() + "." + method.getName(),
+                    logType,
+                    actionType,
+                    logOutput,
+                    logInput,
+                    title);
+        }
+    }
 }
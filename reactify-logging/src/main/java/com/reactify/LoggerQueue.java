@@ -16,10 +16,13 @@
 package com.reactify;
 
 import brave.Span;
+import com.reactify.logging.AccessLogRecord;
 import com.reactify.logging.LoggerDTO;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import reactor.util.context.Context;
 
@@ -42,22 +45,39 @@ import reactor.util.context.Context;
  * one instance of the {@code LoggerQueue} exists throughout the application.
  * </p>
  *
+ * <p>
+ * Records are offered without blocking nor throwing: when a queue is full the
+ * record is dropped and counted, and the fill ratio and drain lag exposed here
+ * let {@link com.reactify.sampling.LoggingGovernor} reduce the detail of the
+ * logs before that happens.
+ * </p>
+ *
  * @author hoangtien2k3
  */
 public class LoggerQueue {
 
-    private static LoggerQueue mMe = null;
+    /** capacity of each queue */
+    public static final int CAPACITY = 100000;
+
+    private static final LoggerQueue mMe = new LoggerQueue();
     private final ArrayBlockingQueue<LoggerDTO> myQueue;
+    private final ArrayBlockingQueue<AccessLogRecord> accessLogQueue;
 
-    private int countFalse = 0;
-    private int countSuccess = 0;
+    private final AtomicInteger countFalse = new AtomicInteger();
+    private final AtomicInteger countSuccess = new AtomicInteger();
+
+    /** records dropped since startup, never reset */
+    private final AtomicLong droppedTotal = new AtomicLong();
+
+    /** epoch time (ms) of the last drain of the records */
+    private volatile long lastDrainTime = System.currentTimeMillis();
 
     public int getCountFalse() {
-        return countFalse;
+        return countFalse.get();
     }
 
     public int getCountSuccess() {
-        return countSuccess;
+        return countSuccess.get();
     }
 
     /**
@@ -68,9 +88,6 @@ public class LoggerQueue {
      * @return a {@link LoggerQueue} object
      */
     public static LoggerQueue getInstance() {
-        if (mMe == null) {
-            mMe = new LoggerQueue();
-        }
         return mMe;
     }
 
@@ -78,7 +95,8 @@ public class LoggerQueue {
      * Constructs a new instance of {@code UnmarshallerFactory}.
      */
     private LoggerQueue() {
-        myQueue = new ArrayBlockingQueue<>(100000) {};
+        myQueue = new ArrayBlockingQueue<>(CAPACITY) {};
+        accessLogQueue = new ArrayBlockingQueue<>(CAPACITY);
     }
 
     /**
@@ -111,11 +129,11 @@ public class LoggerQueue {
      * @return a boolean
      */
     public boolean addQueue(LoggerDTO task) {
-        if (myQueue.add(task)) {
-            countSuccess++;
+        if (myQueue.offer(task)) {
+            countSuccess.incrementAndGet();
             return true;
         }
-        countFalse++;
+        dropped();
         return false;
     }
 
@@ -159,15 +177,8 @@ public class LoggerQueue {
             String actionType,
             Object[] args,
             String title) {
-        try {
-            if (myQueue.add(new LoggerDTO(
-                    contextRef, newSpan, service, startTime, endTime, result, obj, logType, actionType, args, title))) {
-                countSuccess++;
-                return;
-            }
-        } catch (Exception ignore) {
-        }
-        countFalse++;
+        addQueue(new LoggerDTO(
+                contextRef, newSpan, service, startTime, endTime, result, obj, logType, actionType, args, title));
     }
 
     /**
@@ -179,10 +190,79 @@ public class LoggerQueue {
      */
     public List<LoggerDTO> getRecords() {
         List<LoggerDTO> records = new ArrayList<>();
-        myQueue.drainTo(records, 100000);
+        myQueue.drainTo(records, CAPACITY);
+        lastDrainTime = System.currentTimeMillis();
+        return records;
+    }
+
+    /**
+     * <p>
+     * Offers an access-log record to the queue without blocking nor throwing, the
+     * record is dropped when the queue is full.
+     * </p>
+     *
+     * @param record
+     *            a {@link AccessLogRecord} object
+     * @return {@code true} if the record was queued
+     */
+    public boolean addAccessLog(AccessLogRecord record) {
+        if (accessLogQueue.offer(record)) {
+            return true;
+        }
+        droppedTotal.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * <p>
+     * Drains the queued access-log records.
+     * </p>
+     *
+     * @return a {@link List} object
+     */
+    public List<AccessLogRecord> getAccessLogRecords() {
+        List<AccessLogRecord> records = new ArrayList<>();
+        accessLogQueue.drainTo(records, CAPACITY);
         return records;
     }
 
+    /**
+     * <p>
+     * Returns the fill ratio of the fullest queue.
+     * </p>
+     *
+     * @return a ratio between 0 and 1
+     */
+    public double getFillRatio() {
+        return (double) Math.max(myQueue.size(), accessLogQueue.size()) / CAPACITY;
+    }
+
+    /**
+     * <p>
+     * Returns for how long pending records have been waiting for a drain.
+     * </p>
+     *
+     * @return the lag in milliseconds, 0 when nothing is pending
+     */
+    public long getDrainLagMs() {
+        if (myQueue.isEmpty() && accessLogQueue.isEmpty()) {
+            return 0;
+        }
+        return Math.max(System.currentTimeMillis() - lastDrainTime, 0);
+    }
+
+    /**
+     * <p>
+     * Returns the number of records dropped because a queue was full since
+     * startup.
+     * </p>
+     *
+     * @return a long
+     */
+    public long getDroppedTotal() {
+        return droppedTotal.get();
+    }
+
     /**
      * <p>
      * getQueueSize.
@@ -200,7 +280,15 @@ public class LoggerQueue {
      * </p>
      */
     public void resetCount() {
-        countSuccess = 0;
-        countFalse = 0;
+        countSuccess.set(0);
+        countFalse.set(0);
+    }
+
+    /**
+     * Counts a record dropped because its queue was full.
+     */
+    private void dropped() {
+        countFalse.incrementAndGet();
+        droppedTotal.incrementAndGet();
     }
 }
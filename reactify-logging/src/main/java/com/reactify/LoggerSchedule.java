@@ -17,8 +17,12 @@ package com.reactify;
 
 import static com.reactify.constants.Constants.MAX_BYTE;
 
+import com.reactify.filter.http.AccessLogFormatter;
+import com.reactify.filter.properties.AccessLogProperties;
+import com.reactify.logging.AccessLogRecord;
 import com.reactify.logging.LogField;
 import com.reactify.logging.LoggerDTO;
+import com.reactify.redaction.JsonRedactor;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -78,6 +82,33 @@ public class LoggerSchedule {
 
     private static final Logger logPerf = LoggerFactory.getLogger("perfLogger");
 
+    private static final Logger accessLog = LoggerFactory.getLogger("accessLogger");
+
+    private final AccessLogFormatter accessLogFormatter;
+
+    private final AccessLogProperties accessLogProperties;
+
+    private final JsonRedactor jsonRedactor;
+
+    /**
+     * Constructs a new instance of {@code LoggerSchedule}.
+     *
+     * @param accessLogFormatter
+     *            the formatter of the access-log lines
+     * @param accessLogProperties
+     *            the output of the access log
+     * @param jsonRedactor
+     *            the redactor masking sensitive values of the logged bodies
+     */
+    public LoggerSchedule(
+            AccessLogFormatter accessLogFormatter,
+            AccessLogProperties accessLogProperties,
+            JsonRedactor jsonRedactor) {
+        this.accessLogFormatter = accessLogFormatter;
+        this.accessLogProperties = accessLogProperties;
+        this.jsonRedactor = jsonRedactor;
+    }
+
     /**
      * <p>
      * scheduleSaveLogClick method is called at a fixed interval (3000 milliseconds)
@@ -109,6 +140,35 @@ public class LoggerSchedule {
 
         log.info("Log Process - ID: {}, Success: {}, Failed: {}", analyId, numSuccess.get(), numFalse.get());
         LoggerQueue.getInstance().resetCount();
+
+        for (AccessLogRecord record : LoggerQueue.getInstance().getAccessLogRecords()) {
+            logAccess(record);
+        }
+    }
+
+    /**
+     * <p>
+     * Writes an access-log record as a single line using the accessLogger, either
+     * as JSON or laid out by the configured pattern. The captured bodies are
+     * decoded, redacted and the headers filtered here, off the request thread.
+     * </p>
+     *
+     * @param record
+     *            The access-log record to be written.
+     */
+    private void logAccess(AccessLogRecord record) {
+        try {
+            record.setRequestBody(jsonRedactor.redact(record.getRequestBody()));
+            record.setResponseBody(jsonRedactor.redact(record.getResponseBody()));
+            if (accessLogProperties.getFormat() == AccessLogProperties.Format.TEXT) {
+                accessLog.info(accessLogFormatter.format(record));
+                return;
+            }
+            record.setHeaders(accessLogFormatter.filterHeaders(record.getHeaders()));
+            accessLog.info(ObjectMapperFactory.getInstance().writeValueAsString(record));
+        } catch (Exception ex) {
+            log.error("Error while handle access log queue: {}", ex.getMessage());
+        }
     }
 
     /**
@@ -167,8 +227,8 @@ public class LoggerSchedule {
         }
 
         try {
-            inputs = TruncateUtils.truncate(inputs, MAX_BYTE);
-            resStr = TruncateUtils.truncate(resStr, MAX_BYTE);
+            inputs = TruncateUtils.truncate(jsonRedactor.redact(inputs), MAX_BYTE);
+            resStr = TruncateUtils.truncate(jsonRedactor.redact(resStr), MAX_BYTE);
         } catch (Exception ex) {
             log.error("Truncate input/output error ", ex);
         }
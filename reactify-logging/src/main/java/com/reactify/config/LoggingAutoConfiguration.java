@@ -1,13 +1,17 @@
 package com.reactify.config;
 
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
 
 /**
  * Autoconfiguration for the reactify-logging library.
  * <p>
  * Automatically scans and registers components in the <code>com.reactify</code>
- * package, enabling seamless integration with Spring Boot.
+ * package, enabling seamless integration with Spring Boot. Auto-configurations
+ * such as {@link TracingConfiguration} are left out of the scan, so that their
+ * conditions are evaluated after the application's own beans.
  * </p>
  *
  * <h3>Usage:</h3>
@@ -20,5 +24,8 @@ import org.springframework.context.annotation.Configuration;
  * @since 1.0
  */
 @Configuration
-@ComponentScan(basePackages = "com.reactify")
+@ComponentScan(
+        basePackages = "com.reactify",
+        excludeFilters =
+                @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class))
 public class LoggingAutoConfiguration {}
@@ -16,9 +16,37 @@
 package com.reactify.config;
 
 import brave.Tracing;
+import brave.context.slf4j.MDCScopeDecorator;
+import brave.propagation.B3Propagation;
+import brave.propagation.Propagation;
+import brave.propagation.ThreadLocalCurrentTraceContext;
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import com.reactify.filter.properties.TracingProperties;
+import com.reactify.tracing.CompositePropagationFactory;
+import com.reactify.tracing.InMemorySpanHandler;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
+import io.micrometer.tracing.brave.bridge.BravePropagator;
+import io.micrometer.tracing.brave.bridge.BraveTracer;
+import io.micrometer.tracing.brave.bridge.W3CPropagation;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingReceiverTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.propagation.Propagator;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Hooks;
 
 /**
  * <p>
@@ -29,47 +57,163 @@ import org.springframework.context.annotation.Configuration;
  * </p>
  *
  * <p>
- * It configures the tracing system with the default settings and creates a
- * no-op Tracer instance when tracing is not needed.
+ * New traces are sampled according to {@link TracingProperties} (probability
+ * or rate limit), the W3C and B3 header formats are injected and extracted,
+ * and an {@link ObservationRegistry} with tracing handlers is provided so that
+ * server and {@code WebClient} observations create spans. Every trace is
+ * sampled by default. Automatic propagation of the Reactor context to thread
+ * locals is opt-in ({@code application.tracing.context-propagation}), as it
+ * adds a hook to every operator; the logging filters bridge the context to
+ * the MDC themselves, and the spans of {@link com.reactify.LogPerformance}
+ * methods returning a {@code Mono} or {@code Flux} take their parent from the
+ * server observation kept in the Reactor context.
+ * </p>
+ *
+ * <p>
+ * This is an auto-configuration, so every bean backs off when the application
+ * defines its own; it runs before Spring Boot's Brave auto-configuration, and
+ * the observation registry also backs off when Spring Boot's tracing
+ * auto-configuration is on the classpath, since it registers the same
+ * handlers.
  * </p>
  *
  * @author hoangtien2k3
  */
-@Configuration
+@AutoConfiguration(
+        after = LoggingAutoConfiguration.class,
+        beforeName = "org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration")
 public class TracingConfiguration {
 
+    private final TracingProperties tracingProperties;
+
+    /**
+     * Constructs a new instance of {@code TracingConfiguration}.
+     *
+     * @param tracingProperties
+     *            the tracing configuration
+     */
+    public TracingConfiguration(TracingProperties tracingProperties) {
+        this.tracingProperties = tracingProperties;
+    }
+
+    @PostConstruct
+    private void init() {
+        if (tracingProperties.isContextPropagation()) {
+            Hooks.enableAutomaticContextPropagation();
+        }
+    }
+
+    /**
+     * <p>
+     * Creates a Tracing bean configured with the sampler, the propagation formats
+     * and the in-memory exporter defined in {@link TracingProperties}.
+     * </p>
+     *
+     * @param environment
+     *            the environment providing the application name
+     * @param inMemorySpanHandler
+     *            the exporter registered when its capacity is greater than 0
+     * @return a {@link Tracing} object used for creating trace spans.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public Tracing tracing(Environment environment, InMemorySpanHandler inMemorySpanHandler) {
+        Tracing.Builder builder = Tracing.newBuilder()
+                .localServiceName(environment.getProperty("spring.application.name", "default"))
+                .sampler(sampler())
+                .traceId128Bit(true)
+                .supportsJoin(false)
+                .propagationFactory(propagationFactory())
+                .currentTraceContext(ThreadLocalCurrentTraceContext.newBuilder()
+                        .addScopeDecorator(MDCScopeDecorator.get())
+                        .build());
+        if (inMemorySpanHandler.isEnabled()) {
+            builder.addSpanHandler(inMemorySpanHandler);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public brave.Tracer braveTracer(Tracing tracing) {
+        return tracing.tracer();
+    }
+
     /**
      * <p>
-     * Creates a Tracer bean. This method returns a NOOP Tracer instance which means
-     * that it does not perform any actual tracing. You may replace it with a real
-     * tracer instance as needed.
+     * Creates the Micrometer {@link Tracer} bridged to Brave, used by the
+     * observation handlers and the exception handlers.
      * </p>
      *
      * @param tracing
      *            a {@link Tracing} object that provides tracing capabilities.
      * @return a {@link Tracer} object configured for tracing operations.
      */
-    // @Bean
-    // public Tracer tracer(Tracing tracing) {
-    // return BraveTracer.NOOP;
-    // }
+    @Bean
+    @ConditionalOnMissingBean
+    public Tracer tracer(Tracing tracing) {
+        return new BraveTracer(
+                tracing.tracer(),
+                new BraveCurrentTraceContext(tracing.currentTraceContext()),
+                new BraveBaggageManager());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Propagator propagator(Tracing tracing) {
+        return new BravePropagator(tracing);
+    }
 
     /**
      * <p>
-     * Creates a Tracing bean. This method configures the Tracing instance with the
-     * default settings. You may customize the Tracing configuration based on your
-     * application's requirements.
+     * Creates an {@link ObservationRegistry} whose observations create spans,
+     * extracting the parent from incoming requests and injecting the context into
+     * outgoing ones.
      * </p>
      *
-     * @return a {@link Tracing} object used for creating trace spans.
+     * @param tracer
+     *            the Micrometer tracer
+     * @param propagator
+     *            the propagator of the configured header formats
+     * @return an {@link ObservationRegistry} with tracing handlers
      */
     @Bean
-    public Tracing tracing() {
-        return Tracing.newBuilder().build();
+    @ConditionalOnMissingBean
+    @ConditionalOnMissingClass(
+            "org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration")
+    public ObservationRegistry observationRegistry(Tracer tracer, Propagator propagator) {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig()
+                .observationHandler(new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                        new PropagatingReceiverTracingObservationHandler<>(tracer, propagator),
+                        new DefaultTracingObservationHandler(tracer)));
+        ObservationThreadLocalAccessor.getInstance().setObservationRegistry(registry);
+        return registry;
     }
 
-    @Bean
-    public brave.Tracer tracer(Tracing tracing) {
-        return tracing.tracer();
+    private Sampler sampler() {
+        if (!tracingProperties.isEnable()) {
+            return Sampler.NEVER_SAMPLE;
+        }
+        if (tracingProperties.getRateLimit() > 0) {
+            return RateLimitingSampler.create(tracingProperties.getRateLimit());
+        }
+        return Sampler.create(Math.min(Math.max(tracingProperties.getProbability(), 0f), 1f));
+    }
+
+    private Propagation.Factory propagationFactory() {
+        List<Propagation.Factory> factories = new ArrayList<>();
+        for (String type : tracingProperties.getPropagation()) {
+            if ("W3C".equalsIgnoreCase(type)) {
+                factories.add(new W3CPropagation());
+            } else if ("B3".equalsIgnoreCase(type)) {
+                factories.add(B3Propagation.FACTORY);
+            }
+        }
+        if (factories.isEmpty()) {
+            return B3Propagation.FACTORY;
+        }
+        return factories.size() == 1 ? factories.get(0) : new CompositePropagationFactory(factories);
     }
 }
@@ -311,7 +311,12 @@ public final class Constants {
      * avoiding clutter in logs for health check endpoints or other non-essential
      * requests.
      * </p>
+     *
+     * @deprecated the logging filters read their exclusions from
+     *             {@link com.reactify.filter.properties.RouteLogProperties},
+     *             which excludes {@code /actuator/**} by default
      */
+    @Deprecated
     public static final HashSet<String> EXCLUDE_LOGGING_ENDPOINTS = new HashSet<>(List.of("/actuator/health"));
 
     /**
@@ -323,6 +328,12 @@ public final class Constants {
      */
     public static final int MAX_BYTE = 4096;
 
+    /**
+     * Route of the requests matching no handler pattern, such as 404s and
+     * scanners, so that their paths do not become metric keys or tags.
+     */
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
+
     /**
      * <p>
      * POOL class contains constants related to connection pools used for managing
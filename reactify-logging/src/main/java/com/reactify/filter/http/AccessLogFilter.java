@@ -0,0 +1,307 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.http;
+
+import com.reactify.DataUtil;
+import com.reactify.LoggerQueue;
+import com.reactify.RequestUtils;
+import com.reactify.constants.Constants;
+import com.reactify.filter.properties.HttpLogProperties;
+import com.reactify.logging.AccessLogRecord;
+import com.reactify.logging.LogDetailLevel;
+import com.reactify.sampling.DebugLogResolver;
+import com.reactify.sampling.LoggingGovernor;
+import com.reactify.sampling.RouteLogPolicies;
+import com.reactify.sampling.RouteLogPolicy;
+import com.reactify.tracing.TraceIds;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The {@code AccessLogFilter} writes a single structured access-log record per
+ * HTTP exchange. It replaces the log lines of {@link GatewayContextFilter},
+ * {@link HttpLoggingFilter}, {@link ResponseLogFilter} and
+ * {@link PerformanceLogFilter}, which each decorate or parse the same exchange
+ * and compute the headers, the query and the client address again.
+ * </p>
+ *
+ * <p>
+ * It is enabled with {@code application.http-logging.access-log=true}; the
+ * other filters then step aside, except for the observation and the latency
+ * histograms of {@link PerformanceLogFilter}. The request and response bodies
+ * are teed into bounded {@link BodyCapture}s while they stream, every other
+ * field is read once, and the finished {@link AccessLogRecord} is offered to
+ * the {@link LoggerQueue}. Serialization happens later in
+ * {@link com.reactify.LoggerSchedule}, off the request thread.
+ * </p>
+ *
+ * <p>
+ * The detail of the record follows the {@link LoggingGovernor}: bodies are
+ * only captured at the {@link LogDetailLevel#FULL} level, headers are dropped
+ * from the {@link LogDetailLevel#SUMMARY} level and successful exchanges are
+ * sampled at the {@link LogDetailLevel#SAMPLED} level. Exchanges selected by
+ * the {@link DebugLogResolver} are always recorded in full, and the
+ * {@link RouteLogPolicy} of the route can exclude it, cap its level, its body
+ * size and its sample rate.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class AccessLogFilter implements WebFilter, Ordered {
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private final HttpLogProperties httpLogProperties;
+
+    private final LoggingGovernor loggingGovernor;
+
+    private final DebugLogResolver debugLogResolver;
+
+    private final RouteLogPolicies routeLogPolicies;
+
+    /**
+     * Constructs a new instance of {@code AccessLogFilter}.
+     *
+     * @param httpLogProperties
+     *            the properties for logging HTTP requests and responses.
+     * @param loggingGovernor
+     *            the governor choosing the detail of the records.
+     * @param debugLogResolver
+     *            the resolver selecting the exchanges recorded in full.
+     * @param routeLogPolicies
+     *            the logging policies of the routes.
+     */
+    public AccessLogFilter(
+            HttpLogProperties httpLogProperties,
+            LoggingGovernor loggingGovernor,
+            DebugLogResolver debugLogResolver,
+            RouteLogPolicies routeLogPolicies) {
+        this.httpLogProperties = httpLogProperties;
+        this.loggingGovernor = loggingGovernor;
+        this.debugLogResolver = debugLogResolver;
+        this.routeLogPolicies = routeLogPolicies;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Runs first, so that the record covers the whole exchange.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Builds the access-log record of the exchange and queues it once the
+     * exchange terminates.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!httpLogProperties.isAccessLog()) {
+            return chain.filter(exchange);
+        }
+        RouteLogPolicy policy = routeLogPolicies.of(exchange);
+        boolean debug = debugLogResolver.resolve(exchange);
+        if (policy.isExcluded() && !debug) {
+            return chain.filter(exchange);
+        }
+        long startNanos = System.nanoTime();
+        AccessLogRecord record = newRecord(exchange.getRequest());
+        LogDetailLevel level = debug ? LogDetailLevel.FULL : policy.cap(loggingGovernor.getLevel());
+        if (level.compareTo(LogDetailLevel.HEADERS) > 0) {
+            record.setHeaders(null);
+        }
+        if (level != LogDetailLevel.FULL) {
+            return chain.filter(exchange)
+                    .doOnError(e -> record.setError(e.getMessage()))
+                    .doFinally(signal -> complete(exchange, record, startNanos, policy, false));
+        }
+
+        ServerWebExchange observed = debug || httpLogProperties.getRequest().isEnable()
+                ? captureRequest(
+                        exchange, record, policy.maxBodyBytes(httpLogProperties.getRequest().getMaxBodyBytes()))
+                : exchange;
+        if (debug || httpLogProperties.getResponse().isEnable()) {
+            ServerHttpResponse response = new CapturingResponseDecorator(
+                    observed.getResponse(),
+                    Constants.VISIBLE_TYPES,
+                    policy.maxBodyBytes(httpLogProperties.getResponse().getMaxBodyBytes()),
+                    record::setResponseCapture);
+            observed = observed.mutate().response(response).build();
+        }
+        return chain.filter(observed)
+                .doOnError(e -> record.setError(e.getMessage()))
+                .doFinally(signal -> complete(exchange, record, startNanos, policy, debug));
+    }
+
+    /**
+     * Reads every request field of a record once.
+     *
+     * @param request
+     *            the incoming request
+     * @return the {@link AccessLogRecord} of the exchange
+     */
+    static AccessLogRecord newRecord(ServerHttpRequest request) {
+        return fill(new AccessLogRecord(), request);
+    }
+
+    /**
+     * Reads every request field of a record once.
+     *
+     * @param record
+     *            the record to fill
+     * @param request
+     *            the incoming request
+     * @param <T>
+     *            the type of the record
+     * @return the given record
+     */
+    static <T extends AccessLogRecord> T fill(T record, ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        URI uri = request.getURI();
+        HttpHeaders headers = request.getHeaders();
+        record.setStartTime(System.currentTimeMillis());
+        record.setMethod(request.getMethod().name());
+        record.setPath(path.startsWith("/") ? path.substring(1) : path);
+        record.setQuery(uri.getRawQuery());
+        record.setHost(uri.getHost());
+        record.setClientAddress(RequestUtils.getIpAddress(request));
+        record.setHeaders(headers);
+        String requestId = headers.getFirst("Request-Id");
+        record.setRequestId(!DataUtil.isNullOrEmpty(requestId) ? requestId : null);
+        return record;
+    }
+
+    /**
+     * Tees the JSON or form body of the request into a {@link BodyCapture}. A
+     * form read by the handler through {@link ServerWebExchange#getFormData()}
+     * is kept as is instead, since it does not go through the request body.
+     *
+     * @param exchange
+     *            the current server exchange
+     * @param record
+     *            the record of the exchange
+     * @param maxBodyBytes
+     *            the maximum number of bytes captured
+     * @return the exchange to pass down the chain
+     */
+    static ServerWebExchange captureRequest(ServerWebExchange exchange, AccessLogRecord record, int maxBodyBytes) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        MediaType contentType = headers.getContentType();
+        if (headers.getContentLength() <= 0 || contentType == null) {
+            return exchange;
+        }
+        boolean form = MediaType.APPLICATION_FORM_URLENCODED.includes(contentType);
+        if (!form && !MediaType.APPLICATION_JSON.includes(contentType)) {
+            return exchange;
+        }
+        BodyCapture capture = new BodyCapture(maxBodyBytes);
+        record.setRequestCapture(capture);
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().map(capture::capture);
+            }
+        };
+        ServerWebExchange mutated = exchange.mutate().request(request).build();
+        if (!form) {
+            return mutated;
+        }
+        return new ServerWebExchangeDecorator(mutated) {
+            @Override
+            public Mono<MultiValueMap<String, String>> getFormData() {
+                return super.getFormData().doOnNext(record::setFormData);
+            }
+        };
+    }
+
+    /**
+     * Completes the record with the outcome of the exchange and queues it.
+     *
+     * @param exchange
+     *            the current server exchange
+     * @param record
+     *            the record of the exchange
+     * @param startNanos
+     *            the {@link System#nanoTime()} at which the exchange started
+     * @param policy
+     *            the logging policy of the route
+     * @param debug
+     *            whether debug logging is on for the exchange, which is then
+     *            never sampled out
+     */
+    private void complete(
+            ServerWebExchange exchange,
+            AccessLogRecord record,
+            long startNanos,
+            RouteLogPolicy policy,
+            boolean debug) {
+        finish(exchange, record, startNanos);
+        boolean failed = record.isFailed();
+        if (!debug && !(policy.sample(failed) && loggingGovernor.sample(failed))) {
+            return;
+        }
+        if (!LoggerQueue.getInstance().addAccessLog(record)) {
+            log.debug("Access log queue is full, record of {} dropped", record.getPath());
+        }
+    }
+
+    /**
+     * Completes a record with the outcome of the exchange. Requests matching no
+     * handler pattern get the {@link Constants#UNMATCHED_ROUTE} route.
+     *
+     * @param exchange
+     *            the current server exchange
+     * @param record
+     *            the record of the exchange
+     * @param startNanos
+     *            the {@link System#nanoTime()} at which the exchange started
+     */
+    static void finish(ServerWebExchange exchange, AccessLogRecord record, long startNanos) {
+        record.setDuration((System.nanoTime() - startNanos) / 1_000_000);
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        record.setStatus(status != null ? status.value() : null);
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        record.setRoute(pattern != null ? pattern.toString() : Constants.UNMATCHED_ROUTE);
+        record.setTraceId(TraceIds.of(exchange));
+    }
+}
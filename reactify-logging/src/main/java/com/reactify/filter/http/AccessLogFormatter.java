@@ -0,0 +1,331 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.http;
+
+import com.reactify.filter.properties.AccessLogProperties;
+import com.reactify.logging.AccessLogRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The {@code AccessLogFormatter} lays out {@link AccessLogRecord}s as text
+ * log lines. The pattern of {@link AccessLogProperties} is compiled once at
+ * startup into a plan of segments, each appending a literal or a single field,
+ * so that formatting a record is a loop over the plan with no parsing,
+ * {@code String.format} nor intermediate list.
+ * </p>
+ *
+ * <p>
+ * Lines are built in a {@link StringBuilder} reused by each thread, the only
+ * allocation per record being the resulting {@link String}. The header allow
+ * and deny lists are normalized at startup and the decision taken for a
+ * header name is cached.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class AccessLogFormatter {
+
+    /** upper bound of cached header decisions, protects against unbounded names */
+    private static final int MAX_CACHED_HEADERS = 1024;
+
+    /** builders grown above this capacity are not kept by the thread */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final Set<String> includeHeaders;
+
+    private final Set<String> excludeHeaders;
+
+    private final Map<String, Boolean> headerDecisions = new ConcurrentHashMap<>();
+
+    private final Segment[] plan;
+
+    /**
+     * Constructs a new instance of {@code AccessLogFormatter}.
+     *
+     * @param properties
+     *            the pattern and header lists of the log lines
+     * @throws IllegalArgumentException
+     *             if the pattern is malformed or uses an unknown field
+     */
+    public AccessLogFormatter(AccessLogProperties properties) {
+        this.includeHeaders = lowerCase(properties.getIncludeHeaders());
+        this.excludeHeaders = lowerCase(properties.getExcludeHeaders());
+        this.plan = compile(properties.getPattern());
+    }
+
+    /**
+     * Formats a record with the compiled pattern.
+     *
+     * @param record
+     *            the record to format
+     * @return the log line
+     */
+    public String format(AccessLogRecord record) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        appendTo(sb, record);
+        String line = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return line;
+    }
+
+    /**
+     * Appends a record formatted with the compiled pattern.
+     *
+     * @param sb
+     *            the builder to append to
+     * @param record
+     *            the record to format
+     * @return the given builder
+     */
+    public StringBuilder appendTo(StringBuilder sb, AccessLogRecord record) {
+        for (Segment segment : plan) {
+            segment.append(sb, record);
+        }
+        return sb;
+    }
+
+    /**
+     * Returns a copy of the headers restricted to the ones allowed in the log.
+     *
+     * @param headers
+     *            the headers, may be {@code null}
+     * @return the allowed headers, or {@code null}
+     */
+    public HttpHeaders filterHeaders(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        HttpHeaders allowed = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (isAllowed(header.getKey())) {
+                allowed.put(header.getKey(), header.getValue());
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Tells whether a header is written in the log.
+     *
+     * @param name
+     *            the name of the header
+     * @return {@code true} if the header is allowed
+     */
+    public boolean isAllowed(String name) {
+        Boolean allowed = headerDecisions.get(name);
+        if (allowed != null) {
+            return allowed;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        allowed = !excludeHeaders.contains(key) && (includeHeaders.isEmpty() || includeHeaders.contains(key));
+        if (headerDecisions.size() >= MAX_CACHED_HEADERS) {
+            headerDecisions.clear();
+        }
+        headerDecisions.put(name, allowed);
+        return allowed;
+    }
+
+    /**
+     * Compiles a pattern into its plan of segments.
+     *
+     * @param pattern
+     *            the pattern of the log lines
+     * @return the plan
+     */
+    private Segment[] compile(String pattern) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            char next = i + 1 < length ? pattern.charAt(i + 1) : 0;
+            if (c == '%' && next == '%') {
+                literal.append('%');
+                i += 2;
+            } else if (c == '%' && next == '{') {
+                int end = pattern.indexOf('}', i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed field in access-log pattern: " + pattern);
+                }
+                addLiteral(segments, literal);
+                segments.add(field(pattern.substring(i + 2, end).trim()));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        addLiteral(segments, literal);
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * Adds the pending literal text to the plan, if any.
+     *
+     * @param segments
+     *            the plan being built
+     * @param literal
+     *            the pending literal text, cleared afterwards
+     */
+    private static void addLiteral(List<Segment> segments, StringBuilder literal) {
+        if (literal.isEmpty()) {
+            return;
+        }
+        String text = literal.toString();
+        segments.add((sb, record) -> sb.append(text));
+        literal.setLength(0);
+    }
+
+    /**
+     * Resolves the segment writing a field.
+     *
+     * @param name
+     *            the name of the field
+     * @return the segment
+     */
+    private Segment field(String name) {
+        return switch (name) {
+            case "startTime" -> (sb, r) -> sb.append(r.getStartTime());
+            case "duration" -> (sb, r) -> sb.append(r.getDuration());
+            case "traceId" -> (sb, r) -> appendText(sb, r.getTraceId());
+            case "requestId" -> (sb, r) -> appendText(sb, r.getRequestId());
+            case "method" -> (sb, r) -> appendText(sb, r.getMethod());
+            case "path" -> (sb, r) -> appendText(sb, r.getPath());
+            case "route" -> (sb, r) -> appendText(sb, r.getRoute());
+            case "query" -> (sb, r) -> appendText(sb, r.getQuery());
+            case "clientIp" -> (sb, r) -> appendText(sb, r.getClientAddress());
+            case "host" -> (sb, r) -> appendText(sb, r.getHost());
+            case "headers" -> (sb, r) -> appendHeaders(sb, r.getHeaders());
+            case "requestBody" -> (sb, r) -> appendBody(sb, r.getRequestBody());
+            case "status" -> (sb, r) -> {
+                if (r.getStatus() == null) {
+                    sb.append('-');
+                } else {
+                    sb.append(r.getStatus().intValue());
+                }
+            };
+            case "responseBody" -> (sb, r) -> appendBody(sb, r.getResponseBody());
+            case "error" -> (sb, r) -> appendBody(sb, r.getError());
+            default -> throw new IllegalArgumentException("Unknown access-log field: " + name);
+        };
+    }
+
+    /**
+     * Appends the allowed headers as {@code {name:[value, value]}} groups.
+     *
+     * @param sb
+     *            the builder to append to
+     * @param headers
+     *            the headers, may be {@code null}
+     */
+    private void appendHeaders(StringBuilder sb, HttpHeaders headers) {
+        int start = sb.length();
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (!isAllowed(header.getKey())) {
+                    continue;
+                }
+                sb.append('{').append(header.getKey()).append(":[");
+                List<String> values = header.getValue();
+                for (int i = 0; i < values.size(); i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(values.get(i));
+                }
+                sb.append("]}");
+            }
+        }
+        if (sb.length() == start) {
+            sb.append('-');
+        }
+    }
+
+    /**
+     * Appends a value, or {@code -} when it is empty.
+     *
+     * @param sb
+     *            the builder to append to
+     * @param value
+     *            the value, may be {@code null}
+     */
+    private static void appendText(StringBuilder sb, String value) {
+        if (value == null || value.isEmpty()) {
+            sb.append('-');
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * Appends a body on a single line, line breaks are dropped.
+     *
+     * @param sb
+     *            the builder to append to
+     * @param body
+     *            the body, may be {@code null}
+     */
+    private static void appendBody(StringBuilder sb, String body) {
+        if (body == null || body.isEmpty()) {
+            sb.append('-');
+            return;
+        }
+        for (int i = 0, length = body.length(); i < length; i++) {
+            char c = body.charAt(i);
+            if (c != '\r' && c != '\n') {
+                sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Normalizes a list of header names.
+     *
+     * @param names
+     *            the header names, may be {@code null}
+     * @return the lower-cased names
+     */
+    private static Set<String> lowerCase(List<String> names) {
+        if (names == null) {
+            return Set.of();
+        }
+        return names.stream().map(name -> name.toLowerCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Step of a compiled pattern, appending a literal or a field of the record.
+     */
+    @FunctionalInterface
+    private interface Segment {
+        void append(StringBuilder sb, AccessLogRecord record);
+    }
+}
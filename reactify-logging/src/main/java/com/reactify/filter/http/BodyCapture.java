@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.http;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.buffer.DataBuffer;
+
+/**
+ * <p>
+ * Captures at most {@code limit} bytes of a body while it streams through a
+ * filter. Buffers are only read, never consumed, released or replaced: their
+ * read position is left untouched and only the bytes still missing from the
+ * capture are copied, so a large body costs at most {@code limit} bytes.
+ * </p>
+ *
+ * <p>
+ * Signals of a body are serialized, the capture is read once the body has
+ * been written, therefore no synchronization is needed.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class BodyCapture {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int limit;
+    private byte[] bytes = EMPTY;
+    private int length;
+    private long totalBytes;
+
+    /**
+     * Constructs a new instance of {@code BodyCapture}.
+     *
+     * @param limit
+     *            the maximum number of bytes captured
+     */
+    public BodyCapture(int limit) {
+        this.limit = Math.max(limit, 0);
+    }
+
+    /**
+     * Copies the bytes of the buffer still missing from the capture.
+     *
+     * @param buffer
+     *            the buffer flowing through, left unchanged
+     * @return the same buffer
+     */
+    public DataBuffer capture(DataBuffer buffer) {
+        int readable = buffer.readableByteCount();
+        totalBytes += readable;
+        int missing = Math.min(limit - length, readable);
+        if (missing > 0) {
+            if (bytes.length < length + missing) {
+                byte[] grown = new byte[Math.min(limit, Math.max(length + missing, bytes.length * 2))];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), length, missing);
+            length += missing;
+        }
+        return buffer;
+    }
+
+    /**
+     * Tells whether the body was longer than the capture.
+     *
+     * @return {@code true} if bytes were dropped
+     */
+    public boolean isTruncated() {
+        return totalBytes > length;
+    }
+
+    /**
+     * Returns the size of the whole body seen so far.
+     *
+     * @return the number of bytes
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Decodes the captured bytes as UTF-8.
+     *
+     * @return the captured text
+     */
+    public String asString() {
+        return asString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the captured bytes.
+     *
+     * @param charset
+     *            the charset of the body
+     * @return the captured text
+     */
+    public String asString(Charset charset) {
+        return new String(bytes, 0, length, charset);
+    }
+}
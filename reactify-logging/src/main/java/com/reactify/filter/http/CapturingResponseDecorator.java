@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.http;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Response decorator teeing the first bytes of the body into a
+ * {@link BodyCapture} for logging. The buffers are passed to the delegate
+ * unchanged and on the same thread, no scheduler hop nor re-allocation is
+ * involved. Only bodies whose content type is one of the given media types are
+ * captured.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final Collection<MediaType> mediaTypes;
+    private final int maxBytes;
+    private final Consumer<BodyCapture> onComplete;
+
+    /**
+     * Constructs a new instance of {@code CapturingResponseDecorator}.
+     *
+     * @param delegate
+     *            the response to decorate
+     * @param mediaTypes
+     *            the content types whose body is captured
+     * @param maxBytes
+     *            the maximum number of bytes captured
+     * @param onComplete
+     *            called with the capture once the body has been written
+     */
+    public CapturingResponseDecorator(
+            ServerHttpResponse delegate,
+            Collection<MediaType> mediaTypes,
+            int maxBytes,
+            Consumer<BodyCapture> onComplete) {
+        super(delegate);
+        this.mediaTypes = mediaTypes;
+        this.maxBytes = maxBytes;
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!isCaptured()) {
+            return super.writeWith(body);
+        }
+        BodyCapture capture = new BodyCapture(maxBytes);
+        return super.writeWith(Flux.from(body).map(capture::capture)).doOnSuccess(v -> onComplete.accept(capture));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        if (!isCaptured()) {
+            return super.writeAndFlushWith(body);
+        }
+        BodyCapture capture = new BodyCapture(maxBytes);
+        return super.writeAndFlushWith(
+                        Flux.from(body).map(part -> Flux.from(part).map(capture::capture)))
+                .doOnSuccess(v -> onComplete.accept(capture));
+    }
+
+    private boolean isCaptured() {
+        MediaType contentType = getHeaders().getContentType();
+        if (maxBytes <= 0 || contentType == null) {
+            return false;
+        }
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.http;
+
+import com.reactify.sampling.DebugLogResolver;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The {@code DebugLogFilter} puts the request-scoped debug logging decision of
+ * the {@link DebugLogResolver} in the Reactor context of the exchange, so that
+ * code running on behalf of the exchange, such as the logging aspect and the
+ * web client logging filter, honors it. Exchanges without debug logging go
+ * through untouched.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class DebugLogFilter implements WebFilter, Ordered {
+
+    private final DebugLogResolver debugLogResolver;
+
+    /**
+     * Constructs a new instance of {@code DebugLogFilter}.
+     *
+     * @param debugLogResolver
+     *            the resolver deciding which exchanges are debugged.
+     */
+    public DebugLogFilter(DebugLogResolver debugLogResolver) {
+        this.debugLogResolver = debugLogResolver;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Runs first, so that the context covers the whole exchange.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Marks the Reactor context of a debugged exchange.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!debugLogResolver.resolve(exchange)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(context -> context.put(DebugLogResolver.CONTEXT_KEY, true));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.http;
+
+import com.reactify.constants.Constants;
+import com.reactify.logging.FlightRecord;
+import com.reactify.recorder.FlightRecorder;
+import com.reactify.sampling.RouteLogPolicies;
+import com.reactify.sampling.RouteLogPolicy;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * The {@code FlightRecorderFilter} feeds the {@link FlightRecorder}. Every
+ * exchange gets a {@link FlightRecord} with its headers, bounded request and
+ * response bodies and timings, independently of the log level chosen by the
+ * {@link com.reactify.sampling.LoggingGovernor}. The record is put in the
+ * Reactor context under {@code FlightRecord.class}, so that the methods
+ * instrumented by {@link com.reactify.LoggerAspect} add their calls to it.
+ * </p>
+ *
+ * <p>
+ * It is enabled with {@code application.flight-recorder.enable=true}. Routes
+ * excluded by their {@link RouteLogPolicy} are not recorded, and bodies are
+ * only captured for routes logged at the {@code FULL} level.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class FlightRecorderFilter implements WebFilter, Ordered {
+
+    private final FlightRecorder flightRecorder;
+
+    private final RouteLogPolicies routeLogPolicies;
+
+    /**
+     * Constructs a new instance of {@code FlightRecorderFilter}.
+     *
+     * @param flightRecorder
+     *            the recorder keeping the records.
+     * @param routeLogPolicies
+     *            the logging policies of the routes.
+     */
+    public FlightRecorderFilter(FlightRecorder flightRecorder, RouteLogPolicies routeLogPolicies) {
+        this.flightRecorder = flightRecorder;
+        this.routeLogPolicies = routeLogPolicies;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Runs right after the logging filters.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Records the exchange once it terminates.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!flightRecorder.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        RouteLogPolicy policy = routeLogPolicies.of(exchange);
+        if (policy.isExcluded()) {
+            return chain.filter(exchange);
+        }
+        long startNanos = System.nanoTime();
+        FlightRecord record = AccessLogFilter.fill(new FlightRecord(), exchange.getRequest());
+        ServerWebExchange observed = exchange;
+        if (policy.keepBodies()) {
+            int maxBodyBytes = policy.maxBodyBytes(flightRecorder.getMaxBodyBytes());
+            observed = AccessLogFilter.captureRequest(exchange, record, maxBodyBytes);
+            ServerHttpResponse response = new CapturingResponseDecorator(
+                    observed.getResponse(), Constants.VISIBLE_TYPES, maxBodyBytes, record::setResponseCapture);
+            observed = observed.mutate().response(response).build();
+        }
+        return chain.filter(observed)
+                .doOnError(e -> record.setError(e.getMessage()))
+                .doFinally(signal -> {
+                    AccessLogFilter.finish(exchange, record, startNanos);
+                    flightRecorder.record(record);
+                })
+                .contextWrite(context -> context.put(FlightRecord.class, record));
+    }
+}
@@ -15,35 +15,28 @@
  */
 package com.reactify.filter.http;
 
-import com.reactify.constants.Constants;
 import com.reactify.filter.properties.HttpLogProperties;
 import com.reactify.logging.GatewayContext;
-import java.net.URLEncoder;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import com.reactify.sampling.DebugLogResolver;
+import com.reactify.sampling.LoggingGovernor;
+import com.reactify.sampling.RouteLogPolicies;
+import com.reactify.sampling.RouteLogPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ReactiveHttpOutputMessage;
-import org.springframework.http.codec.CodecConfigurer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.BodyInserter;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * <p>
@@ -58,7 +51,9 @@ import reactor.core.scheduler.Schedulers;
  * The filter can conditionally enable or disable logging of request and
  * response data based on configuration properties specified in the
  * {@link HttpLogProperties} class. It also supports handling of both JSON and
- * form data content types.
+ * form data content types. Routes excluded by their {@link RouteLogPolicy} are
+ * skipped and bodies of the exchanges selected by the {@link DebugLogResolver}
+ * are always read.
  * </p>
  *
  * <p>
@@ -77,19 +72,36 @@ public class GatewayContextFilter implements WebFilter, Ordered {
     private static final Logger log = LoggerFactory.getLogger(GatewayContextFilter.class);
 
     private final HttpLogProperties httpLogProperties;
-    private final CodecConfigurer codecConfigurer;
+
+    private final LoggingGovernor loggingGovernor;
+
+    private final DebugLogResolver debugLogResolver;
+
+    private final RouteLogPolicies routeLogPolicies;
 
     /**
      * Constructs a new instance of {@code GatewayContextFilter}.
      *
      * @param httpLogProperties
      *            the properties for logging HTTP requests and responses.
-     * @param codecConfigurer
-     *            the codec configurer for configuring message codecs.
+     * @param loggingGovernor
+     *            the governor telling whether bodies are logged under the
+     *            current load.
+     * @param debugLogResolver
+     *            the resolver selecting the exchanges whose bodies are always
+     *            read.
+     * @param routeLogPolicies
+     *            the logging policies of the routes.
      */
-    public GatewayContextFilter(HttpLogProperties httpLogProperties, CodecConfigurer codecConfigurer) {
+    public GatewayContextFilter(
+            HttpLogProperties httpLogProperties,
+            LoggingGovernor loggingGovernor,
+            DebugLogResolver debugLogResolver,
+            RouteLogPolicies routeLogPolicies) {
         this.httpLogProperties = httpLogProperties;
-        this.codecConfigurer = codecConfigurer;
+        this.loggingGovernor = loggingGovernor;
+        this.debugLogResolver = debugLogResolver;
+        this.routeLogPolicies = routeLogPolicies;
     }
 
     /**
@@ -117,22 +129,30 @@ public class GatewayContextFilter implements WebFilter, Ordered {
      * <p>
      * If the content type of the request is JSON, it will invoke the
      * {@link #readBody(ServerWebExchange, WebFilterChain, GatewayContext)} method
-     * to read and process the JSON body. For form data, it calls
+     * to capture the JSON body. For form data, it calls
      * {@link #readFormData(ServerWebExchange, WebFilterChain, GatewayContext)}.
      * </p>
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        boolean enableRequest = httpLogProperties.getRequest().isEnable();
-        boolean enableResponse = httpLogProperties.getResponse().isEnable();
-        if (Constants.EXCLUDE_LOGGING_ENDPOINTS.contains(request.getPath().toString())
-                || (!enableRequest && !enableResponse)) {
+        if (httpLogProperties.isAccessLog()) {
+            return chain.filter(exchange);
+        }
+        RouteLogPolicy policy = routeLogPolicies.of(exchange);
+        boolean debug = debugLogResolver.resolve(exchange);
+        if (policy.isExcluded() && !debug) {
+            return chain.filter(exchange);
+        }
+        boolean enableRequest = debug || httpLogProperties.getRequest().isEnable();
+        boolean enableResponse = debug || httpLogProperties.getResponse().isEnable();
+        if (!enableRequest && !enableResponse) {
             return chain.filter(exchange);
         }
         GatewayContext gatewayContext = new GatewayContext();
-        gatewayContext.setReadRequestData(httpLogProperties.getRequest().isEnable());
-        gatewayContext.setReadResponseData(httpLogProperties.getResponse().isEnable());
+        boolean keepBodies = debug || (policy.keepBodies() && loggingGovernor.keepBodies());
+        gatewayContext.setReadRequestData(enableRequest && keepBodies);
+        gatewayContext.setReadResponseData(enableResponse && keepBodies);
         HttpHeaders headers = request.getHeaders();
         gatewayContext.setRequestHeaders(headers);
         gatewayContext.setStartTime(System.currentTimeMillis());
@@ -160,12 +180,15 @@ public class GatewayContextFilter implements WebFilter, Ordered {
     }
 
     /**
-     * Reads and processes form data from the incoming request.
+     * Captures the form data of the incoming request for the log.
      *
      * <p>
-     * This method retrieves the form data and adds it to the
-     * {@link GatewayContext}. It then rewrites the request body with the encoded
-     * form data, allowing further processing down the filter chain.
+     * The request is left untouched. When the handler reads the form through
+     * {@link ServerWebExchange#getFormData()}, the parsed form is kept as is;
+     * when it reads the raw body, its first bytes are teed into a
+     * {@link BodyCapture} and parsed lazily by
+     * {@link GatewayContext#getFormData()} only when the log line is written.
+     * Nothing is re-encoded nor re-inserted, and no scheduler hop is involved.
      * </p>
      *
      * @param exchange
@@ -174,94 +197,43 @@ public class GatewayContextFilter implements WebFilter, Ordered {
      *            the filter chain to continue processing the request.
      * @param gatewayContext
      *            the context object to store request data.
-     * @return a {@link Mono<Void>} representing the completion of the form data
+     * @return a {@link Mono<Void>} representing the completion of the request
      *         processing.
      */
     private Mono<Void> readFormData(ServerWebExchange exchange, WebFilterChain chain, GatewayContext gatewayContext) {
-        HttpHeaders headers = exchange.getRequest().getHeaders();
-        return exchange.getFormData()
-                .doOnNext(multiValueMap -> {
-                    gatewayContext.setFormData(multiValueMap);
-                    gatewayContext.getAllRequestData().addAll(multiValueMap);
+        BodyCapture capture = new BodyCapture(
+                routeLogPolicies.of(exchange).maxBodyBytes(httpLogProperties.getRequest().getMaxBodyBytes()));
+        gatewayContext.setRequestCapture(capture);
+        ServerHttpRequest mutatedRequest = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().map(capture::capture);
+            }
+        };
+        ServerWebExchange mutatedExchange = new ServerWebExchangeDecorator(
+                exchange.mutate().request(mutatedRequest).build()) {
+            @Override
+            public Mono<MultiValueMap<String, String>> getFormData() {
+                return super.getFormData().doOnNext(formData -> {
+                    gatewayContext.setFormData(formData);
+                    gatewayContext.getAllRequestData().addAll(formData);
                     log.debug("[GatewayContext]Read FormData Success");
-                })
-                .then(Mono.defer(() -> {
-                    MediaType contentType = headers.getContentType();
-                    Charset charset = (contentType != null && contentType.getCharset() != null)
-                            ? contentType.getCharset()
-                            : StandardCharsets.UTF_8;
-                    MultiValueMap<String, String> formData = gatewayContext.getFormData();
-                    /*
-                     * formData is empty just return
-                     */
-                    if (null == formData || formData.isEmpty()) {
-                        return chain.filter(exchange);
-                    }
-
-                    // Repackage form data without blocking calls
-                    return Flux.fromIterable(formData.entrySet())
-                            .flatMap(entry -> {
-                                String entryKey = entry.getKey();
-                                List<String> entryValue = entry.getValue();
-
-                                return Flux.fromIterable(entryValue)
-                                        .publishOn(Schedulers.boundedElastic())
-                                        .map(value -> entryKey + "=" + URLEncoder.encode(value, charset));
-                            })
-                            .collectList()
-                            .map(encodedEntries -> String.join("&", encodedEntries))
-                            .flatMap(formDataBodyString -> {
-                                /*
-                                 * get data bytes
-                                 */
-                                byte[] bodyBytes = formDataBodyString.getBytes(charset);
-                                int contentLength = bodyBytes.length;
-
-                                // Prepare headers
-                                HttpHeaders httpHeaders = new HttpHeaders();
-                                httpHeaders.putAll(exchange.getRequest().getHeaders());
-                                httpHeaders.remove(HttpHeaders.CONTENT_LENGTH);
-                                httpHeaders.setContentLength(contentLength);
-
-                                /*
-                                 * use BodyInserter to InsertFormData Body
-                                 */
-                                BodyInserter<String, ReactiveHttpOutputMessage> bodyInserter =
-                                        BodyInserters.fromValue(formDataBodyString);
-                                CachedBodyOutputMessage cachedBodyOutputMessage =
-                                        new CachedBodyOutputMessage(exchange, httpHeaders);
-                                log.debug("[GatewayContext] Rewrite Form Data :{}", formDataBodyString);
-
-                                return bodyInserter
-                                        .insert(cachedBodyOutputMessage, new BodyInserterContext())
-                                        .then(Mono.defer(() -> {
-                                            ServerHttpRequestDecorator decorator =
-                                                    new ServerHttpRequestDecorator(exchange.getRequest()) {
-                                                        @Override
-                                                        public HttpHeaders getHeaders() {
-                                                            return httpHeaders;
-                                                        }
-
-                                                        @Override
-                                                        public Flux<DataBuffer> getBody() {
-                                                            return cachedBodyOutputMessage.getBody();
-                                                        }
-                                                    };
-                                            return chain.filter(exchange.mutate()
-                                                    .request(decorator)
-                                                    .build());
-                                        }));
-                            });
-                }));
+                });
+            }
+        };
+        return chain.filter(mutatedExchange);
     }
 
     /**
-     * Reads and processes the JSON body from the incoming request.
+     * Captures the JSON body of the incoming request for the log.
      *
      * <p>
-     * This method captures the request body as a String, allowing it to be
-     * processed and logged within the context of the gateway. The request is then
-     * mutated to replace its body with the cached version.
+     * The body is not read up front: it streams to the handler unchanged while
+     * its first bytes, up to
+     * {@code application.http-logging.request.max-body-bytes}, are copied into a
+     * {@link BodyCapture}. The handler starts without waiting for the whole body
+     * and memory stays bounded whatever the body size; the capture is decoded
+     * only when the log line is written.
      * </p>
      *
      * @param exchange
@@ -270,34 +242,19 @@ public class GatewayContextFilter implements WebFilter, Ordered {
      *            the filter chain to continue processing the request.
      * @param gatewayContext
      *            the context object to store request data.
-     * @return a {@link Mono<Void>} representing the completion of the JSON body
+     * @return a {@link Mono<Void>} representing the completion of the request
      *         processing.
      */
     private Mono<Void> readBody(ServerWebExchange exchange, WebFilterChain chain, GatewayContext gatewayContext) {
-        return DataBufferUtils.join(exchange.getRequest().getBody()).flatMap(dataBuffer -> {
-            DataBufferUtils.retain(dataBuffer);
-            Flux<DataBuffer> cachedFlux = Flux.defer(() -> Flux.just(DataBufferUtils.retain(dataBuffer)));
-
-            /*
-             * repackage ServerHttpRequest
-             */
-            ServerHttpRequest mutatedRequest = new ServerHttpRequestDecorator(exchange.getRequest()) {
-                @Override
-                public Flux<DataBuffer> getBody() {
-                    return cachedFlux;
-                }
-            };
-            ServerWebExchange mutatedExchange =
-                    exchange.mutate().request(mutatedRequest).build();
-            return ServerRequest.create(mutatedExchange, codecConfigurer.getReaders())
-                    .bodyToMono(String.class)
-                    .doOnNext(objectValue -> {
-                        if (objectValue != null)
-                            objectValue = objectValue.replaceAll("\r", "").replaceAll("\n", "");
-                        gatewayContext.setRequestBody(objectValue);
-                        log.debug("[GatewayContext]Read JsonBody Success");
-                    })
-                    .then(chain.filter(mutatedExchange));
-        });
+        BodyCapture capture = new BodyCapture(
+                routeLogPolicies.of(exchange).maxBodyBytes(httpLogProperties.getRequest().getMaxBodyBytes()));
+        gatewayContext.setRequestCapture(capture);
+        ServerHttpRequest mutatedRequest = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().map(capture::capture);
+            }
+        };
+        return chain.filter(exchange.mutate().request(mutatedRequest).build());
     }
 }
@@ -16,33 +16,29 @@
 package com.reactify.filter.http;
 
 import static com.reactify.constants.Constants.MAX_BYTE;
-import static reactor.core.scheduler.Schedulers.single;
 
-import com.reactify.RequestUtils;
 import com.reactify.TruncateUtils;
 import com.reactify.constants.Constants;
 import com.reactify.filter.properties.HttpLogProperties;
+import com.reactify.logging.AccessLogRecord;
 import com.reactify.logging.GatewayContext;
-import java.net.URI;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import com.reactify.redaction.JsonRedactor;
+import com.reactify.sampling.DebugLogResolver;
+import com.reactify.sampling.LoggingGovernor;
+import com.reactify.sampling.RouteLogPolicies;
+import com.reactify.sampling.RouteLogPolicy;
 import java.util.List;
-import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
-import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.stereotype.Component;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -51,7 +47,8 @@ import reactor.core.publisher.Mono;
  * <p>
  * This filter logs the details of HTTP requests and responses, including
  * headers, query parameters, and body content. It is designed to be used with
- * Spring WebFlux.
+ * Spring WebFlux. Exchanges selected by the {@link DebugLogResolver} are logged
+ * in full, with their debug output.
  *
  * @author hoangtien2k3
  */
@@ -65,14 +62,45 @@ public class HttpLoggingFilter implements WebFilter, Ordered {
 
     private final HttpLogProperties httpLogProperties;
 
+    private final AccessLogFormatter accessLogFormatter;
+
+    private final JsonRedactor jsonRedactor;
+
+    private final LoggingGovernor loggingGovernor;
+
+    private final DebugLogResolver debugLogResolver;
+
+    private final RouteLogPolicies routeLogPolicies;
+
     /**
      * Constructs a new instance of {@code HttpLoggingFilter}.
      *
      * @param httpLogProperties
      *            the properties for logging HTTP requests and responses.
+     * @param accessLogFormatter
+     *            the formatter laying out the log line.
+     * @param jsonRedactor
+     *            the redactor masking sensitive values of the bodies.
+     * @param loggingGovernor
+     *            the governor choosing the detail of the log line.
+     * @param debugLogResolver
+     *            the resolver selecting the exchanges logged in full.
+     * @param routeLogPolicies
+     *            the logging policies of the routes.
      */
-    public HttpLoggingFilter(HttpLogProperties httpLogProperties) {
+    public HttpLoggingFilter(
+            HttpLogProperties httpLogProperties,
+            AccessLogFormatter accessLogFormatter,
+            JsonRedactor jsonRedactor,
+            LoggingGovernor loggingGovernor,
+            DebugLogResolver debugLogResolver,
+            RouteLogPolicies routeLogPolicies) {
         this.httpLogProperties = httpLogProperties;
+        this.accessLogFormatter = accessLogFormatter;
+        this.jsonRedactor = jsonRedactor;
+        this.loggingGovernor = loggingGovernor;
+        this.debugLogResolver = debugLogResolver;
+        this.routeLogPolicies = routeLogPolicies;
     }
 
     /**
@@ -92,38 +120,36 @@ public class HttpLoggingFilter implements WebFilter, Ordered {
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        ServerHttpResponseDecorator loggingServerHttpResponseDecorator =
-                new ServerHttpResponseDecorator(exchange.getResponse()) {
-                    @Override
-                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-                        if (httpLogProperties.getResponse().isEnable()) {
-                            final MediaType contentType = super.getHeaders().getContentType();
-                            if (Constants.VISIBLE_TYPES.contains(contentType)) {
-                                if (body instanceof Mono) {
-                                    final Mono<DataBuffer> monoBody = Mono.from(body);
-                                    return super.writeWith(monoBody.publishOn(single())
-                                            .map(buffer -> logResponseBody(buffer, exchange)));
-                                } else if (body instanceof Flux) {
-                                    final Flux<DataBuffer> fluxBody = Flux.from(body);
-                                    return super.writeWith(fluxBody.publishOn(single())
-                                            .map(buffer -> logResponseBody(buffer, exchange)));
-                                }
-                            }
-                        }
-                        return super.writeWith(body);
-                    }
-                };
+        if (httpLogProperties.isAccessLog()) {
+            return chain.filter(exchange);
+        }
+        RouteLogPolicy policy = routeLogPolicies.of(exchange);
+        boolean debug = debugLogResolver.resolve(exchange);
+        if (policy.isExcluded() && !debug) {
+            return chain.filter(exchange);
+        }
+        GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
+        boolean captureResponse = gatewayContext != null && gatewayContext.getReadResponseData();
+        ServerHttpResponse loggingServerHttpResponseDecorator = new CapturingResponseDecorator(
+                exchange.getResponse(),
+                captureResponse ? Constants.VISIBLE_TYPES : List.of(),
+                policy.maxBodyBytes(httpLogProperties.getResponse().getMaxBodyBytes()),
+                capture -> logResponseBody(capture, exchange));
         return chain.filter(exchange.mutate()
                         .response(loggingServerHttpResponseDecorator)
                         .build())
-                .doOnSuccess(o -> log.debug(
-                        "Request processed successfully for URI: {}",
-                        exchange.getRequest().getURI()))
+                .doOnSuccess(o -> {
+                    if (debug) {
+                        log.info("[debug] Request processed successfully for URI: {}", exchange.getRequest().getURI());
+                    } else {
+                        log.debug("Request processed successfully for URI: {}", exchange.getRequest().getURI());
+                    }
+                })
                 .doOnError(err -> log.error(
                         "Error processing request for URI: {}",
                         exchange.getRequest().getURI(),
                         err))
-                .then(Mono.fromRunnable(() -> logReqResponse(exchange)));
+                .then(Mono.fromRunnable(() -> logReqResponse(exchange, policy, debug)));
     }
 
     /**
@@ -131,85 +157,70 @@ public class HttpLoggingFilter implements WebFilter, Ordered {
      *
      * @param exchange
      *            the current server exchange
+     * @param policy
+     *            the logging policy of the route
+     * @param debug
+     *            whether debug logging is on for the exchange, which is then
+     *            logged in full
      */
-    private void logReqResponse(ServerWebExchange exchange) {
-        if (Constants.EXCLUDE_LOGGING_ENDPOINTS.contains(
-                exchange.getRequest().getPath().toString())) {
+    private void logReqResponse(ServerWebExchange exchange, RouteLogPolicy policy, boolean debug) {
+        boolean enableRequest = debug || httpLogProperties.getRequest().isEnable();
+        boolean enableResponse = debug || httpLogProperties.getResponse().isEnable();
+        if (!enableRequest && !enableResponse) {
             return;
         }
-        boolean enableRequest = httpLogProperties.getRequest().isEnable();
-        boolean enableResponse = httpLogProperties.getResponse().isEnable();
-        if (!enableRequest && !enableResponse) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        boolean failed = status == null || status.isError();
+        if (!debug && !(policy.sample(failed) && loggingGovernor.sample(failed))) {
             return;
         }
-        List<String> logs = new ArrayList<>();
+        AccessLogRecord record = AccessLogFilter.newRecord(exchange.getRequest());
+        if (!debug && !(policy.keepHeaders() && loggingGovernor.keepHeaders())) {
+            record.setHeaders(null);
+        }
+        GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
         if (enableRequest) {
-            logRequest(exchange, logs);
+            record.setRequestBody(requestBody(exchange, gatewayContext));
         }
         if (enableResponse) {
-            logResponse(exchange, logs);
+            record.setStatus(status != null ? status.value() : null);
+            if (gatewayContext != null && gatewayContext.getReadResponseData()) {
+                Object responseBody = gatewayContext.getResponseBody();
+                String body = TruncateUtils.truncateBody(
+                        responseBody instanceof String text ? jsonRedactor.redact(text) : responseBody);
+                record.setResponseBody(TruncateUtils.truncate(body, MAX_BYTE));
+            }
         }
-        log.info(String.join(" | ", logs));
+        log.info(accessLogFormatter.format(record));
         log.info("Execute: {} | {}ms", exchange.getRequest().getPath(), takeDuration(exchange));
     }
 
     /**
-     * Logs the HTTP request details.
+     * Returns the request body kept by the {@link GatewayContextFilter}.
      *
      * @param exchange
      *            the current server exchange
-     * @param logs
-     *            the list of log messages
+     * @param gatewayContext
+     *            the context of the request, may be {@code null}
+     * @return the truncated JSON or form body, or {@code null}
      */
-    private void logRequest(ServerWebExchange exchange, List<String> logs) {
-        ServerHttpRequest request = exchange.getRequest();
-        URI requestURI = request.getURI();
-        HttpHeaders headers = request.getHeaders();
-        if (requestURI.getPath().startsWith("/")) {
-            logs.add(String.format("%s", requestURI.getPath().substring(1)));
-        } else {
-            logs.add(String.format("%s", requestURI.getPath()));
-        }
-        logs.add(String.format("%s", request.getMethod()));
-        logs.add(String.format("%s", RequestUtils.getIpAddress(request)));
-        logs.add(String.format("%s", requestURI.getHost()));
-
-        var logHeader = new StringBuilder();
-        headers.forEach((key, value) -> logHeader.append(String.format("{%s:%s}", key, value)));
-        if (!logHeader.isEmpty()) {
-            logs.add(String.format("%s", logHeader));
-        }
-
-        GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
-        if (gatewayContext != null && !gatewayContext.getReadRequestData()) {
-            log.debug("[RequestLogFilter]Properties Set Not To Read Request Data");
-            return;
-        }
-        MultiValueMap<String, String> queryParams = request.getQueryParams();
-        if (!queryParams.isEmpty()) {
-            var logQuery = new StringBuilder();
-            queryParams.forEach((key, value) -> logQuery.append(String.format("{%s:%s}", key, value)));
-            logs.add(String.format("%s", logQuery));
-        } else {
-            logs.add("-");
+    private String requestBody(ServerWebExchange exchange, GatewayContext gatewayContext) {
+        if (gatewayContext == null || !gatewayContext.getReadRequestData()) {
+            return null;
         }
+        HttpHeaders headers = exchange.getRequest().getHeaders();
         MediaType contentType = headers.getContentType();
-        long length = headers.getContentLength();
-        String requestBody;
-        if (length > 0 && contentType != null && gatewayContext != null) {
-            if (contentType.includes(MediaType.APPLICATION_JSON) && gatewayContext.getRequestBody() != null) {
-                requestBody = TruncateUtils.truncateBody(gatewayContext.getRequestBody());
-                logs.add(String.format("%s", TruncateUtils.truncate(requestBody, MAX_BYTE)));
-            } else if (contentType.includes(MediaType.APPLICATION_FORM_URLENCODED)
-                    && gatewayContext.getFormData() != null) {
-                requestBody = TruncateUtils.truncateBody(gatewayContext.getFormData());
-                logs.add(String.format("%s", TruncateUtils.truncate(requestBody, MAX_BYTE)));
-            } else {
-                logs.add("-");
-            }
-        } else {
-            logs.add("-");
+        if (headers.getContentLength() <= 0 || contentType == null) {
+            return null;
+        }
+        String requestBody = null;
+        if (contentType.includes(MediaType.APPLICATION_JSON) && gatewayContext.getRequestBody() != null) {
+            requestBody = TruncateUtils.truncateBody(jsonRedactor.redact(gatewayContext.getRequestBody()));
+        } else if (contentType.includes(MediaType.APPLICATION_FORM_URLENCODED)
+                && gatewayContext.getFormData() != null) {
+            requestBody = jsonRedactor.redact(TruncateUtils.truncateBody(gatewayContext.getFormData()));
         }
+        return requestBody != null ? TruncateUtils.truncate(requestBody, MAX_BYTE) : null;
     }
 
     /**
@@ -228,87 +239,17 @@ public class HttpLoggingFilter implements WebFilter, Ordered {
     }
 
     /**
-     * Logs the HTTP response details.
-     *
-     * @param exchange
-     *            the current server exchange
-     * @param logs
-     *            the list of log messages
-     */
-    private void logResponse(ServerWebExchange exchange, List<String> logs) {
-        ServerHttpResponse response = exchange.getResponse();
-        logs.add(String.format(
-                "%s",
-                response.getStatusCode() != null ? response.getStatusCode().value() : "No Status"));
-        GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
-        if (gatewayContext != null && gatewayContext.getReadResponseData()) {
-            String body = TruncateUtils.truncateBody(gatewayContext.getResponseBody());
-            logs.add(String.format("%s", TruncateUtils.truncate(body, MAX_BYTE)));
-        }
-    }
-
-    /**
-     * Logs the HTTP response body.
+     * Keeps the captured HTTP response body for the log line.
      *
-     * @param buffer
-     *            the data buffer containing the response body
+     * @param capture
+     *            the first bytes of the response body
      * @param exchange
      *            the current server exchange
-     * @return the data buffer
      */
-    private DataBuffer logResponseBody(DataBuffer buffer, ServerWebExchange exchange) {
-        StringBuilder msg = new StringBuilder();
-        Integer capacity = buffer.capacity();
-        if (capacity < Constants.LoggingTitle.BODY_SIZE_RESPONSE_MAX) {
-            msg.append(String.format("%s", StandardCharsets.UTF_8.decode(buffer.asByteBuffer())));
-        } else {
-            msg.append(String.format("%s", "response too log to log"));
-        }
+    private void logResponseBody(BodyCapture capture, ServerWebExchange exchange) {
         GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
         if (gatewayContext != null) {
-            gatewayContext.setResponseBody(msg);
+            gatewayContext.setResponseBody(capture.asString());
         }
-        return buffer;
-    }
-
-    /**
-     * Logs the HTTP request body.
-     *
-     * @param dataBuffer
-     *            the data buffer containing the request body
-     * @param prefix
-     *            the prefix to be added to the log message
-     * @param msg
-     *            the StringBuilder to append the log message to
-     */
-    private void logRequestBody(DataBuffer dataBuffer, String prefix, StringBuilder msg) {
-        msg.append(Constants.LoggingTitle.REQUEST_BODY);
-        String message = "body request too long to log";
-        try {
-            Integer capacity = dataBuffer.capacity();
-            if (capacity < Constants.LoggingTitle.BODY_SIZE_REQUEST_MAX) {
-                message = StandardCharsets.UTF_8
-                        .decode(dataBuffer.asByteBuffer())
-                        .toString()
-                        .replaceAll("\\s", "");
-            }
-        } catch (Exception ex) {
-            log.error("Convert body request to string error ", ex);
-        }
-        msg.append(String.format("%s %s", prefix, message)).append("\n");
-    }
-
-    /**
-     * Truncates the body of the message list.
-     *
-     * @param messageList
-     *            the list of messages to be truncated
-     * @return the truncated body as a string
-     */
-    private String truncateBody(List<String> messageList) {
-        StringBuilder response = new StringBuilder();
-        messageList.forEach(item ->
-                response.append(TruncateUtils.truncateBody(item, MAX_BYTE)).append(","));
-        return response.toString();
     }
 }
@@ -15,49 +15,63 @@
  */
 package com.reactify.filter.http;
 
-import brave.Span;
-import brave.Tracer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reactify.DataUtil;
-import com.reactify.RequestUtils;
+import com.reactify.ObjectMapperFactory;
 import com.reactify.TruncateUtils;
 import com.reactify.constants.CommonConstant;
+import com.reactify.constants.Constants;
+import com.reactify.filter.properties.HttpLogProperties;
+import com.reactify.logging.AccessLogRecord;
 import com.reactify.logging.GatewayContext;
-import java.net.URI;
-import java.util.ArrayList;
+import com.reactify.metrics.LatencyHistogramRegistry;
+import com.reactify.redaction.JsonRedactor;
+import com.reactify.sampling.DebugLogResolver;
+import com.reactify.sampling.LoggingGovernor;
+import com.reactify.sampling.PerfLogSampler;
+import com.reactify.sampling.RouteLogPolicies;
+import com.reactify.sampling.RouteLogPolicy;
+import com.reactify.tracing.MdcScope;
+import com.reactify.tracing.TraceIds;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerHttpObservationDocumentation;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationConvention;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
-import reactor.util.context.Context;
+import reactor.core.publisher.SignalType;
 
 /**
  * <p>
  * The <code>PerformanceLogFilter</code> class implements a WebFilter for
  * logging performance metrics of HTTP requests and responses in a Spring
- * WebFlux application. It utilizes the Sleuth Tracer for distributed tracing
- * and provides detailed logs for request processing times, statuses, and
- * headers while ensuring sensitive data is truncated for security.
+ * WebFlux application. It starts a server observation (and therefore a span)
+ * for every request and provides detailed logs for request processing times,
+ * statuses, and headers while ensuring sensitive data is truncated for
+ * security.
  * <p>
  * This filter is designed to log performance metrics selectively based on the
  * application profile (e.g., excluding certain details in production) and to
  * handle logging for both requests and responses, including any errors that
- * occur during request processing.
+ * occur during request processing. Exchanges selected by the
+ * {@link DebugLogResolver} are logged in full, in production too.
  * </p>
  *
  * <p>
@@ -66,7 +80,12 @@ import reactor.util.context.Context;
  * <li>Measuring and logging the time taken to process requests.</li>
  * <li>Logging request and response details, including headers and bodies, with
  * truncation for safety.</li>
- * <li>Integrating with Sleuth for distributed tracing.</li>
+ * <li>Starting the server observation of the request, unless the web handler
+ * already observes it, and propagating it through the Reactor context.</li>
+ * <li>Putting the trace ID, msisdn and request ID of the request in the Reactor
+ * context for {@link MdcScope}. They are set in the MDC only while the lines of
+ * this filter are written, so they never leak to the next request of the
+ * thread.</li>
  * </ul>
  *
  * <p>
@@ -80,23 +99,71 @@ import reactor.util.context.Context;
 @Component
 public class PerformanceLogFilter implements WebFilter, Ordered {
 
-    private final Tracer tracer;
+    private static final ServerRequestObservationConvention DEFAULT_CONVENTION =
+            new DefaultServerRequestObservationConvention();
+    private final ObservationRegistry observationRegistry;
     private static final Logger logPerf = LoggerFactory.getLogger("perfLogger");
     private static final Logger reqResLog = LoggerFactory.getLogger("reqResLogger");
     private static final int MAX_BYTE = 800; // Max byte allow to print
-    private final Environment environment;
+    /** whether the prod profile is active, request and response lines are then not logged */
+    private final boolean production;
+    private final PerfLogSampler perfLogSampler;
+    private final LatencyHistogramRegistry latencyHistogramRegistry;
+    private final HttpLogProperties httpLogProperties;
+    private final AccessLogFormatter accessLogFormatter;
+    private final JsonRedactor jsonRedactor;
+    private final LoggingGovernor loggingGovernor;
+    private final DebugLogResolver debugLogResolver;
+    private final RouteLogPolicies routeLogPolicies;
 
     /**
      * Constructs a new instance of {@code PerformanceLogFilter}.
      *
-     * @param tracer
-     *            the tracer used for tracing operations.
+     * @param observationRegistry
+     *            the registry of the server observations, a no-op registry is
+     *            used when none is available.
      * @param environment
      *            the environment information for the application.
+     * @param perfLogSampler
+     *            the sampler deciding which performance records are logged.
+     * @param latencyHistogramRegistry
+     *            the registry recording the latency of every route.
+     * @param httpLogProperties
+     *            the properties telling whether the unified access log replaces
+     *            the log lines of this filter.
+     * @param accessLogFormatter
+     *            the formatter laying out the request and response line.
+     * @param jsonRedactor
+     *            the redactor masking sensitive values of the bodies.
+     * @param loggingGovernor
+     *            the governor choosing the detail of the request and response
+     *            line.
+     * @param debugLogResolver
+     *            the resolver selecting the exchanges logged in full.
+     * @param routeLogPolicies
+     *            the logging policies of the routes.
      */
-    public PerformanceLogFilter(Tracer tracer, Environment environment) {
-        this.tracer = tracer;
-        this.environment = environment;
+    public PerformanceLogFilter(
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            Environment environment,
+            PerfLogSampler perfLogSampler,
+            LatencyHistogramRegistry latencyHistogramRegistry,
+            HttpLogProperties httpLogProperties,
+            AccessLogFormatter accessLogFormatter,
+            JsonRedactor jsonRedactor,
+            LoggingGovernor loggingGovernor,
+            DebugLogResolver debugLogResolver,
+            RouteLogPolicies routeLogPolicies) {
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        this.production = List.of(environment.getActiveProfiles()).contains("prod");
+        this.perfLogSampler = perfLogSampler;
+        this.latencyHistogramRegistry = latencyHistogramRegistry;
+        this.httpLogProperties = httpLogProperties;
+        this.accessLogFormatter = accessLogFormatter;
+        this.jsonRedactor = jsonRedactor;
+        this.loggingGovernor = loggingGovernor;
+        this.debugLogResolver = debugLogResolver;
+        this.routeLogPolicies = routeLogPolicies;
     }
 
     /**
@@ -107,64 +174,95 @@ public class PerformanceLogFilter implements WebFilter, Ordered {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         String name =
                 exchange.getRequest().getPath().pathWithinApplication().value().substring(1);
-        Span newSpan = tracer.nextSpan().name(name);
 
-        if (exchange.getRequest().getPath().pathWithinApplication().value().contains("actuator"))
+        RouteLogPolicy policy = routeLogPolicies.of(exchange);
+        if (policy.isExcluded() && !debugLogResolver.resolve(exchange)) {
             return chain.filter(exchange);
+        }
+        ServerRequestObservationContext current = ServerRequestObservationContext.findCurrent(
+                        exchange.getAttributes())
+                .orElse(null);
+        ServerRequestObservationContext observationContext = current != null
+                ? current
+                : new ServerRequestObservationContext(
+                        exchange.getRequest(), exchange.getResponse(), exchange.getAttributes());
+        Observation observation = current != null ? null : startObservation(exchange, observationContext);
+        String msisdn = exchange.getAttribute(CommonConstant.MSISDN_TOKEN);
+        String requestId = exchange.getRequest().getHeaders().getFirst("Request-Id");
         return chain.filter(exchange)
-                .doOnSuccess(o -> logPerf(exchange, newSpan, name, startMillis, "Success", null))
-                .doOnError(o -> logPerf(exchange, newSpan, name, startMillis, "Failed", o))
-                .contextWrite(context -> {
-                    setTraceIdFromContext(newSpan.context().traceIdString());
-                    return context;
+                .doOnSuccess(o -> logPerf(exchange, observationContext, name, startMillis, "Success", null))
+                .doOnError(o -> logPerf(exchange, observationContext, name, startMillis, "Failed", o))
+                .doFinally(signal -> {
+                    latencyHistogramRegistry.recordRoute(routeOf(exchange), System.nanoTime() - startNanos);
+                    stopObservation(observation, observationContext, signal);
                 })
+                .contextWrite(context ->
+                        observation != null ? context.put(ObservationThreadLocalAccessor.KEY, observation) : context)
+                .contextWrite(context -> MdcScope.write(context, TraceIds.of(observationContext), msisdn, requestId))
                 .then(Mono.fromRunnable(() -> {
-                    if (!List.of(environment.getActiveProfiles()).contains("prod")) {
-                        this.logReqResponse(exchange);
+                    if (httpLogProperties.isAccessLog()) {
+                        return;
+                    }
+                    boolean debug = debugLogResolver.resolve(exchange);
+                    if (debug || !production) {
+                        try (MdcScope ignored = openMdc(exchange, observationContext)) {
+                            this.logReqResponse(exchange, policy, debug);
+                        }
                     }
                 }));
     }
 
     /**
-     * Logs the performance metrics of the request.
+     * Starts the server observation of the exchange, its span is a child of the
+     * trace context extracted from the request headers.
      *
      * @param exchange
      *            the current ServerWebExchange
-     * @param newSpan
-     *            the Span associated with the request
-     * @param name
-     *            the name of the request
-     * @param start
-     *            the start time in milliseconds
-     * @param result
-     *            the result status (Success or Failed)
-     * @param o
-     *            the Throwable if an error occurred
+     * @param observationContext
+     *            the context of the observation
+     * @return the started {@link Observation}
      */
-    private void logPerf(
-            ServerWebExchange exchange, Span newSpan, String name, Long start, String result, Throwable o) {
-        newSpan.finish();
-        long duration = System.currentTimeMillis() - start;
-        if (duration < 50 || name.equals("health")) return;
-
-        setTraceIdInMDC(newSpan.context().traceIdString());
-        String msisdn = exchange.getAttribute(CommonConstant.MSISDN_TOKEN);
-        MDC.put(CommonConstant.MSISDN_TOKEN, !DataUtil.isNullOrEmpty(msisdn) ? msisdn : "-");
-        String requestId = exchange.getRequest().getHeaders().getFirst("Request-Id");
-        MDC.put(CommonConstant.REQUEST_ID, !DataUtil.isNullOrEmpty(requestId) ? requestId : "-");
+    private Observation startObservation(
+            ServerWebExchange exchange, ServerRequestObservationContext observationContext) {
+        exchange.getAttributes()
+                .put(ServerRequestObservationContext.CURRENT_OBSERVATION_CONTEXT_ATTRIBUTE, observationContext);
+        return ServerHttpObservationDocumentation.HTTP_REACTIVE_SERVER_REQUESTS
+                .observation(null, DEFAULT_CONVENTION, () -> observationContext, observationRegistry)
+                .start();
+    }
 
-        logPerf.info("{} {} {} A2 {}", name, duration, result, o == null ? "-" : o.getMessage());
+    /**
+     * Stops the server observation of the exchange, if this filter started it.
+     *
+     * @param observation
+     *            the observation, {@code null} if the web handler observes the
+     *            exchange
+     * @param observationContext
+     *            the context of the observation
+     * @param signal
+     *            the terminal signal of the exchange
+     */
+    private void stopObservation(
+            Observation observation, ServerRequestObservationContext observationContext, SignalType signal) {
+        if (observation == null) {
+            return;
+        }
+        if (signal == SignalType.CANCEL) {
+            observationContext.setConnectionAborted(true);
+        }
+        observation.stop();
     }
 
     /**
      * Logs the performance metrics of the request.
      *
-     * @param contextRef
+     * @param exchange
      *            the current ServerWebExchange
-     * @param newSpan
-     *            the Span associated with the request
+     * @param observationContext
+     *            the context of the server observation of the request
      * @param name
      *            the name of the request
      * @param start
@@ -175,151 +273,140 @@ public class PerformanceLogFilter implements WebFilter, Ordered {
      *            the Throwable if an error occurred
      */
     private void logPerf(
-            AtomicReference<Context> contextRef, Span newSpan, String name, Long start, String result, Throwable o) {
-        newSpan.finish();
+            ServerWebExchange exchange,
+            Observation.Context observationContext,
+            String name,
+            Long start,
+            String result,
+            Throwable o) {
+        if (o != null) {
+            observationContext.setError(o);
+        }
+        if (httpLogProperties.isAccessLog()) {
+            return;
+        }
         long duration = System.currentTimeMillis() - start;
-        if (duration < 50 || "health".equals(name)) return;
+        if (!perfLogSampler.shouldLog(name, duration, o != null) && !debugLogResolver.resolve(exchange)) return;
 
-        setTraceIdInMDC(newSpan.context().traceIdString());
-        if (contextRef.get() != null) {
-            Context context = contextRef.get();
-            if (context.hasKey(CommonConstant.MSISDN_TOKEN))
-                MDC.put(CommonConstant.MSISDN_TOKEN, contextRef.get().get(CommonConstant.MSISDN_TOKEN));
-            else MDC.put(CommonConstant.MSISDN_TOKEN, "-");
+        try (MdcScope ignored = openMdc(exchange, observationContext)) {
+            logPerf.info("{} {} {} A2 {}", name, duration, result, o == null ? "-" : o.getMessage());
         }
-
-        logPerf.info("{} {} {} A2 {}", name, duration, result, o == null ? "-" : o.getMessage());
     }
 
     /**
-     * Logs the request and response details.
+     * Sets the trace ID, msisdn and request ID of the exchange in the MDC, for the
+     * lines written by this filter only.
      *
      * @param exchange
      *            the current ServerWebExchange
+     * @param observationContext
+     *            the context of the server observation of the request
+     * @return the scope to close once the lines are written
      */
-    private void logReqResponse(ServerWebExchange exchange) {
-        List<String> logs = new ArrayList<>();
-        logRequest(exchange, logs);
-        logResponse(exchange, logs);
-        reqResLog.info(String.join(" | ", logs));
+    private MdcScope openMdc(ServerWebExchange exchange, Observation.Context observationContext) {
+        String msisdn = exchange.getAttribute(CommonConstant.MSISDN_TOKEN);
+        String requestId = exchange.getRequest().getHeaders().getFirst("Request-Id");
+        return MdcScope.open(
+                TraceIds.of(observationContext),
+                !DataUtil.isNullOrEmpty(msisdn) ? msisdn : "-",
+                !DataUtil.isNullOrEmpty(requestId) ? requestId : "-");
     }
 
     /**
-     * Logs the details of the HTTP request.
+     * Logs the request and response details.
      *
      * @param exchange
      *            the current ServerWebExchange
-     * @param logs
-     *            the list to collect log messages
+     * @param policy
+     *            the logging policy of the route
+     * @param debug
+     *            whether debug logging is on for the exchange, which is then
+     *            logged in full
      */
-    private void logRequest(ServerWebExchange exchange, List<String> logs) {
-        ServerHttpRequest request = exchange.getRequest();
-        URI requestURI = request.getURI();
-        HttpHeaders headers = request.getHeaders();
-
-        if (requestURI.getPath().startsWith("/"))
-            logs.add(String.format("%s", requestURI.getPath().substring(1)));
-        else logs.add(String.format("%s", requestURI.getPath()));
-        logs.add(String.format("%s", request.getMethod()));
-        logs.add(String.format("%s", RequestUtils.getIpAddress(request)));
-        logs.add(String.format("%s", requestURI.getHost()));
-
-        var logHeader = new StringBuilder();
-        headers.forEach((key, value) -> logHeader.append(String.format("{%s:%s}", key, value)));
-        if (!logHeader.isEmpty()) {
-            logs.add(String.format("%s", logHeader));
+    private void logReqResponse(ServerWebExchange exchange, RouteLogPolicy policy, boolean debug) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        boolean failed = status == null || status.isError();
+        if (!debug && !(policy.sample(failed) && loggingGovernor.sample(failed))) {
+            return;
+        }
+        AccessLogRecord record = AccessLogFilter.newRecord(exchange.getRequest());
+        if (!debug && !(policy.keepHeaders() && loggingGovernor.keepHeaders())) {
+            record.setHeaders(null);
         }
-
         GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
-        if (gatewayContext != null && !gatewayContext.getReadRequestData()) {
-            reqResLog.debug("[RequestLogFilter]Properties Set Not To Read Request Data");
-            return;
+        if (gatewayContext == null || gatewayContext.getReadRequestData()) {
+            record.setRequestBody(requestBody(exchange, gatewayContext));
         }
-        MultiValueMap<String, String> queryParams = request.getQueryParams();
-        if (!queryParams.isEmpty()) {
-            var logQuery = new StringBuilder();
-            queryParams.forEach((key, value) -> logQuery.append(String.format("{%s:%s}", key, value)));
-            logs.add(String.format("%s", logQuery));
-        } else {
-            logs.add("-");
+        record.setStatus(status != null ? status.value() : null);
+        if (gatewayContext != null && gatewayContext.getReadResponseData()) {
+            record.setResponseBody(truncateBody(gatewayContext.getResponseBody()));
         }
+        reqResLog.info(accessLogFormatter.format(record));
+    }
 
+    /**
+     * Returns the request body kept by the {@link GatewayContextFilter}.
+     *
+     * @param exchange
+     *            the current ServerWebExchange
+     * @param gatewayContext
+     *            the context of the request, may be {@code null}
+     * @return the truncated JSON or form body, or {@code null}
+     */
+    private String requestBody(ServerWebExchange exchange, GatewayContext gatewayContext) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
         MediaType contentType = headers.getContentType();
-        long length = headers.getContentLength();
-        if (length > 0 && contentType != null) {
-            if (!DataUtil.isNullOrEmpty(gatewayContext)) {
-                if (contentType.includes(MediaType.APPLICATION_JSON)) {
-                    String requestBody = gatewayContext.getRequestBody();
-                    logs.add(String.format("%s", TruncateUtils.truncateBody(requestBody, MAX_BYTE)));
-                } else if (contentType.includes(MediaType.APPLICATION_FORM_URLENCODED)) {
-                    MultiValueMap<String, String> formData = gatewayContext.getFormData();
-                    logs.add(String.format("%s", truncateBody(formData)));
-                } else {
-                    logs.add("-");
-                }
-            }
-        } else {
-            logs.add("-");
+        if (gatewayContext == null || headers.getContentLength() <= 0 || contentType == null) {
+            return null;
+        }
+        if (contentType.includes(MediaType.APPLICATION_JSON)) {
+            String requestBody = jsonRedactor.redact(gatewayContext.getRequestBody());
+            return requestBody != null ? TruncateUtils.truncateBody(requestBody, MAX_BYTE) : null;
         }
+        if (contentType.includes(MediaType.APPLICATION_FORM_URLENCODED) && gatewayContext.getFormData() != null) {
+            return truncateBody(gatewayContext.getFormData());
+        }
+        return null;
     }
 
     /**
      * Truncates the body of a form data for logging.
      *
      * @param formData
-     *            the MultiValueMap of form data
-     * @return a truncated string representation of the form data
+     *            the MultiValueMap of form data, may be {@code null} when the
+     *            handler never read the body
+     * @return a truncated string representation of the form data, or
+     *         {@code null}
      */
     private String truncateBody(MultiValueMap<String, String> formData) {
+        if (formData == null) {
+            return null;
+        }
         StringBuilder messageResponse = new StringBuilder();
-        Set<String> keys = formData.keySet();
-        for (String key : keys) {
-            messageResponse.append(key).append(":").append(truncateBody(formData.get(key)));
+        for (Map.Entry<String, List<String>> entry : formData.entrySet()) {
+            messageResponse.append(entry.getKey()).append(":");
+            if (jsonRedactor.isSensitiveField(entry.getKey())) {
+                messageResponse.append(jsonRedactor.getMask()).append(",");
+                continue;
+            }
+            for (String item : entry.getValue()) {
+                messageResponse.append(TruncateUtils.truncateBody(item, 200)).append(",");
+            }
         }
         return messageResponse.toString();
     }
 
     /**
-     * Truncates the body of a list of messages for logging.
-     *
-     * @param messageList
-     *            the list of messages
-     * @return a truncated string representation of the messages
-     */
-    private String truncateBody(List<String> messageList) {
-        StringBuilder response = new StringBuilder();
-        messageList.forEach(
-                item -> response.append(TruncateUtils.truncateBody(item, 200)).append(","));
-        return response.toString();
-    }
-
-    /**
-     * Logs the response details excluding the response body.
+     * Serializes the response body for logging.
      *
-     * @param exchange
-     *            the current ServerWebExchange
-     * @param logs
-     *            the list to collect log messages
-     */
-    private void logResponse(ServerWebExchange exchange, List<String> logs) {
-        ServerHttpResponse response = exchange.getResponse();
-        logs.add(String.format(
-                "%s", Objects.requireNonNull(response.getStatusCode()).value()));
-        GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
-        if (gatewayContext != null && gatewayContext.getReadResponseData()) {
-            logs.add(String.format("%s", truncateBody(gatewayContext.getResponseBody())));
-        }
-    }
-
-    /**
-     * Returns the order value of this filter.
-     *
-     * @return the order value
+     * @param responseBody
+     *            the response body
+     * @return the serialized response body
      */
     private String truncateBody(Object responseBody) {
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            return objectMapper.writeValueAsString(responseBody);
+            return ObjectMapperFactory.getInstance()
+                    .writeValueAsString(responseBody instanceof String text ? jsonRedactor.redact(text) : responseBody);
         } catch (Exception e) {
             reqResLog.error("Exception when parse response to string, ignore response", e);
             return "Truncated and remove if has exception";
@@ -327,25 +414,18 @@ public class PerformanceLogFilter implements WebFilter, Ordered {
     }
 
     /**
-     * Sets the trace ID in the MDC for logging.
+     * Returns the route pattern matched by the exchange, so that paths with
+     * variables share a single histogram. Requests matching no pattern share the
+     * {@link Constants#UNMATCHED_ROUTE} histogram, so that 404s and scanners do
+     * not use up the keys of the registry.
      *
-     * @param traceId
-     *            the trace ID to set
-     */
-    private void setTraceIdInMDC(String traceId) {
-        if (!DataUtil.isNullOrEmpty(traceId)) {
-            MDC.put("X-B3-TraceId", traceId);
-        }
-    }
-
-    /**
-     * Sets the trace ID from the context.
-     *
-     * @param traceId
-     *            the trace ID to set
+     * @param exchange
+     *            the current ServerWebExchange
+     * @return the route of the request
      */
-    private void setTraceIdFromContext(String traceId) {
-        setTraceIdInMDC(traceId);
+    private String routeOf(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : Constants.UNMATCHED_ROUTE;
     }
 
     /**
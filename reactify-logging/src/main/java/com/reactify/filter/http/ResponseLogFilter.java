@@ -15,27 +15,21 @@
  */
 package com.reactify.filter.http;
 
-import static reactor.core.scheduler.Schedulers.single;
-
 import com.reactify.DataUtil;
 import com.reactify.LogUtils;
+import com.reactify.filter.properties.HttpLogProperties;
 import com.reactify.logging.GatewayContext;
-import io.netty.buffer.UnpooledByteBufAllocator;
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.client.reactive.ClientHttpResponse;
-import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
@@ -54,9 +48,11 @@ import reactor.core.publisher.Mono;
  * </p>
  *
  * <p>
- * This class utilizes Project Reactor's Mono and Flux to handle the response
- * body in a non-blocking way. It also provides functionality to adapt the
- * response for further processing.
+ * The body is teed through a {@link CapturingResponseDecorator}: buffers are
+ * written unchanged on the calling thread and only their first bytes, up to
+ * {@code application.http-logging.response.max-body-bytes}, are kept for the
+ * log. It also provides functionality to adapt the response for further
+ * processing.
  * </p>
  *
  * <p>
@@ -78,32 +74,16 @@ public class ResponseLogFilter implements WebFilter, Ordered {
             .codecs(cl -> cl.defaultCodecs().maxInMemorySize(50 * 1024 * 1024))
             .build();
 
-    /**
-     * Constructs a new instance of {@code ResponseLogFilter}.
-     */
-    public ResponseLogFilter() {}
+    private final HttpLogProperties httpLogProperties;
 
     /**
-     * Converts an InputStream to a byte array.
+     * Constructs a new instance of {@code ResponseLogFilter}.
      *
-     * @param inStream
-     *            the InputStream to be converted
-     * @return byte array containing the data from the InputStream
+     * @param httpLogProperties
+     *            the properties bounding the captured response body.
      */
-    private static byte[] toByteArray(InputStream inStream) {
-        ByteArrayOutputStream swapStream = new ByteArrayOutputStream();
-        byte[] buff = new byte[100];
-        int rc;
-        byte[] in_b = new byte[] {};
-        try {
-            while ((rc = inStream.read(buff, 0, 100)) > 0) {
-                swapStream.write(buff, 0, rc);
-            }
-            in_b = swapStream.toByteArray();
-        } catch (Exception ignore) {
-
-        }
-        return in_b;
+    public ResponseLogFilter(HttpLogProperties httpLogProperties) {
+        this.httpLogProperties = httpLogProperties;
     }
 
     /**
@@ -114,57 +94,35 @@ public class ResponseLogFilter implements WebFilter, Ordered {
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (httpLogProperties.isAccessLog()) {
+            return chain.filter(exchange);
+        }
         GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
         if (gatewayContext != null && !gatewayContext.getReadResponseData()) {
             log.debug("[ResponseLogFilter]Properties Set Not To Read Response Data");
             return chain.filter(exchange);
         }
-        ServerHttpResponseDecorator responseDecorator = new ServerHttpResponseDecorator(exchange.getResponse()) {
-            @Override
-            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-                final MediaType contentType = super.getHeaders().getContentType();
-                if (LogUtils.legalLogMediaTypes.contains(contentType)) {
-                    if (body instanceof Mono) {
-                        final Mono<DataBuffer> monoBody = Mono.from(body);
-                        return super.writeWith(
-                                monoBody.publishOn(single()).map(buffer -> logRequestBody(buffer, exchange)));
-                    } else if (body instanceof Flux) {
-                        final Flux<DataBuffer> monoBody = Flux.from(body);
-                        return super.writeWith(
-                                monoBody.publishOn(single()).map(buffer -> logRequestBody(buffer, exchange)));
-                    }
-                }
-                return super.writeWith(body);
-            }
-
-            @Override
-            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
-                return writeWith(Flux.from(body).flatMapSequential(p -> p));
-            }
-        };
+        ServerHttpResponse responseDecorator = new CapturingResponseDecorator(
+                exchange.getResponse(),
+                LogUtils.legalLogMediaTypes,
+                httpLogProperties.getResponse().getMaxBodyBytes(),
+                capture -> logResponseBody(capture, exchange));
         return chain.filter(exchange.mutate().response(responseDecorator).build());
     }
 
     /**
-     * Logs the response body by converting it to a byte array and setting it in the
-     * GatewayContext.
+     * Keeps the captured response body in the GatewayContext.
      *
-     * @param buffer
-     *            the DataBuffer containing the response body
+     * @param capture
+     *            the first bytes of the response body
      * @param exchange
      *            the current server exchange
-     * @return a wrapped DataBuffer containing the logged response body
      */
-    private DataBuffer logRequestBody(DataBuffer buffer, ServerWebExchange exchange) {
-        InputStream dataBuffer = buffer.asInputStream();
-        byte[] bytes = toByteArray(dataBuffer);
-        NettyDataBufferFactory nettyDataBufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+    private void logResponseBody(BodyCapture capture, ServerWebExchange exchange) {
         GatewayContext gatewayContext = exchange.getAttribute(GatewayContext.CACHE_GATEWAY_CONTEXT);
         if (!DataUtil.isNullOrEmpty(gatewayContext)) {
-            gatewayContext.setResponseBody(new String(bytes));
+            gatewayContext.setResponseBody(capture.asString());
         }
-        DataBufferUtils.release(buffer);
-        return nettyDataBufferFactory.wrap(bytes);
     }
 
     /**
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The AccessLogProperties class holds the layout of the HTTP log lines written
+ * by {@link com.reactify.filter.http.AccessLogFilter},
+ * {@link com.reactify.filter.http.HttpLoggingFilter} and
+ * {@link com.reactify.filter.http.PerformanceLogFilter}. The pattern and the
+ * header lists are compiled once at startup by
+ * {@link com.reactify.filter.http.AccessLogFormatter}.
+ * </p>
+ *
+ * <p>
+ * The pattern is made of literal text and {@code %{field}} placeholders, where
+ * {@code field} is one of {@code startTime}, {@code duration},
+ * {@code traceId}, {@code requestId}, {@code method}, {@code path},
+ * {@code route}, {@code query}, {@code clientIp}, {@code host},
+ * {@code headers}, {@code requestBody}, {@code status},
+ * {@code responseBody} or {@code error}; {@code %%} writes a single
+ * {@code %}. For example:
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   access-log:
+ *     format: text
+ *     pattern: "%{method} %{path} %{status} %{duration}ms"
+ *     exclude-headers: [authorization, cookie]
+ * </pre>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.access-log", ignoreInvalidFields = true)
+public class AccessLogProperties {
+
+    /**
+     * Output of the unified access log.
+     */
+    public enum Format {
+        /** one JSON document per record */
+        JSON,
+        /** one line laid out by the pattern */
+        TEXT
+    }
+
+    /** output of the records written by the access-log filter */
+    private Format format = Format.JSON;
+
+    /** layout of the text log lines */
+    private String pattern = "%{path} | %{method} | %{clientIp} | %{host} | %{headers} | %{query} | %{requestBody}"
+            + " | %{status} | %{responseBody}";
+
+    /** headers written in the log, case-insensitive; empty means every header */
+    private List<String> includeHeaders = new ArrayList<>();
+
+    /** headers never written in the log, case-insensitive */
+    private List<String> excludeHeaders =
+            new ArrayList<>(List.of("authorization", "proxy-authorization", "cookie", "set-cookie"));
+
+    public AccessLogProperties() {}
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public List<String> getIncludeHeaders() {
+        return includeHeaders;
+    }
+
+    public void setIncludeHeaders(List<String> includeHeaders) {
+        this.includeHeaders = includeHeaders;
+    }
+
+    public List<String> getExcludeHeaders() {
+        return excludeHeaders;
+    }
+
+    public void setExcludeHeaders(List<String> excludeHeaders) {
+        this.excludeHeaders = excludeHeaders;
+    }
+}
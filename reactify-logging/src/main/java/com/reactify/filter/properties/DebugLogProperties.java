@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import com.reactify.logging.DebugLogRule;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The DebugLogProperties class configures request-scoped debug logging: the
+ * exchanges it selects get their bodies captured and their debug output
+ * written, whatever the logger levels and the load, while every other exchange
+ * stays on the cheap path. An exchange is selected either by a signed header or
+ * by a rule, for example:
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   debug-log:
+ *     enable: true
+ *     secret: ${DEBUG_LOG_SECRET}
+ *     rules:
+ *       support-ticket-42:
+ *         user: alice
+ *         route: orders/*
+ * </pre>
+ *
+ * <p>
+ * The header value is {@code <expires>.<signature>}, where {@code expires} is
+ * an epoch second and {@code signature} the base64url encoded HMAC-SHA256 of
+ * {@code expires} with the secret, e.g.
+ * {@code printf %s "$exp" | openssl dgst -sha256 -hmac "$secret" -binary | basenc --base64url}.
+ * The header is ignored when no secret is configured.
+ * </p>
+ *
+ * <p>
+ * The user of a rule is compared with a claim of the bearer token. The token
+ * is decoded but not verified, since the logging filters run before the
+ * security chain: a forged token can only raise the verbosity of its own
+ * request.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.debug-log", ignoreInvalidFields = true)
+public class DebugLogProperties {
+
+    /** whether request-scoped debug logging is available */
+    private boolean enable = false;
+
+    /** name of the signed header */
+    private String header = "X-Debug-Log";
+
+    /** key of the header signatures, the header is ignored when unset */
+    private String secret;
+
+    /** longest validity (s) accepted for a signed header */
+    private long maxTtlSeconds = 3600;
+
+    /** claim of the bearer token compared with the user of the rules */
+    private String userClaim = "preferred_username";
+
+    /** rules keyed by name */
+    private Map<String, DebugLogRule> rules = new LinkedHashMap<>();
+
+    public DebugLogProperties() {}
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public long getMaxTtlSeconds() {
+        return maxTtlSeconds;
+    }
+
+    public void setMaxTtlSeconds(long maxTtlSeconds) {
+        this.maxTtlSeconds = maxTtlSeconds;
+    }
+
+    public String getUserClaim() {
+        return userClaim;
+    }
+
+    public void setUserClaim(String userClaim) {
+        this.userClaim = userClaim;
+    }
+
+    public Map<String, DebugLogRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, DebugLogRule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The FlightRecorderProperties class configures
+ * {@link com.reactify.recorder.FlightRecorder}, which keeps detailed captures
+ * of the latest exchanges in memory and freezes those of failed or slow
+ * exchanges, so that body logging does not have to be enabled for every
+ * request to investigate an incident.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.flight-recorder", ignoreInvalidFields = true)
+public class FlightRecorderProperties {
+
+    /** whether exchanges are recorded */
+    private boolean enable = false;
+
+    /** number of latest exchanges kept, all routes together */
+    private int capacity = 256;
+
+    /** number of latest exchanges kept per route, 0 disables it */
+    private int routeCapacity = 16;
+
+    /** upper bound of routes with their own history */
+    private int maxRoutes = 500;
+
+    /** maximum number of bytes captured per request or response body */
+    private int maxBodyBytes = 2048;
+
+    /** exchanges slower than this duration (ms) are frozen like failed ones */
+    private long slowThresholdMs = 1000;
+
+    /** number of frozen incidents kept */
+    private int incidentCapacity = 32;
+
+    /** whether frozen incidents are also written to the error log */
+    private boolean logIncidents = true;
+
+    /** upper bound of incidents frozen per minute, later ones are only counted */
+    private int maxIncidentsPerMinute = 30;
+
+    public FlightRecorderProperties() {}
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getRouteCapacity() {
+        return routeCapacity;
+    }
+
+    public void setRouteCapacity(int routeCapacity) {
+        this.routeCapacity = routeCapacity;
+    }
+
+    public int getMaxRoutes() {
+        return maxRoutes;
+    }
+
+    public void setMaxRoutes(int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public int getIncidentCapacity() {
+        return incidentCapacity;
+    }
+
+    public void setIncidentCapacity(int incidentCapacity) {
+        this.incidentCapacity = incidentCapacity;
+    }
+
+    public boolean isLogIncidents() {
+        return logIncidents;
+    }
+
+    public void setLogIncidents(boolean logIncidents) {
+        this.logIncidents = logIncidents;
+    }
+
+    public int getMaxIncidentsPerMinute() {
+        return maxIncidentsPerMinute;
+    }
+
+    public void setMaxIncidentsPerMinute(int maxIncidentsPerMinute) {
+        this.maxIncidentsPerMinute = maxIncidentsPerMinute;
+    }
+}
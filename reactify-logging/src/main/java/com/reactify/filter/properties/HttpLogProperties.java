@@ -51,6 +51,13 @@ public class HttpLogProperties {
      */
     private HttpLogResponse response = new HttpLogResponse();
 
+    /**
+     * Whether a single access-log record is written per exchange by
+     * {@link com.reactify.filter.http.AccessLogFilter} instead of the log lines
+     * of the other HTTP filters.
+     */
+    private boolean accessLog = false;
+
     public HttpLogProperties() {}
 
     public HttpLogProperties(HttpLogRequest request, HttpLogResponse response) {
@@ -73,4 +80,12 @@ public class HttpLogProperties {
     public void setResponse(HttpLogResponse response) {
         this.response = response;
     }
+
+    public boolean isAccessLog() {
+        return accessLog;
+    }
+
+    public void setAccessLog(boolean accessLog) {
+        this.accessLog = accessLog;
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The LatencyHistogramProperties class holds the configuration of the
+ * in-process latency histograms recorded per method by
+ * {@link com.reactify.LoggerAspectUtils} and per route by
+ * {@link com.reactify.filter.http.PerformanceLogFilter}.
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   latency-histogram:
+ *     window-ms: 60000
+ *     percentiles: 0.5, 0.99, 0.999
+ *     slo-ms: 50, 100, 500
+ * </pre>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.latency-histogram", ignoreInvalidFields = true)
+public class LatencyHistogramProperties {
+
+    /** whether latencies are recorded at all */
+    private boolean enable = true;
+
+    /** number of significant value digits kept by the histograms (0 - 5) */
+    private int significantDigits = 2;
+
+    /** length (ms) of the window the exported percentiles are computed on */
+    private long windowMs = 60000;
+
+    /** upper bound of tracked methods and routes, new keys are ignored above it */
+    private int maxKeys = 2000;
+
+    /** percentiles (0 - 1) exported to Micrometer */
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.9, 0.99, 0.999));
+
+    /** service level objectives (ms) exported to Micrometer as cumulative buckets */
+    private List<Long> sloMs = new ArrayList<>(List.of(50L, 100L, 250L, 500L, 1000L));
+
+    public LatencyHistogramProperties() {}
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    public void setSignificantDigits(int significantDigits) {
+        this.significantDigits = significantDigits;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public List<Long> getSloMs() {
+        return sloMs;
+    }
+
+    public void setSloMs(List<Long> sloMs) {
+        this.sloMs = sloMs;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The LoggingGovernorProperties class configures
+ * {@link com.reactify.sampling.LoggingGovernor}. Each list holds up to three
+ * thresholds: reaching the first one steps the logs down to
+ * {@code HEADERS}, the second one to {@code SUMMARY} and the third one to
+ * {@code SAMPLED}. The detail is restored one level at a time once every
+ * signal stays below {@code recoverRatio} times its threshold for
+ * {@code recoverAfter} consecutive evaluations.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.logging-governor", ignoreInvalidFields = true)
+public class LoggingGovernorProperties {
+
+    /** whether the detail of the logs follows the load */
+    private boolean enable = true;
+
+    /** minimum delay (ms) between two evaluations of the load */
+    private long intervalMs = 1000;
+
+    /** fill ratios (0 - 1) of the log queues */
+    private List<Double> queueThresholds = new ArrayList<>(List.of(0.5, 0.75, 0.9));
+
+    /** delays (ms) pending records have been waiting for a drain */
+    private List<Long> drainLagThresholdsMs = new ArrayList<>(List.of(10000L, 20000L, 40000L));
+
+    /** process CPU loads (0 - 1) */
+    private List<Double> cpuThresholds = new ArrayList<>(List.of(0.85, 0.92, 0.97));
+
+    /** ratio (0 - 1) of the thresholds below which the load is considered gone */
+    private double recoverRatio = 0.8;
+
+    /** number of calm evaluations before the detail is raised by one level */
+    private int recoverAfter = 5;
+
+    /** ratio (0 - 1) of successful calls still logged at the SAMPLED level */
+    private double sampleRate = 0.01;
+
+    public LoggingGovernorProperties() {}
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public List<Double> getQueueThresholds() {
+        return queueThresholds;
+    }
+
+    public void setQueueThresholds(List<Double> queueThresholds) {
+        this.queueThresholds = queueThresholds;
+    }
+
+    public List<Long> getDrainLagThresholdsMs() {
+        return drainLagThresholdsMs;
+    }
+
+    public void setDrainLagThresholdsMs(List<Long> drainLagThresholdsMs) {
+        this.drainLagThresholdsMs = drainLagThresholdsMs;
+    }
+
+    public List<Double> getCpuThresholds() {
+        return cpuThresholds;
+    }
+
+    public void setCpuThresholds(List<Double> cpuThresholds) {
+        this.cpuThresholds = cpuThresholds;
+    }
+
+    public double getRecoverRatio() {
+        return recoverRatio;
+    }
+
+    public void setRecoverRatio(double recoverRatio) {
+        this.recoverRatio = recoverRatio;
+    }
+
+    public int getRecoverAfter() {
+        return recoverAfter;
+    }
+
+    public void setRecoverAfter(int recoverAfter) {
+        this.recoverAfter = recoverAfter;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import com.reactify.logging.PerfLogRule;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The PerfLogProperties class holds the sampling configuration of the
+ * performance logs written by {@link com.reactify.LoggerAspectUtils} and
+ * {@link com.reactify.filter.http.PerformanceLogFilter}.
+ * </p>
+ *
+ * <p>
+ * Errors and calls slower than the configured (or percentile based) threshold
+ * are always kept, faster calls are sampled at {@code sampleRate}. The global
+ * values can be overridden per route or per method through {@code rules}, for
+ * example:
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   perf-logging:
+ *     slow-threshold-ms: 50
+ *     sample-rate: 0.01
+ *     rules:
+ *       "[StudentService.*]":
+ *         percentile: 0.99
+ *       "[students]":
+ *         sample-rate: 0
+ * </pre>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.perf-logging", ignoreInvalidFields = true)
+public class PerfLogProperties {
+
+    /** whether failed calls are always logged */
+    private boolean keepErrors = true;
+
+    /** calls slower than this duration (ms) are always logged */
+    private long slowThresholdMs = 50;
+
+    /** observed percentile (0 - 1) above which calls are logged, 0 disables it */
+    private double percentile = 0;
+
+    /** ratio (0 - 1) of fast calls which are still logged */
+    private double sampleRate = 0;
+
+    /** route or method names which are never logged */
+    private List<String> excludes = new ArrayList<>(List.of("health"));
+
+    /** sampling rules keyed by route or method name */
+    private Map<String, PerfLogRule> rules = new LinkedHashMap<>();
+
+    public PerfLogProperties() {}
+
+    public boolean isKeepErrors() {
+        return keepErrors;
+    }
+
+    public void setKeepErrors(boolean keepErrors) {
+        this.keepErrors = keepErrors;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public List<String> getExcludes() {
+        return excludes;
+    }
+
+    public void setExcludes(List<String> excludes) {
+        this.excludes = excludes;
+    }
+
+    public Map<String, PerfLogRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, PerfLogRule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The RedactionProperties class configures the masking of sensitive values in
+ * the request and response bodies written to the logs, see
+ * {@link com.reactify.redaction.JsonRedactor}.
+ * </p>
+ *
+ * <p>
+ * A value is masked when its field name is listed in {@code fields}
+ * (case-insensitive, at any depth) or when its location matches one of the
+ * {@code paths}. A path is a dot separated list of field names, optionally
+ * starting with {@code $.}; array indexes are ignored, so
+ * {@code $.cards[*].number} and {@code cards.number} are equivalent. For
+ * example:
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   redaction:
+ *     fields: [password, otp]
+ *     paths: ["$.customer.identityNumber"]
+ * </pre>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.redaction", ignoreInvalidFields = true)
+public class RedactionProperties {
+
+    /** whether sensitive values are masked in logged bodies */
+    private boolean enable = true;
+
+    /** field names whose values are masked wherever they appear */
+    private List<String> fields = new ArrayList<>(List.of(
+            "password",
+            "passwd",
+            "secret",
+            "clientSecret",
+            "otp",
+            "pin",
+            "token",
+            "accessToken",
+            "refreshToken",
+            "cardNumber",
+            "cvv"));
+
+    /** paths of the values which are masked */
+    private List<String> paths = new ArrayList<>();
+
+    /** text written instead of a masked value */
+    private String mask = "******";
+
+    public RedactionProperties() {}
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public String getMask() {
+        return mask;
+    }
+
+    public void setMask(String mask) {
+        this.mask = mask;
+    }
+}
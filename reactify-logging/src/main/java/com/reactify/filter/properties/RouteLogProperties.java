@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import com.reactify.logging.RouteLogRule;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The RouteLogProperties class holds the logging policy of the routes, shared
+ * by every reactify filter: which routes are not logged, which are logged
+ * without bodies, how many body bytes are captured and which ratio of
+ * successful exchanges is kept. For example:
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   route-logging:
+ *     rules:
+ *       "[/files/**]":
+ *         level: HEADERS
+ *       "[/orders/**]":
+ *         max-body-bytes: 512
+ *         sample-rate: 0.1
+ * </pre>
+ *
+ * <p>
+ * The actuator endpoints are excluded by default; set {@code exclude} to
+ * {@code false} on {@code /actuator/**} to log them.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.route-logging", ignoreInvalidFields = true)
+public class RouteLogProperties {
+
+    /** rules keyed by path pattern */
+    private Map<String, RouteLogRule> rules =
+            new LinkedHashMap<>(Map.of("/actuator/**", new RouteLogRule(true, null, null, null)));
+
+    public RouteLogProperties() {}
+
+    public Map<String, RouteLogRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, RouteLogRule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.filter.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The TracingProperties class holds the configuration of the tracing set up by
+ * {@link com.reactify.config.TracingConfiguration}: which traces are sampled,
+ * which header formats are propagated and whether finished spans are kept in
+ * memory for local testing.
+ * </p>
+ *
+ * <pre>
+ * application:
+ *   tracing:
+ *     probability: 0.1
+ *     context-propagation: true
+ *     rate-limit: 100
+ *     propagation: W3C, B3
+ *     in-memory-capacity: 1000
+ * </pre>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@ConfigurationProperties(prefix = "application.tracing", ignoreInvalidFields = true)
+public class TracingProperties {
+
+    /** whether new traces are sampled at all, incoming sampling decisions are kept */
+    private boolean enable = true;
+
+    /** ratio (0 - 1) of new traces which are sampled */
+    private float probability = 1.0f;
+
+    /** maximum number of new traces sampled per second, 0 uses the probability */
+    private int rateLimit = 0;
+
+    /** header formats injected and extracted, W3C and/or B3 */
+    private List<String> propagation = new ArrayList<>(List.of("W3C", "B3"));
+
+    /** number of finished spans kept in memory, 0 disables the in-memory exporter */
+    private int inMemoryCapacity = 0;
+
+    /**
+     * whether the Reactor context is propagated to thread locals automatically,
+     * reactive method spans are parented from the Reactor context either way
+     */
+    private boolean contextPropagation = false;
+
+    public TracingProperties() {}
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public float getProbability() {
+        return probability;
+    }
+
+    public void setProbability(float probability) {
+        this.probability = probability;
+    }
+
+    public int getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(int rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public List<String> getPropagation() {
+        return propagation;
+    }
+
+    public void setPropagation(List<String> propagation) {
+        this.propagation = propagation;
+    }
+
+    public int getInMemoryCapacity() {
+        return inMemoryCapacity;
+    }
+
+    public void setInMemoryCapacity(int inMemoryCapacity) {
+        this.inMemoryCapacity = inMemoryCapacity;
+    }
+
+    public boolean isContextPropagation() {
+        return contextPropagation;
+    }
+
+    public void setContextPropagation(boolean contextPropagation) {
+        this.contextPropagation = contextPropagation;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>
+ * Java Flight Recorder event of a method instrumented by
+ * {@link com.reactify.LoggerAspect}. For a {@code Mono} or a {@code Flux} the
+ * event spans from the invocation to the termination of the subscription, so
+ * it lines up with the GC, CPU and thread events of the same recording.
+ * </p>
+ *
+ * <p>
+ * The event is disabled by default and enabled, with its threshold, through
+ * the {@code reactify.jfc} settings shipped with reactify-utils. A disabled
+ * event costs an allocation that the JIT usually eliminates.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Name("com.reactify.MethodInvocation")
+@Label("Method Invocation")
+@Category({"Reactify", "Logging"})
+@Description("Invocation of a method instrumented by the logging aspect")
+@Enabled(false)
+@Threshold("20 ms")
+@StackTrace(false)
+public class MethodInvocationEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Log Type")
+    private String logType;
+
+    @Label("Action Type")
+    private String actionType;
+
+    @Label("Outcome")
+    @Description("onComplete, onError or cancel")
+    private String outcome;
+
+    /**
+     * Starts the event of an invocation.
+     *
+     * @param method
+     *            the name of the method
+     * @param logType
+     *            the log type of the method
+     * @param actionType
+     *            the action type of the method
+     * @return the started event
+     */
+    public static MethodInvocationEvent start(String method, String logType, String actionType) {
+        MethodInvocationEvent event = new MethodInvocationEvent();
+        if (event.isEnabled()) {
+            event.method = method;
+            event.logType = logType;
+            event.actionType = actionType;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it when it exceeds the threshold.
+     *
+     * @param outcome
+     *            how the invocation terminated
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
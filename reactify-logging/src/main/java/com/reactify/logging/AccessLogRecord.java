@@ -0,0 +1,267 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.reactify.TruncateUtils;
+import com.reactify.filter.http.BodyCapture;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * <p>
+ * Single structured record describing one HTTP exchange, written by
+ * {@link com.reactify.filter.http.AccessLogFilter}. Every field is computed
+ * once while the exchange is served and the record is handed as is to the
+ * asynchronous log pipeline ({@link com.reactify.LoggerQueue}).
+ * </p>
+ *
+ * <p>
+ * The bodies are kept as the {@link BodyCapture} filled while they streamed
+ * and are only decoded when the record is serialized by
+ * {@link com.reactify.LoggerSchedule}, off the request thread.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class AccessLogRecord {
+
+    /** epoch time (ms) at which the exchange started */
+    private long startTime;
+
+    /** duration of the exchange in milliseconds */
+    private long duration;
+
+    private String traceId;
+
+    private String requestId;
+
+    private String method;
+
+    /** path of the request, without the leading slash */
+    private String path;
+
+    /** route pattern matched by the handler, or the path */
+    private String route;
+
+    /** raw query string, {@code null} if none */
+    private String query;
+
+    private String clientAddress;
+
+    private String host;
+
+    private HttpHeaders headers;
+
+    private Integer status;
+
+    /** message of the error which terminated the exchange, if any */
+    private String error;
+
+    /** first bytes of the request body */
+    private BodyCapture requestCapture;
+
+    /** form data read by the handler, preferred over the raw request body */
+    private MultiValueMap<String, String> formData;
+
+    /** first bytes of the response body */
+    private BodyCapture responseCapture;
+
+    /** request body already decoded, preferred over the captures */
+    private String requestBody;
+
+    /** response body already decoded, preferred over the capture */
+    private String responseBody;
+
+    public AccessLogRecord() {}
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getClientAddress() {
+        return clientAddress;
+    }
+
+    public void setClientAddress(String clientAddress) {
+        this.clientAddress = clientAddress;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @JsonIgnore
+    public BodyCapture getRequestCapture() {
+        return requestCapture;
+    }
+
+    public void setRequestCapture(BodyCapture requestCapture) {
+        this.requestCapture = requestCapture;
+    }
+
+    @JsonIgnore
+    public MultiValueMap<String, String> getFormData() {
+        return formData;
+    }
+
+    public void setFormData(MultiValueMap<String, String> formData) {
+        this.formData = formData;
+    }
+
+    @JsonIgnore
+    public BodyCapture getResponseCapture() {
+        return responseCapture;
+    }
+
+    public void setResponseCapture(BodyCapture responseCapture) {
+        this.responseCapture = responseCapture;
+    }
+
+    /**
+     * Tells whether the exchange failed, either with an error or an error status.
+     *
+     * @return {@code true} if the exchange failed
+     */
+    @JsonIgnore
+    public boolean isFailed() {
+        return error != null || (status != null && status >= 400);
+    }
+
+    /**
+     * Decodes the captured request body, the form data read by the handler wins
+     * over the raw bytes.
+     *
+     * @return the request body, or {@code null} if it was not captured
+     */
+    public String getRequestBody() {
+        if (requestBody != null) {
+            return requestBody;
+        }
+        if (formData != null) {
+            return TruncateUtils.truncateBody(formData);
+        }
+        return requestCapture != null && requestCapture.getTotalBytes() > 0 ? requestCapture.asString() : null;
+    }
+
+    /**
+     * Decodes the captured response body.
+     *
+     * @return the response body, or {@code null} if it was not captured
+     */
+    public String getResponseBody() {
+        if (responseBody != null) {
+            return responseBody;
+        }
+        return responseCapture != null && responseCapture.getTotalBytes() > 0 ? responseCapture.asString() : null;
+    }
+
+    public void setRequestBody(String requestBody) {
+        this.requestBody = requestBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+}
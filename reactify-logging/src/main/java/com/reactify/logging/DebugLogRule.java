@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+/**
+ * <p>
+ * Rule turning on request-scoped debug logging for the exchanges it matches.
+ * Every attribute is optional, but at least one of {@code user},
+ * {@code route} and {@code clientAddress} must be set; an exchange matches when
+ * all the attributes set match.
+ * </p>
+ *
+ * <p>
+ * A {@code route} ending with {@code *} matches every path starting with the
+ * given prefix. The {@code user} is compared with a claim of the bearer token,
+ * see {@link com.reactify.filter.properties.DebugLogProperties}.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class DebugLogRule {
+
+    /** user name, compared with the configured claim of the bearer token */
+    private String user;
+
+    /** path of the request without leading slash, may end with {@code *} */
+    private String route;
+
+    /** address of the client */
+    private String clientAddress;
+
+    /** epoch millis after which the rule no longer applies, never when unset */
+    private Long expiresAt;
+
+    public DebugLogRule() {}
+
+    public DebugLogRule(String user, String route, String clientAddress, Long expiresAt) {
+        this.user = user;
+        this.route = route;
+        this.clientAddress = clientAddress;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public String getClientAddress() {
+        return clientAddress;
+    }
+
+    public void setClientAddress(String clientAddress) {
+        this.clientAddress = clientAddress;
+    }
+
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DebugLogRule{" + "user=" + user + ", route=" + route + ", clientAddress=" + clientAddress
+                + ", expiresAt=" + expiresAt + '}';
+    }
+}
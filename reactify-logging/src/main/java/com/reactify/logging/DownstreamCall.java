@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+/**
+ * <p>
+ * Call made while serving an exchange, as seen by
+ * {@link com.reactify.LoggerAspectUtils}: typically a service method wrapping
+ * a database query or a request to another service. It is kept by the
+ * {@link FlightRecord} of the exchange.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class DownstreamCall {
+
+    private final String name;
+
+    /** epoch time (ms) at which the call started */
+    private final long startTime;
+
+    /** duration of the call in milliseconds */
+    private final long duration;
+
+    /** "0" for success, "1" for failure, as in the performance log */
+    private final String result;
+
+    public DownstreamCall(String name, long startTime, long duration, String result) {
+        this.name = name;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.result = result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public String getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Detailed capture of an exchange kept by
+ * {@link com.reactify.recorder.FlightRecorder}: every field of an
+ * {@link AccessLogRecord} plus the {@link DownstreamCall}s made while serving
+ * it. The record travels in the Reactor context of the exchange under its
+ * class, so that instrumented methods can add their calls.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class FlightRecord extends AccessLogRecord {
+
+    /** upper bound of calls kept per exchange */
+    private static final int MAX_CALLS = 64;
+
+    private final List<DownstreamCall> calls = new ArrayList<>(4);
+
+    private int droppedCalls;
+
+    public FlightRecord() {}
+
+    /**
+     * Adds a call made while serving the exchange, calls beyond
+     * {@value #MAX_CALLS} are only counted.
+     *
+     * @param call
+     *            the call
+     */
+    public synchronized void addCall(DownstreamCall call) {
+        if (calls.size() < MAX_CALLS) {
+            calls.add(call);
+        } else {
+            droppedCalls++;
+        }
+    }
+
+    /**
+     * Returns a copy of the calls made while serving the exchange.
+     *
+     * @return the calls, in completion order
+     */
+    public synchronized List<DownstreamCall> getCalls() {
+        return new ArrayList<>(calls);
+    }
+
+    public synchronized int getDroppedCalls() {
+        return droppedCalls;
+    }
+}
@@ -15,9 +15,15 @@
  */
 package com.reactify.logging;
 
+import com.reactify.filter.http.BodyCapture;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 
 /**
  * <p>
@@ -35,6 +41,13 @@ import org.springframework.util.MultiValueMap;
  * request for performance monitoring.
  * </p>
  *
+ * <p>
+ * The request body may be held as a {@link BodyCapture} filled while the body
+ * streams to the handler; it is only decoded when {@link #getRequestBody()} is
+ * called for the log line. Form data captured that way is parsed by
+ * {@link #getFormData()} on first access only.
+ * </p>
+ *
  * @author hoangtien2k3
  */
 public class GatewayContext {
@@ -51,6 +64,8 @@ public class GatewayContext {
     /** cache json body */
     protected String requestBody;
 
+    protected BodyCapture requestCapture;
+
     /** cache Response Body */
     protected Object responseBody;
 
@@ -83,6 +98,9 @@ public class GatewayContext {
     }
 
     public String getRequestBody() {
+        if (requestBody == null && requestCapture != null && requestCapture.getTotalBytes() > 0) {
+            requestBody = requestCapture.asString().replace("\r", "").replace("\n", "");
+        }
         return requestBody;
     }
 
@@ -90,6 +108,14 @@ public class GatewayContext {
         this.requestBody = requestBody;
     }
 
+    public BodyCapture getRequestCapture() {
+        return requestCapture;
+    }
+
+    public void setRequestCapture(BodyCapture requestCapture) {
+        this.requestCapture = requestCapture;
+    }
+
     public Object getResponseBody() {
         return responseBody;
     }
@@ -107,6 +133,10 @@ public class GatewayContext {
     }
 
     public MultiValueMap<String, String> getFormData() {
+        if (formData == null && requestCapture != null && requestCapture.getTotalBytes() > 0) {
+            formData = parseFormData();
+            allRequestData.addAll(formData);
+        }
         return formData;
     }
 
@@ -130,6 +160,39 @@ public class GatewayContext {
         this.startTime = startTime;
     }
 
+    /**
+     * Parses the captured {@code application/x-www-form-urlencoded} body. The
+     * last pair is dropped when the capture is truncated, since it may be cut.
+     *
+     * @return the parsed form data
+     */
+    private MultiValueMap<String, String> parseFormData() {
+        MediaType contentType = requestHeaders != null ? requestHeaders.getContentType() : null;
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+        String body = requestCapture.asString(charset);
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        String[] pairs = StringUtils.tokenizeToStringArray(body, "&");
+        int count = requestCapture.isTruncated() ? pairs.length - 1 : pairs.length;
+        for (int i = 0; i < count; i++) {
+            String pair = pairs[i];
+            int index = pair.indexOf('=');
+            try {
+                if (index == -1) {
+                    result.add(URLDecoder.decode(pair, charset), null);
+                } else {
+                    result.add(
+                            URLDecoder.decode(pair.substring(0, index), charset),
+                            URLDecoder.decode(pair.substring(index + 1), charset));
+                }
+            } catch (IllegalArgumentException ex) {
+                result.add(pair, null);
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return "GatewayContext{" + "readRequestData=" + readRequestData + ", readResponseData=" + readResponseData
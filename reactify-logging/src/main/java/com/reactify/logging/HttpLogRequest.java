@@ -15,6 +15,8 @@
  */
 package com.reactify.logging;
 
+import com.reactify.constants.Constants;
+
 /**
  * Record representing the configuration for HTTP log requests.
  *
@@ -22,7 +24,10 @@ package com.reactify.logging;
  */
 public class HttpLogRequest {
 
-    private final boolean enable;
+    private boolean enable;
+
+    /** maximum number of request body bytes captured for the log */
+    private int maxBodyBytes;
 
     /**
      * <p>
@@ -30,14 +35,31 @@ public class HttpLogRequest {
      * </p>
      */
     public HttpLogRequest() {
-        this.enable = true;
+        this(true);
     }
 
     public HttpLogRequest(boolean enable) {
+        this(enable, Constants.MAX_BYTE);
+    }
+
+    public HttpLogRequest(boolean enable, int maxBodyBytes) {
         this.enable = enable;
+        this.maxBodyBytes = maxBodyBytes;
     }
 
     public boolean isEnable() {
         return enable;
     }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+/**
+ * <p>
+ * Detail of the request, response and method logs, chosen by
+ * {@link com.reactify.sampling.LoggingGovernor} according to the load of the
+ * logging subsystem. Levels are ordered from the most to the least detailed.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public enum LogDetailLevel {
+
+    /** every record is written with its headers and bodies */
+    FULL,
+
+    /** every record is written with its headers, bodies are dropped */
+    HEADERS,
+
+    /** every record is written without headers nor bodies */
+    SUMMARY,
+
+    /** summaries of failed calls are written, others are sampled */
+    SAMPLED
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+/**
+ * <p>
+ * Sampling rule applied to performance log records of a single route or
+ * method. Every attribute is optional; an unset attribute falls back to the
+ * global value defined in
+ * {@link com.reactify.filter.properties.PerfLogProperties}.
+ * </p>
+ *
+ * <p>
+ * A rule is keyed either by a method name (e.g.
+ * {@code StudentService.getStudents}) or by a route (e.g. {@code students}), a
+ * key ending with {@code *} matches every name starting with the given prefix.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class PerfLogRule {
+
+    /** whether records matching the rule are logged at all */
+    private Boolean enable;
+
+    /** whether failed calls are always logged */
+    private Boolean keepErrors;
+
+    /** calls slower than this duration (ms) are always logged */
+    private Long slowThresholdMs;
+
+    /**
+     * calls slower than this observed percentile (0 - 1) are always logged, 0
+     * disables percentile tracking
+     */
+    private Double percentile;
+
+    /** ratio (0 - 1) of fast calls which are still logged */
+    private Double sampleRate;
+
+    public PerfLogRule() {}
+
+    public PerfLogRule(
+            Boolean enable, Boolean keepErrors, Long slowThresholdMs, Double percentile, Double sampleRate) {
+        this.enable = enable;
+        this.keepErrors = keepErrors;
+        this.slowThresholdMs = slowThresholdMs;
+        this.percentile = percentile;
+        this.sampleRate = sampleRate;
+    }
+
+    public Boolean getEnable() {
+        return enable;
+    }
+
+    public void setEnable(Boolean enable) {
+        this.enable = enable;
+    }
+
+    public Boolean getKeepErrors() {
+        return keepErrors;
+    }
+
+    public void setKeepErrors(Boolean keepErrors) {
+        this.keepErrors = keepErrors;
+    }
+
+    public Long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(Long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return "PerfLogRule{" + "enable=" + enable + ", keepErrors=" + keepErrors + ", slowThresholdMs="
+                + slowThresholdMs + ", percentile=" + percentile + ", sampleRate=" + sampleRate + '}';
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+/**
+ * <p>
+ * Logging rule of the routes matching a path pattern. Every attribute is
+ * optional; an unset attribute keeps the default behavior of the filters.
+ * </p>
+ *
+ * <p>
+ * Patterns follow the {@link org.springframework.web.util.pattern.PathPattern}
+ * syntax (e.g. {@code /actuator/**} or {@code /orders/{id}}), the most
+ * specific pattern matching a path wins.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class RouteLogRule {
+
+    /** whether the routes are not logged at all */
+    private Boolean exclude;
+
+    /**
+     * most detailed level logged for the routes, e.g. {@code HEADERS} to never
+     * capture bodies
+     */
+    private LogDetailLevel level;
+
+    /** maximum number of bytes captured per request or response body */
+    private Integer maxBodyBytes;
+
+    /** ratio (0 - 1) of successful exchanges which are logged */
+    private Double sampleRate;
+
+    public RouteLogRule() {}
+
+    public RouteLogRule(Boolean exclude, LogDetailLevel level, Integer maxBodyBytes, Double sampleRate) {
+        this.exclude = exclude;
+        this.level = level;
+        this.maxBodyBytes = maxBodyBytes;
+        this.sampleRate = sampleRate;
+    }
+
+    public Boolean getExclude() {
+        return exclude;
+    }
+
+    public void setExclude(Boolean exclude) {
+        this.exclude = exclude;
+    }
+
+    public LogDetailLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LogDetailLevel level) {
+        this.level = level;
+    }
+
+    public Integer getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(Integer maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public Double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteLogRule{" + "exclude=" + exclude + ", level=" + level + ", maxBodyBytes=" + maxBodyBytes
+                + ", sampleRate=" + sampleRate + '}';
+    }
+}
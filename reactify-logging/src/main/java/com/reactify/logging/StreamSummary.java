@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.logging;
+
+/**
+ * <p>
+ * Summary of a {@link reactor.core.publisher.Flux} returned by an instrumented
+ * method. A single summary is logged when the stream terminates instead of one
+ * record per element.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class StreamSummary {
+
+    /** number of elements emitted */
+    private final long count;
+
+    /** time (ms) from the call to the first element, {@code null} if none */
+    private final Long firstElementMs;
+
+    /** time (ms) from the call to the termination of the stream */
+    private final long durationMs;
+
+    /** size of the binary and text elements emitted, other elements count 0 */
+    private final long bytes;
+
+    /** terminal signal of the stream, e.g. ON_COMPLETE, ON_ERROR or CANCEL */
+    private final String signal;
+
+    /** message of the error terminating the stream, {@code null} otherwise */
+    private final String error;
+
+    public StreamSummary(long count, Long firstElementMs, long durationMs, long bytes, String signal, String error) {
+        this.count = count;
+        this.firstElementMs = firstElementMs;
+        this.durationMs = durationMs;
+        this.bytes = bytes;
+        this.signal = signal;
+        this.error = error;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Long getFirstElementMs() {
+        return firstElementMs;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public String getSignal() {
+        return signal;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamSummary{" + "count=" + count + ", firstElementMs=" + firstElementMs + ", durationMs="
+                + durationMs + ", bytes=" + bytes + ", signal='" + signal + '\'' + ", error='" + error + '\'' + '}';
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Actuator endpoint dumping the latency histograms of the
+ * {@link LatencyHistogramRegistry}. It is available under
+ * {@code /actuator/latency} once exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ * </p>
+ *
+ * <p>
+ * Every entry reports the count, mean, percentiles and max of the last
+ * completed window and of the total since startup, along with the compressed
+ * HdrHistogram ({@code hdr}, base64) for offline analysis.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyHistogramEndpoint {
+
+    private final LatencyHistogramRegistry latencyHistogramRegistry;
+
+    /**
+     * Constructs a new instance of {@code LatencyHistogramEndpoint}.
+     *
+     * @param latencyHistogramRegistry
+     *            the registry whose histograms are dumped
+     */
+    public LatencyHistogramEndpoint(LatencyHistogramRegistry latencyHistogramRegistry) {
+        this.latencyHistogramRegistry = latencyHistogramRegistry;
+    }
+
+    /**
+     * Returns the histograms of every method and route.
+     *
+     * @return the summaries keyed by type, then by name
+     */
+    @ReadOperation
+    public Map<String, Object> histograms() {
+        Map<String, Object> histograms = new LinkedHashMap<>();
+        histograms.put(
+                LatencyHistogramRegistry.METHOD, latencyHistogramRegistry.summary(LatencyHistogramRegistry.METHOD));
+        histograms.put(
+                LatencyHistogramRegistry.ROUTE, latencyHistogramRegistry.summary(LatencyHistogramRegistry.ROUTE));
+        return histograms;
+    }
+
+    /**
+     * Returns the histograms of a single type.
+     *
+     * @param type
+     *            {@code method} or {@code route}
+     * @return the summaries keyed by name
+     */
+    @ReadOperation
+    public Map<String, Object> histograms(@Selector String type) {
+        return latencyHistogramRegistry.summary(type);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.metrics;
+
+import com.reactify.filter.properties.LatencyHistogramProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The {@code LatencyHistogramRegistry} keeps one {@link LatencyRecorder} per
+ * service method and per HTTP route. Recording is lock-free, so it can be done
+ * on every call instead of logging every slow one.
+ * </p>
+ *
+ * <p>
+ * When a {@link MeterRegistry} is available, every recorder is exported as
+ * {@code reactify.latency} gauges (one per configured percentile, computed on
+ * the last completed window) and {@code reactify.latency.slo} counters (one
+ * cumulative bucket per configured objective). The raw histograms are also
+ * available through the {@link LatencyHistogramEndpoint} actuator endpoint.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class LatencyHistogramRegistry {
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(LatencyHistogramRegistry.class);
+
+    /** type of the recorders of service methods */
+    public static final String METHOD = "method";
+
+    /** type of the recorders of HTTP routes */
+    public static final String ROUTE = "route";
+
+    private final LatencyHistogramProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<String, LatencyRecorder> methods = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@code LatencyHistogramRegistry}.
+     *
+     * @param properties
+     *            the histogram configuration
+     * @param meterRegistry
+     *            the Micrometer registry the histograms are exported to, if any
+     */
+    public LatencyHistogramRegistry(
+            LatencyHistogramProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the duration of a service method call.
+     *
+     * @param name
+     *            the method name, e.g. {@code StudentService.getStudents}
+     * @param durationNanos
+     *            the duration in nanoseconds
+     */
+    public void recordMethod(String name, long durationNanos) {
+        record(METHOD, methods, name, durationNanos);
+    }
+
+    /**
+     * Records the duration of an HTTP exchange.
+     *
+     * @param route
+     *            the route pattern, or the path when no pattern matched
+     * @param durationNanos
+     *            the duration in nanoseconds
+     */
+    public void recordRoute(String route, long durationNanos) {
+        record(ROUTE, routes, route, durationNanos);
+    }
+
+    /**
+     * Builds a summary of every recorder of a type.
+     *
+     * @param type
+     *            {@link #METHOD} or {@link #ROUTE}
+     * @return the summaries keyed by method or route name
+     */
+    public Map<String, Object> summary(String type) {
+        Map<String, LatencyRecorder> recorders =
+                ROUTE.equals(type) ? routes : METHOD.equals(type) ? methods : Map.of();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        recorders.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> summary.put(entry.getKey(), entry.getValue().summary(properties.getPercentiles())));
+        return summary;
+    }
+
+    private void record(String type, Map<String, LatencyRecorder> recorders, String name, long durationNanos) {
+        if (!properties.isEnable() || name == null) {
+            return;
+        }
+        LatencyRecorder recorder = recorders.get(name);
+        if (recorder == null) {
+            if (methods.size() + routes.size() >= properties.getMaxKeys()) {
+                log.debug("Latency histogram limit reached, {} {} is not recorded", type, name);
+                return;
+            }
+            recorder = recorders.computeIfAbsent(name, key -> register(type, key));
+        }
+        recorder.record(durationNanos);
+    }
+
+    private LatencyRecorder register(String type, String name) {
+        LatencyRecorder recorder = new LatencyRecorder(properties.getSignificantDigits(), properties.getWindowMs());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return recorder;
+        }
+        for (Double percentile : properties.getPercentiles()) {
+            Gauge.builder("reactify.latency", recorder, r -> r.windowValueAt(percentile))
+                    .tags("type", type, "name", name, "quantile", String.valueOf(percentile))
+                    .baseUnit("milliseconds")
+                    .description("Latency percentile over the last completed window")
+                    .register(registry);
+        }
+        for (Long sloMs : properties.getSloMs()) {
+            FunctionCounter.builder("reactify.latency.slo", recorder, r -> r.countAtOrBelow(sloMs))
+                    .tags("type", type, "name", name, "le", String.valueOf(sloMs))
+                    .description("Number of calls completed within the objective")
+                    .register(registry);
+        }
+        FunctionCounter.builder("reactify.latency.count", recorder, LatencyRecorder::totalCount)
+                .tags("type", type, "name", name)
+                .description("Number of recorded calls")
+                .register(registry);
+        return recorder;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.metrics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * <p>
+ * Latency histogram of a single method or route. Writers record into a
+ * lock-free {@link Recorder}; readers swap the active histogram once per window
+ * and read the last completed window as well as the total since startup.
+ * </p>
+ *
+ * <p>
+ * Values are recorded in microseconds and reported in milliseconds. Packed
+ * histograms are used so that a key with few distinct latencies costs little
+ * memory.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class LatencyRecorder {
+
+    private final Recorder recorder;
+    private final Histogram total;
+    private final long windowNanos;
+
+    /** last completed window, owned by the reader side */
+    private Histogram window;
+
+    private long lastRollover = System.nanoTime();
+
+    /**
+     * Constructs a new instance of {@code LatencyRecorder}.
+     *
+     * @param significantDigits
+     *            the number of significant value digits kept
+     * @param windowMs
+     *            the length of a window in milliseconds
+     */
+    public LatencyRecorder(int significantDigits, long windowMs) {
+        this.recorder = new Recorder(significantDigits, true);
+        this.total = new PackedHistogram(significantDigits);
+        this.window = recorder.getIntervalHistogram();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMs, 1));
+    }
+
+    /**
+     * Records a duration, safe to call from any thread without locking.
+     *
+     * @param durationNanos
+     *            the duration in nanoseconds
+     */
+    public void record(long durationNanos) {
+        recorder.recordValue(Math.max(TimeUnit.NANOSECONDS.toMicros(durationNanos), 0));
+    }
+
+    /**
+     * Returns the value (ms) at a percentile of the last completed window.
+     *
+     * @param percentile
+     *            the percentile (0 - 1)
+     * @return the value in milliseconds
+     */
+    public synchronized double windowValueAt(double percentile) {
+        rollover();
+        return toMillis(window.getValueAtPercentile(percentile * 100));
+    }
+
+    /**
+     * Returns the number of values recorded since startup which are lower than or
+     * equal to a bound, the completed windows only are counted.
+     *
+     * @param boundMs
+     *            the bound in milliseconds
+     * @return the cumulative count
+     */
+    public synchronized double countAtOrBelow(long boundMs) {
+        rollover();
+        return total.getCountBetweenValues(0, TimeUnit.MILLISECONDS.toMicros(boundMs));
+    }
+
+    /**
+     * Returns the number of values recorded since startup, the completed windows
+     * only are counted.
+     *
+     * @return the total count
+     */
+    public synchronized double totalCount() {
+        rollover();
+        return total.getTotalCount();
+    }
+
+    /**
+     * Builds a summary of the last completed window and of the total since
+     * startup.
+     *
+     * @param percentiles
+     *            the percentiles (0 - 1) to report
+     * @return the summary, keyed by {@code window} and {@code total}
+     */
+    public synchronized Map<String, Object> summary(List<Double> percentiles) {
+        rollover();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("window", describe(window, percentiles));
+        summary.put("total", describe(total, percentiles));
+        return summary;
+    }
+
+    /**
+     * Swaps the active histogram of the recorder when the window has elapsed.
+     */
+    private void rollover() {
+        long now = System.nanoTime();
+        if (now - lastRollover < windowNanos) {
+            return;
+        }
+        lastRollover = now;
+        window = recorder.getIntervalHistogram(window);
+        total.add(window);
+    }
+
+    private static Map<String, Object> describe(Histogram histogram, List<Double> percentiles) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.getTotalCount());
+        values.put("meanMs", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000d);
+        for (Double percentile : percentiles) {
+            values.put(
+                    "p" + formatPercentile(percentile), toMillis(histogram.getValueAtPercentile(percentile * 100)));
+        }
+        values.put("maxMs", toMillis(histogram.getMaxValue()));
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        values.put("hdr", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return values;
+    }
+
+    private static String formatPercentile(double percentile) {
+        String value = Double.toString(percentile * 100);
+        return value.endsWith(".0") ? value.substring(0, value.length() - 2) : value;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000d;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.recorder;
+
+import com.reactify.ObjectMapperFactory;
+import com.reactify.filter.http.AccessLogFormatter;
+import com.reactify.filter.properties.FlightRecorderProperties;
+import com.reactify.logging.FlightRecord;
+import com.reactify.redaction.JsonRedactor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The {@code FlightRecorder} keeps detailed captures of the latest exchanges
+ * in memory: headers, bounded bodies, timings and downstream calls of the last
+ * {@code capacity} exchanges, and of the last {@code route-capacity} exchanges
+ * of every route. Writing a record is a couple of array stores in fixed size
+ * ring buffers; nothing is serialized nor logged on the request path.
+ * </p>
+ *
+ * <p>
+ * When an exchange fails with an exception or a 5xx status, or exceeds
+ * {@code slow-threshold-ms}, it is frozen as an incident together with the
+ * recent history of its route: a sanitized snapshot is taken immediately, so
+ * later exchanges cannot overwrite it, and it is written to the error log when
+ * {@code log-incidents} is set. Client errors are not incidents, and at most
+ * {@code max-incidents-per-minute} incidents are frozen, so that a storm of
+ * failures neither stalls the event loop with snapshots nor floods the log.
+ * Incidents and recent exchanges are dumped through the
+ * {@link FlightRecorderEndpoint}.
+ * Headers are filtered by the {@link AccessLogFormatter} lists and bodies
+ * masked by the {@link JsonRedactor} whenever a snapshot is taken.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class FlightRecorder {
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorder.class);
+
+    private final FlightRecorderProperties properties;
+
+    private final AccessLogFormatter accessLogFormatter;
+
+    private final JsonRedactor jsonRedactor;
+
+    private final Ring<FlightRecord> recent;
+
+    private final Map<String, Ring<FlightRecord>> routes = new ConcurrentHashMap<>();
+
+    private final Ring<Map<String, Object>> incidents;
+
+    private final AtomicLong incidentWindowStart = new AtomicLong();
+
+    private final AtomicInteger incidentsInWindow = new AtomicInteger();
+
+    /**
+     * Constructs a new instance of {@code FlightRecorder}.
+     *
+     * @param properties
+     *            the sizes of the buffers and the incident triggers
+     * @param accessLogFormatter
+     *            the formatter filtering the dumped headers
+     * @param jsonRedactor
+     *            the redactor masking the dumped bodies
+     */
+    public FlightRecorder(
+            FlightRecorderProperties properties, AccessLogFormatter accessLogFormatter, JsonRedactor jsonRedactor) {
+        this.properties = properties;
+        this.accessLogFormatter = accessLogFormatter;
+        this.jsonRedactor = jsonRedactor;
+        this.recent = new Ring<>(properties.getCapacity());
+        this.incidents = new Ring<>(properties.getIncidentCapacity());
+    }
+
+    /**
+     * Tells whether exchanges are recorded.
+     *
+     * @return {@code true} if the recorder is enabled
+     */
+    public boolean isEnabled() {
+        return properties.isEnable();
+    }
+
+    /**
+     * Returns the maximum number of bytes captured per body.
+     *
+     * @return a number of bytes
+     */
+    public int getMaxBodyBytes() {
+        return properties.getMaxBodyBytes();
+    }
+
+    /**
+     * <p>
+     * Records a finished exchange, and freezes it as an incident when it failed
+     * with an exception or a server error, or was slow.
+     * </p>
+     *
+     * @param record
+     *            the record of the exchange
+     */
+    public void record(FlightRecord record) {
+        recent.add(record);
+        Ring<FlightRecord> history = historyOf(record.getRoute());
+        if (history != null) {
+            history.add(record);
+        }
+        String reason = record.getError() != null || (record.getStatus() != null && record.getStatus() >= 500)
+                ? "failed"
+                : record.getDuration() >= properties.getSlowThresholdMs() ? "slow" : null;
+        if (reason != null && acquireIncident()) {
+            freeze(record, history, reason);
+        }
+    }
+
+    /**
+     * Returns snapshots of the latest exchanges, newest first.
+     *
+     * @param route
+     *            the route of the exchanges, all routes when {@code null}
+     * @return the snapshots
+     */
+    public List<Map<String, Object>> recent(String route) {
+        Ring<FlightRecord> ring = route == null ? recent : routes.get(route);
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        if (ring != null) {
+            for (FlightRecord record : ring.newestFirst()) {
+                snapshots.add(snapshot(record));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Returns the frozen incidents, newest first.
+     *
+     * @return the incidents
+     */
+    public List<Map<String, Object>> incidents() {
+        return incidents.newestFirst();
+    }
+
+    /**
+     * Drops the frozen incidents.
+     */
+    public void clearIncidents() {
+        incidents.clear();
+    }
+
+    /**
+     * Counts an incident in the current minute, and tells whether it is still
+     * below the limit. The number of incidents over the limit is logged once the
+     * minute is over.
+     *
+     * @return {@code true} if the incident may be frozen
+     */
+    private boolean acquireIncident() {
+        long now = System.currentTimeMillis();
+        long windowStart = incidentWindowStart.get();
+        if (now - windowStart >= 60_000 && incidentWindowStart.compareAndSet(windowStart, now)) {
+            int skipped = incidentsInWindow.getAndSet(0) - properties.getMaxIncidentsPerMinute();
+            if (skipped > 0) {
+                log.warn(
+                        "{} incidents were not frozen in the last minute, the limit is {}",
+                        skipped,
+                        properties.getMaxIncidentsPerMinute());
+            }
+        }
+        return incidentsInWindow.incrementAndGet() <= properties.getMaxIncidentsPerMinute();
+    }
+
+    /**
+     * Freezes an exchange and the recent history of its route.
+     *
+     * @param record
+     *            the record of the exchange
+     * @param history
+     *            the history of the route, may be {@code null}
+     * @param reason
+     *            why the exchange is frozen
+     */
+    private void freeze(FlightRecord record, Ring<FlightRecord> history, String reason) {
+        Map<String, Object> incident = new LinkedHashMap<>();
+        incident.put("reason", reason);
+        incident.put("frozenAt", System.currentTimeMillis());
+        incident.put("exchange", snapshot(record));
+        List<Map<String, Object>> routeHistory = new ArrayList<>();
+        if (history != null) {
+            for (FlightRecord previous : history.newestFirst()) {
+                if (previous != record) {
+                    routeHistory.add(snapshot(previous));
+                }
+            }
+        }
+        incident.put("routeHistory", routeHistory);
+        incidents.add(incident);
+        if (properties.isLogIncidents()) {
+            try {
+                log.error("Flight record of {} exchange: {}", reason, ObjectMapperFactory.getInstance()
+                        .writeValueAsString(incident));
+            } catch (Exception e) {
+                log.error("Error while writing flight record: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the history of a route, creating it while the number of routes is
+     * below the limit.
+     *
+     * @param route
+     *            the route of the exchange
+     * @return the history, or {@code null}
+     */
+    private Ring<FlightRecord> historyOf(String route) {
+        if (route == null || properties.getRouteCapacity() <= 0) {
+            return null;
+        }
+        Ring<FlightRecord> history = routes.get(route);
+        if (history == null && routes.size() < properties.getMaxRoutes()) {
+            history = routes.computeIfAbsent(route, key -> new Ring<>(properties.getRouteCapacity()));
+        }
+        return history;
+    }
+
+    /**
+     * Takes a sanitized snapshot of a record.
+     *
+     * @param record
+     *            the record
+     * @return the snapshot
+     */
+    private Map<String, Object> snapshot(FlightRecord record) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("startTime", record.getStartTime());
+        snapshot.put("duration", record.getDuration());
+        snapshot.put("traceId", record.getTraceId());
+        snapshot.put("requestId", record.getRequestId());
+        snapshot.put("method", record.getMethod());
+        snapshot.put("path", record.getPath());
+        snapshot.put("route", record.getRoute());
+        snapshot.put("query", record.getQuery());
+        snapshot.put("clientAddress", record.getClientAddress());
+        snapshot.put("status", record.getStatus());
+        snapshot.put("error", record.getError());
+        snapshot.put("headers", accessLogFormatter.filterHeaders(record.getHeaders()));
+        snapshot.put("requestBody", jsonRedactor.redact(record.getRequestBody()));
+        snapshot.put("responseBody", jsonRedactor.redact(record.getResponseBody()));
+        snapshot.put("calls", record.getCalls());
+        snapshot.put("droppedCalls", record.getDroppedCalls());
+        return snapshot;
+    }
+
+    /**
+     * Fixed size ring buffer. Writers claim a slot with a single atomic
+     * increment, readers see the latest {@code size} elements.
+     *
+     * @param <T>
+     *            the type of the elements
+     */
+    private static final class Ring<T> {
+        private final AtomicReferenceArray<T> slots;
+        private final AtomicLong cursor = new AtomicLong();
+
+        private Ring(int size) {
+            this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        }
+
+        private void add(T element) {
+            slots.set((int) Math.floorMod(cursor.getAndIncrement(), (long) slots.length()), element);
+        }
+
+        private List<T> newestFirst() {
+            long end = cursor.get();
+            int size = slots.length();
+            List<T> elements = new ArrayList<>(size);
+            for (long i = end - 1; i >= 0 && i >= end - size; i--) {
+                T element = slots.get((int) Math.floorMod(i, (long) size));
+                if (element != null) {
+                    elements.add(element);
+                }
+            }
+            return elements;
+        }
+
+        private void clear() {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        }
+    }
+}
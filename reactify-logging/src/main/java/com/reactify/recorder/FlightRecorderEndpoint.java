@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Actuator endpoint dumping the {@link FlightRecorder}. It is available under
+ * {@code /actuator/flightrecorder} once exposed through
+ * {@code management.endpoints.web.exposure.include}; the {@code route}
+ * parameter restricts the recent exchanges to a single route pattern.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorder flightRecorder;
+
+    /**
+     * Constructs a new instance of {@code FlightRecorderEndpoint}.
+     *
+     * @param flightRecorder
+     *            the recorder to dump
+     */
+    public FlightRecorderEndpoint(FlightRecorder flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    /**
+     * Dumps the frozen incidents and the recent exchanges.
+     *
+     * @param route
+     *            the route of the recent exchanges, all routes when absent
+     * @return a {@link Map} with the {@code incidents} and {@code recent} lists
+     */
+    @ReadOperation
+    public Map<String, Object> dump(@Nullable String route) {
+        Map<String, Object> dump = new LinkedHashMap<>();
+        dump.put("enabled", flightRecorder.isEnabled());
+        dump.put("incidents", flightRecorder.incidents());
+        dump.put("recent", flightRecorder.recent(route));
+        return dump;
+    }
+
+    /**
+     * Drops the frozen incidents.
+     */
+    @DeleteOperation
+    public void clear() {
+        flightRecorder.clearIncidents();
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.redaction;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.reactify.filter.properties.RedactionProperties;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The {@code JsonRedactor} masks sensitive values of the bodies written to the
+ * logs. The body is read once by a Jackson streaming parser, without building
+ * a tree: the text between the sensitive values is copied as is and every
+ * sensitive value, scalar or nested, is replaced by the configured mask. A
+ * body without any sensitive value is returned unchanged, without copy.
+ * </p>
+ *
+ * <p>
+ * Captured bodies are bounded and therefore often truncated: the redactor
+ * stops at the end of the input and, when it ends in the middle of a sensitive
+ * value, drops what was read of that value. A syntax error before the end of
+ * the input, such as a single quoted value or a second document, ends the
+ * redaction: the text after the last complete token is replaced by the mask,
+ * since the sensitive values it may hold cannot be found. Bodies which are not
+ * JSON are handled as {@code application/x-www-form-urlencoded} pairs.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class JsonRedactor {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final boolean enable;
+
+    private final String[] fields;
+
+    private final Set<String> paths;
+
+    /** last segment of every path, checked before the path is built */
+    private final Set<String> pathLeaves;
+
+    private final String mask;
+
+    private final String jsonMask;
+
+    /**
+     * Constructs a new instance of {@code JsonRedactor}.
+     *
+     * @param properties
+     *            the sensitive fields and paths, and the mask
+     */
+    public JsonRedactor(RedactionProperties properties) {
+        this.fields = properties.getFields() == null ? new String[0] : properties.getFields().toArray(new String[0]);
+        this.paths = normalize(properties.getPaths());
+        this.pathLeaves =
+                paths.stream().map(path -> path.substring(path.lastIndexOf('.') + 1)).collect(Collectors.toSet());
+        this.enable = properties.isEnable() && (fields.length > 0 || !paths.isEmpty());
+        this.mask = properties.getMask();
+        this.jsonMask = '"' + properties.getMask() + '"';
+    }
+
+    /**
+     * Masks the sensitive values of a body.
+     *
+     * @param body
+     *            the JSON or form body, possibly truncated; may be {@code null}
+     * @return the redacted body, the same instance when nothing was masked
+     */
+    public String redact(String body) {
+        if (!enable || body == null) {
+            return body;
+        }
+        for (int i = 0, length = body.length(); i < length; i++) {
+            char c = body.charAt(i);
+            if (c == '{' || c == '[') {
+                return redactJson(body);
+            }
+            if (!Character.isWhitespace(c)) {
+                return body.indexOf('=') > 0 ? redactForm(body) : body;
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Tells whether values of a field are masked wherever they appear.
+     *
+     * @param name
+     *            the name of the field
+     * @return {@code true} if the field is sensitive
+     */
+    public boolean isSensitiveField(String name) {
+        return enable && name != null && matchesField(name, 0, name.length());
+    }
+
+    /**
+     * Returns the text written instead of a masked value.
+     *
+     * @return the mask
+     */
+    public String getMask() {
+        return mask;
+    }
+
+    /**
+     * Redacts a JSON document in a single pass of the streaming parser.
+     *
+     * @param body
+     *            the JSON document, possibly truncated
+     * @return the redacted document
+     */
+    private String redactJson(String body) {
+        StringBuilder out = null;
+        int copied = 0;
+        int pendingName = -1;
+        String pendingField = null;
+        int errorAt = -1;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME || !isSensitive(parser)) {
+                    continue;
+                }
+                pendingName = (int) parser.currentTokenLocation().getCharOffset();
+                pendingField = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == null) {
+                    break;
+                }
+                int valueStart = (int) parser.currentTokenLocation().getCharOffset();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                } else {
+                    // completes a lazily parsed string, so that its end is known
+                    parser.getText();
+                }
+                int valueEnd = (int) parser.currentLocation().getCharOffset();
+                if (valueStart < copied || valueEnd < valueStart) {
+                    return mask;
+                }
+                out = append(out, body, copied, valueStart).append(jsonMask);
+                copied = valueEnd;
+                pendingName = -1;
+            }
+        } catch (JsonEOFException e) {
+            // truncated input, the text read so far is kept
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            errorAt = location != null ? Math.max((int) location.getCharOffset(), 0) : 0;
+        } catch (IOException | RuntimeException e) {
+            errorAt = 0;
+        }
+        if (pendingName >= 0) {
+            if (pendingName < copied) {
+                return mask;
+            }
+            out = append(out, body, copied, pendingName)
+                    .append('"')
+                    .append(pendingField)
+                    .append("\":")
+                    .append(jsonMask);
+            return out.toString();
+        }
+        if (errorAt >= 0 && errorAt < body.length()) {
+            // a token cut at the end of the input is truncation, anything else is malformed
+            int cut = errorAt;
+            while (cut > copied && ",{[:".indexOf(body.charAt(cut - 1)) < 0) {
+                cut--;
+            }
+            return cut <= copied && out == null ? mask : append(out, body, copied, cut).append(mask).toString();
+        }
+        return out == null ? body : append(out, body, copied, body.length()).toString();
+    }
+
+    /**
+     * Redacts {@code name=value} pairs separated by {@code &}.
+     *
+     * @param body
+     *            the form body
+     * @return the redacted body
+     */
+    private String redactForm(String body) {
+        StringBuilder out = null;
+        int copied = 0;
+        int length = body.length();
+        int start = 0;
+        while (start < length) {
+            int end = body.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+            int equals = body.indexOf('=', start);
+            if (equals > start && equals < end && matchesField(body, start, equals)) {
+                out = append(out, body, copied, equals + 1).append(mask);
+                copied = end;
+            }
+            start = end + 1;
+        }
+        return out == null ? body : append(out, body, copied, length).toString();
+    }
+
+    /**
+     * Tells whether the field the parser is positioned on is sensitive.
+     *
+     * @param parser
+     *            the parser, positioned on a field name
+     * @return {@code true} if the value of the field must be masked
+     * @throws IOException
+     *             if the name cannot be read
+     */
+    private boolean isSensitive(JsonParser parser) throws IOException {
+        String name = parser.currentName();
+        if (matchesField(name, 0, name.length())) {
+            return true;
+        }
+        return pathLeaves.contains(name) && paths.contains(pathOf(parser.getParsingContext()));
+    }
+
+    /**
+     * Compares a region of a text with the sensitive field names, ignoring case
+     * and without allocation.
+     *
+     * @param text
+     *            the text holding the name
+     * @param from
+     *            start of the name, inclusive
+     * @param to
+     *            end of the name, exclusive
+     * @return {@code true} if the name is a sensitive field
+     */
+    private boolean matchesField(String text, int from, int to) {
+        int length = to - from;
+        for (String field : fields) {
+            if (field.length() == length && text.regionMatches(true, from, field, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the path of the current field, array indexes excluded.
+     *
+     * @param context
+     *            the parsing context of the field
+     * @return the dot separated path
+     */
+    private static String pathOf(JsonStreamContext context) {
+        StringBuilder path = new StringBuilder();
+        for (JsonStreamContext current = context; current != null; current = current.getParent()) {
+            if (current.inObject() && current.getCurrentName() != null) {
+                if (!path.isEmpty()) {
+                    path.insert(0, '.');
+                }
+                path.insert(0, current.getCurrentName());
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * Appends a region of the body, allocating the builder on first use.
+     *
+     * @param out
+     *            the builder, may be {@code null}
+     * @param body
+     *            the body
+     * @param from
+     *            start of the region, inclusive
+     * @param to
+     *            end of the region, exclusive
+     * @return the builder
+     */
+    private static StringBuilder append(StringBuilder out, String body, int from, int to) {
+        if (out == null) {
+            out = new StringBuilder(body.length() + 16);
+        }
+        return out.append(body, from, to);
+    }
+
+    /**
+     * Normalizes the configured paths to dot separated field names.
+     *
+     * @param paths
+     *            the configured paths, may be {@code null}
+     * @return the normalized paths
+     */
+    private static Set<String> normalize(List<String> paths) {
+        if (paths == null) {
+            return Set.of();
+        }
+        return paths.stream()
+                .map(path -> path.replaceAll("\\[[^\\]]*\\]", "").replaceFirst("^\\$\\.?", ""))
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.reactify.logging.DebugLogRule;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Actuator endpoint exposing the rules of the {@link DebugLogResolver}, so
+ * that debug logging can be turned on for a user, a route or a client for a
+ * while without a restart. It is available under {@code /actuator/debuglog}
+ * once exposed through {@code management.endpoints.web.exposure.include}.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@Endpoint(id = "debuglog")
+public class DebugLogEndpoint {
+
+    private final DebugLogResolver debugLogResolver;
+
+    /**
+     * Constructs a new instance of {@code DebugLogEndpoint}.
+     *
+     * @param debugLogResolver
+     *            the resolver whose rules are exposed
+     */
+    public DebugLogEndpoint(DebugLogResolver debugLogResolver) {
+        this.debugLogResolver = debugLogResolver;
+    }
+
+    /**
+     * Returns the rules currently in use.
+     *
+     * @return a {@link Map} of rules keyed by name
+     */
+    @ReadOperation
+    public Map<String, DebugLogRule> rules() {
+        return debugLogResolver.getRules();
+    }
+
+    /**
+     * Adds or replaces a rule.
+     *
+     * @param name
+     *            the name of the rule
+     * @param user
+     *            the user to match
+     * @param route
+     *            the route to match, may end with {@code *}
+     * @param clientAddress
+     *            the client address to match
+     * @param ttlSeconds
+     *            how long the rule applies, forever when absent
+     * @return the rule stored under the name
+     */
+    @WriteOperation
+    public DebugLogRule update(
+            String name,
+            @Nullable String user,
+            @Nullable String route,
+            @Nullable String clientAddress,
+            @Nullable Long ttlSeconds) {
+        Long expiresAt = ttlSeconds != null ? System.currentTimeMillis() + ttlSeconds * 1000 : null;
+        DebugLogRule rule = new DebugLogRule(user, route, clientAddress, expiresAt);
+        debugLogResolver.updateRule(name, rule);
+        return rule;
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @param name
+     *            the name of the rule
+     */
+    @DeleteOperation
+    public void remove(String name) {
+        debugLogResolver.removeRule(name);
+    }
+}
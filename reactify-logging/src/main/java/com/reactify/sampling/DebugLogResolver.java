@@ -0,0 +1,314 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.reactify.DataUtil;
+import com.reactify.ObjectMapperFactory;
+import com.reactify.RequestUtils;
+import com.reactify.constants.Constants;
+import com.reactify.filter.properties.DebugLogProperties;
+import com.reactify.logging.DebugLogRule;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.ContextView;
+
+/**
+ * <p>
+ * The {@code DebugLogResolver} decides whether an exchange gets request-scoped
+ * debug logging: its bodies are captured and its debug output is written,
+ * whatever the logger levels, the sampling rules and the load. An exchange is
+ * selected by a valid signed header or by a {@link DebugLogRule}, see
+ * {@link DebugLogProperties}.
+ * </p>
+ *
+ * <p>
+ * The decision is taken once per exchange and kept in its attributes, so every
+ * reactify filter can ask for it whatever their order. The
+ * {@link com.reactify.filter.http.DebugLogFilter} also puts it in the Reactor
+ * context under {@link #CONTEXT_KEY}, where the logging aspect and the web
+ * client logging filter read it. When the feature is disabled, or no rule nor
+ * secret is configured, a decision costs a field read.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class DebugLogResolver {
+
+    /** key of the decision in the Reactor context, shared with reactify-client */
+    public static final String CONTEXT_KEY = "reactify.debug-log";
+
+    private static final String ATTRIBUTE = DebugLogResolver.class.getName() + ".active";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(DebugLogResolver.class);
+
+    private final DebugLogProperties properties;
+
+    private final SecretKeySpec key;
+
+    /** current rules, replaced as a whole on every update */
+    private volatile Map<String, DebugLogRule> rules;
+
+    /** whether a rule matches on the user, which requires decoding the token */
+    private volatile boolean userRules;
+
+    /**
+     * Constructs a new instance of {@code DebugLogResolver}.
+     *
+     * @param properties
+     *            the header, the secret and the initial rules
+     */
+    public DebugLogResolver(DebugLogProperties properties) {
+        this.properties = properties;
+        this.key = DataUtil.isNullOrEmpty(properties.getSecret())
+                ? null
+                : new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        setRules(new LinkedHashMap<>(properties.getRules()));
+    }
+
+    /**
+     * Tells whether the Reactor context belongs to a debugged exchange.
+     *
+     * @param context
+     *            the context, may be {@code null}
+     * @return {@code true} if debug logging is on for the exchange
+     */
+    public static boolean isActive(ContextView context) {
+        return context != null && context.getOrDefault(CONTEXT_KEY, Boolean.FALSE);
+    }
+
+    /**
+     * <p>
+     * Tells whether the exchange gets debug logging, deciding it on the first
+     * call.
+     * </p>
+     *
+     * @param exchange
+     *            the current server exchange
+     * @return {@code true} if debug logging is on for the exchange
+     */
+    public boolean resolve(ServerWebExchange exchange) {
+        if (!properties.isEnable() || (key == null && rules.isEmpty())) {
+            return false;
+        }
+        Boolean active = exchange.getAttribute(ATTRIBUTE);
+        if (active == null) {
+            active = isSigned(exchange.getRequest()) || matchesRule(exchange.getRequest());
+            exchange.getAttributes().put(ATTRIBUTE, active);
+            if (active) {
+                log.info(
+                        "Debug logging on for {} {}",
+                        exchange.getRequest().getMethod(),
+                        exchange.getRequest().getPath());
+            }
+        }
+        return active;
+    }
+
+    /**
+     * <p>
+     * Signs an expiry time, producing a header value accepted until then.
+     * </p>
+     *
+     * @param expiresEpochSecond
+     *            the epoch second after which the value is rejected
+     * @return the header value, or {@code null} if no secret is configured
+     */
+    public String sign(long expiresEpochSecond) {
+        if (key == null) {
+            return null;
+        }
+        String expires = Long.toString(expiresEpochSecond);
+        return expires + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(expires));
+    }
+
+    /**
+     * Returns the rules currently in use.
+     *
+     * @return an unmodifiable {@link Map} of rules keyed by name
+     */
+    public Map<String, DebugLogRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Adds or replaces a rule at runtime.
+     *
+     * @param name
+     *            the name of the rule
+     * @param rule
+     *            the new {@link DebugLogRule}
+     */
+    public synchronized void updateRule(String name, DebugLogRule rule) {
+        Map<String, DebugLogRule> copy = new LinkedHashMap<>(rules);
+        copy.put(name, rule);
+        setRules(copy);
+        log.info("Debug log rule updated: {} -> {}", name, rule);
+    }
+
+    /**
+     * Removes a rule at runtime.
+     *
+     * @param name
+     *            the name of the rule
+     */
+    public synchronized void removeRule(String name) {
+        Map<String, DebugLogRule> copy = new LinkedHashMap<>(rules);
+        if (copy.remove(name) != null) {
+            setRules(copy);
+            log.info("Debug log rule removed: {}", name);
+        }
+    }
+
+    private void setRules(Map<String, DebugLogRule> rules) {
+        this.userRules = rules.values().stream().anyMatch(rule -> rule.getUser() != null);
+        this.rules = Collections.unmodifiableMap(rules);
+    }
+
+    /**
+     * Checks the signed header of the request.
+     *
+     * @param request
+     *            the incoming request
+     * @return {@code true} if the header is present, unexpired and correctly
+     *         signed
+     */
+    private boolean isSigned(ServerHttpRequest request) {
+        String value = key != null ? request.getHeaders().getFirst(properties.getHeader()) : null;
+        if (value == null) {
+            return false;
+        }
+        int dot = value.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        String expires = value.substring(0, dot);
+        long now = System.currentTimeMillis() / 1000;
+        try {
+            long expiresAt = Long.parseLong(expires);
+            if (expiresAt < now || expiresAt - now > properties.getMaxTtlSeconds()) {
+                return false;
+            }
+            byte[] signature = Base64.getUrlDecoder().decode(value.substring(dot + 1));
+            return MessageDigest.isEqual(mac(expires), signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Looks for a rule matching the request.
+     *
+     * @param request
+     *            the incoming request
+     * @return {@code true} if a rule matches
+     */
+    private boolean matchesRule(ServerHttpRequest request) {
+        Map<String, DebugLogRule> current = rules;
+        if (current.isEmpty()) {
+            return false;
+        }
+        String path = request.getPath().pathWithinApplication().value();
+        String route = path.startsWith("/") ? path.substring(1) : path;
+        String user = userRules ? userOf(request) : null;
+        String clientAddress = null;
+        long now = System.currentTimeMillis();
+        for (DebugLogRule rule : current.values()) {
+            if (rule.getUser() == null && rule.getRoute() == null && rule.getClientAddress() == null) {
+                continue;
+            }
+            if (rule.getExpiresAt() != null && rule.getExpiresAt() < now) {
+                continue;
+            }
+            if (rule.getUser() != null && !rule.getUser().equals(user)) {
+                continue;
+            }
+            if (rule.getRoute() != null && !matchesRoute(rule.getRoute(), route)) {
+                continue;
+            }
+            if (rule.getClientAddress() != null) {
+                if (clientAddress == null) {
+                    clientAddress = RequestUtils.getIpAddress(request);
+                }
+                if (!rule.getClientAddress().equals(clientAddress)) {
+                    continue;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean matchesRoute(String pattern, String route) {
+        return pattern.endsWith("*")
+                ? route.startsWith(pattern.substring(0, pattern.length() - 1))
+                : pattern.equals(route);
+    }
+
+    /**
+     * Reads the configured claim of the bearer token, without verifying it.
+     *
+     * @param request
+     *            the incoming request
+     * @return the user, or {@code null}
+     */
+    private String userOf(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(Constants.Security.AUTHORIZATION);
+        String prefix = Constants.Security.BEARER + " ";
+        if (authorization == null || !authorization.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return null;
+        }
+        String[] parts = authorization.substring(prefix.length()).trim().split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode claims = ObjectMapperFactory.getInstance().readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode user = claims.get(properties.getUserClaim());
+            return user != null && user.isTextual() ? user.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.reactify.LoggerQueue;
+import com.reactify.filter.properties.LoggingGovernorProperties;
+import com.reactify.logging.LogDetailLevel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The {@code LoggingGovernor} protects the application from its own logs. It
+ * watches the fill ratio of the {@link LoggerQueue}, how long pending records
+ * have been waiting for a drain and the CPU load of the process, and steps the
+ * {@link LogDetailLevel} down when one of them crosses its threshold: full
+ * bodies, then headers only, then summaries, then sampled summaries.
+ * </p>
+ *
+ * <p>
+ * The load is evaluated lazily by the callers of {@link #getLevel()}, at most
+ * once per {@code interval-ms}, so no scheduler is needed. The level drops as
+ * soon as a threshold is reached but is only raised one step at a time, after
+ * the load stayed below a fraction of the thresholds for several evaluations,
+ * which avoids flapping around a threshold. The current level is exported as
+ * the {@code reactify.logging.level} gauge when a {@link MeterRegistry} is
+ * available.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class LoggingGovernor {
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(LoggingGovernor.class);
+
+    private static final LogDetailLevel[] LEVELS = LogDetailLevel.values();
+
+    private final LoggingGovernorProperties properties;
+
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+    private final AtomicLong nextEvaluation = new AtomicLong();
+
+    private volatile LogDetailLevel level = LogDetailLevel.FULL;
+
+    /** consecutive calm evaluations, only touched by the evaluating thread */
+    private int calmEvaluations;
+
+    /**
+     * Constructs a new instance of {@code LoggingGovernor}.
+     *
+     * @param properties
+     *            the thresholds of the governor
+     * @param meterRegistry
+     *            the registry exporting the level, optional
+     */
+    public LoggingGovernor(LoggingGovernorProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            LoggerQueue queue = LoggerQueue.getInstance();
+            Gauge.builder("reactify.logging.level", this, governor -> governor.level.ordinal())
+                    .description("Detail of the logs: 0 full, 1 headers, 2 summary, 3 sampled")
+                    .register(registry);
+            Gauge.builder("reactify.logging.queue.fill", queue, LoggerQueue::getFillRatio)
+                    .description("Fill ratio of the fullest log queue")
+                    .register(registry);
+            FunctionCounter.builder("reactify.logging.dropped", queue, LoggerQueue::getDroppedTotal)
+                    .description("Number of log records dropped because a queue was full")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the detail level of the logs, evaluating the load first when the
+     * interval elapsed.
+     * </p>
+     *
+     * @return the current {@link LogDetailLevel}
+     */
+    public LogDetailLevel getLevel() {
+        if (!properties.isEnable()) {
+            return LogDetailLevel.FULL;
+        }
+        long now = System.currentTimeMillis();
+        long next = nextEvaluation.get();
+        if (now >= next && nextEvaluation.compareAndSet(next, now + properties.getIntervalMs())) {
+            evaluate();
+        }
+        return level;
+    }
+
+    /**
+     * Tells whether bodies are logged at the current level.
+     *
+     * @return {@code true} at the {@link LogDetailLevel#FULL} level
+     */
+    public boolean keepBodies() {
+        return getLevel() == LogDetailLevel.FULL;
+    }
+
+    /**
+     * Tells whether headers are logged at the current level.
+     *
+     * @return {@code true} at the {@link LogDetailLevel#FULL} and
+     *         {@link LogDetailLevel#HEADERS} levels
+     */
+    public boolean keepHeaders() {
+        return getLevel().compareTo(LogDetailLevel.HEADERS) <= 0;
+    }
+
+    /**
+     * Tells whether a record is logged at the current level. Every record is
+     * kept, except successful ones at the {@link LogDetailLevel#SAMPLED} level
+     * which are kept at the configured sample rate.
+     *
+     * @param error
+     *            whether the call failed
+     * @return {@code true} if the record must be logged
+     */
+    public boolean sample(boolean error) {
+        return error
+                || getLevel() != LogDetailLevel.SAMPLED
+                || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+
+    /**
+     * Compares the load with the thresholds and moves the level.
+     */
+    private void evaluate() {
+        LoggerQueue queue = LoggerQueue.getInstance();
+        double fill = queue.getFillRatio();
+        long lag = queue.getDrainLagMs();
+        double cpu = cpuLoad();
+        int pressure = Math.max(
+                stepOf(fill, properties.getQueueThresholds(), 1),
+                Math.max(
+                        stepOf(lag, properties.getDrainLagThresholdsMs(), 1),
+                        stepOf(cpu, properties.getCpuThresholds(), 1)));
+        double ratio = properties.getRecoverRatio();
+        int residual = Math.max(
+                stepOf(fill, properties.getQueueThresholds(), ratio),
+                Math.max(
+                        stepOf(lag, properties.getDrainLagThresholdsMs(), ratio),
+                        stepOf(cpu, properties.getCpuThresholds(), ratio)));
+
+        int current = level.ordinal();
+        int target = current;
+        if (pressure > current) {
+            target = pressure;
+            calmEvaluations = 0;
+        } else if (residual < current) {
+            if (++calmEvaluations >= properties.getRecoverAfter()) {
+                target = current - 1;
+                calmEvaluations = 0;
+            }
+        } else {
+            calmEvaluations = 0;
+        }
+        if (target != current) {
+            level = LEVELS[target];
+            log.warn(
+                    "Logging detail changed from {} to {} (queue fill {}, drain lag {}ms, cpu {})",
+                    LEVELS[current],
+                    LEVELS[target],
+                    fill,
+                    lag,
+                    cpu);
+        }
+    }
+
+    /**
+     * Returns the process CPU load when the JVM exposes it.
+     *
+     * @return the load between 0 and 1, or 0 when unknown
+     */
+    private double cpuLoad() {
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean os) {
+            double load = os.getProcessCpuLoad();
+            return load > 0 ? load : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of thresholds reached by a value.
+     *
+     * @param value
+     *            the observed value
+     * @param thresholds
+     *            the ascending thresholds, only the first three are used
+     * @param ratio
+     *            factor applied to the thresholds
+     * @return the step, between 0 and 3
+     */
+    private static int stepOf(double value, List<? extends Number> thresholds, double ratio) {
+        int step = 0;
+        if (thresholds == null) {
+            return step;
+        }
+        for (int i = 0; i < Math.min(thresholds.size(), LEVELS.length - 1); i++) {
+            if (value >= thresholds.get(i).doubleValue() * ratio) {
+                step = i + 1;
+            }
+        }
+        return step;
+    }
+}
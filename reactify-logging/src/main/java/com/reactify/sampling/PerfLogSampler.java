@@ -0,0 +1,348 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.reactify.filter.properties.PerfLogProperties;
+import com.reactify.logging.PerfLogRule;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The {@code PerfLogSampler} decides whether a performance record of a route
+ * or a method is written. It implements tail based sampling: failed calls and
+ * calls slower than the configured threshold (or slower than the observed
+ * percentile of the same key) are always kept, while fast calls are only kept
+ * at the configured sample rate.
+ * </p>
+ *
+ * <p>
+ * Rules are read from {@link PerfLogProperties} at startup and can be replaced
+ * at runtime through {@link #updateRule(String, PerfLogRule)} and
+ * {@link #removeRule(String)}, for example from the
+ * {@link PerfLogSamplingEndpoint} actuator endpoint. The rule resolved for a
+ * key is cached, so a decision costs a map lookup and a random number in the
+ * common case.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class PerfLogSampler {
+
+    /**
+     * A static logger instance for logging messages
+     */
+    private static final Logger log = LoggerFactory.getLogger(PerfLogSampler.class);
+
+    /** upper bound of cached resolutions, protects against unbounded route names */
+    private static final int MAX_RESOLVED_KEYS = 10000;
+
+    /**
+     * upper bound of latency reservoirs, about 4 KB each; keys seen once the
+     * bound is reached are sampled on the slow threshold only
+     */
+    private static final int MAX_RESERVOIRS = 1000;
+
+    private final PerfLogProperties properties;
+
+    /** current rules, replaced as a whole on every update */
+    private volatile Map<String, PerfLogRule> rules;
+
+    private final Set<String> excludes;
+
+    private final Map<String, EffectiveRule> resolved = new ConcurrentHashMap<>();
+
+    private final Map<String, LatencyReservoir> reservoirs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@code PerfLogSampler}.
+     *
+     * @param properties
+     *            the global sampling configuration and initial rules
+     */
+    public PerfLogSampler(PerfLogProperties properties) {
+        this.properties = properties;
+        this.rules = Collections.unmodifiableMap(new LinkedHashMap<>(properties.getRules()));
+        this.excludes = Set.copyOf(properties.getExcludes());
+    }
+
+    /**
+     * <p>
+     * Decides whether the record of a finished call must be logged.
+     * </p>
+     *
+     * @param key
+     *            the route or method name of the call
+     * @param durationMs
+     *            the duration of the call in milliseconds
+     * @param error
+     *            whether the call failed
+     * @return {@code true} if the record must be logged
+     */
+    public boolean shouldLog(String key, long durationMs, boolean error) {
+        EffectiveRule rule = resolve(key);
+        if (!rule.enable) {
+            return false;
+        }
+        if (rule.percentile > 0) {
+            LatencyReservoir reservoir = reservoirOf(key);
+            if (reservoir != null) {
+                reservoir.record(durationMs);
+                if (reservoir.isAbove(durationMs, rule.percentile, rule.slowThresholdMs)) {
+                    return true;
+                }
+            }
+        }
+        if (error && rule.keepErrors) {
+            return true;
+        }
+        if (durationMs >= rule.slowThresholdMs) {
+            return true;
+        }
+        return rule.sampleRate >= 1
+                || (rule.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < rule.sampleRate);
+    }
+
+    /**
+     * <p>
+     * Tells whether a route or method is instrumented at all. Disabled keys are
+     * neither timed nor logged, so callers can skip their instrumentation
+     * entirely.
+     * </p>
+     *
+     * @param key
+     *            the route or method name
+     * @return {@code false} if the key is excluded or disabled by a rule
+     */
+    public boolean isEnabled(String key) {
+        return resolve(key).enable;
+    }
+
+    /**
+     * <p>
+     * Returns the rules currently in use.
+     * </p>
+     *
+     * @return an unmodifiable {@link Map} of rules keyed by route or method name
+     */
+    public Map<String, PerfLogRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * <p>
+     * Adds or replaces the rule of a route or method name at runtime.
+     * </p>
+     *
+     * @param key
+     *            the route or method name, may end with {@code *}
+     * @param rule
+     *            the new {@link PerfLogRule}
+     */
+    public synchronized void updateRule(String key, PerfLogRule rule) {
+        Map<String, PerfLogRule> copy = new LinkedHashMap<>(rules);
+        copy.put(key, rule);
+        rules = Collections.unmodifiableMap(copy);
+        resolved.clear();
+        log.info("Performance log rule updated: {} -> {}", key, rule);
+    }
+
+    /**
+     * <p>
+     * Removes the rule of a route or method name at runtime.
+     * </p>
+     *
+     * @param key
+     *            the route or method name of the rule
+     */
+    public synchronized void removeRule(String key) {
+        Map<String, PerfLogRule> copy = new LinkedHashMap<>(rules);
+        if (copy.remove(key) != null) {
+            rules = Collections.unmodifiableMap(copy);
+            resolved.clear();
+            log.info("Performance log rule removed: {}", key);
+        }
+    }
+
+    /**
+     * Returns the latency reservoir of a key, creating it while the number of
+     * reservoirs is below {@link #MAX_RESERVOIRS}.
+     *
+     * @param key
+     *            the route or method name
+     * @return the {@link LatencyReservoir} of the key, or {@code null}
+     */
+    private LatencyReservoir reservoirOf(String key) {
+        LatencyReservoir reservoir = reservoirs.get(key);
+        if (reservoir != null || reservoirs.size() >= MAX_RESERVOIRS) {
+            return reservoir;
+        }
+        return reservoirs.computeIfAbsent(key, k -> new LatencyReservoir());
+    }
+
+    /**
+     * Resolves the effective rule of a key, using the cache when possible.
+     *
+     * @param key
+     *            the route or method name
+     * @return the {@link EffectiveRule} of the key
+     */
+    private EffectiveRule resolve(String key) {
+        EffectiveRule rule = resolved.get(key);
+        if (rule != null) {
+            return rule;
+        }
+        if (resolved.size() >= MAX_RESOLVED_KEYS) {
+            resolved.clear();
+        }
+        rule = merge(excludes.contains(key) ? new PerfLogRule(false, null, null, null, null) : findRule(key));
+        resolved.put(key, rule);
+        return rule;
+    }
+
+    /**
+     * Finds the rule of a key, an exact match wins over the longest prefix match.
+     *
+     * @param key
+     *            the route or method name
+     * @return the matching {@link PerfLogRule}, or {@code null}
+     */
+    private PerfLogRule findRule(String key) {
+        Map<String, PerfLogRule> current = rules;
+        PerfLogRule exact = current.get(key);
+        if (exact != null) {
+            return exact;
+        }
+        PerfLogRule best = null;
+        int bestLength = -1;
+        for (Map.Entry<String, PerfLogRule> entry : current.entrySet()) {
+            String pattern = entry.getKey();
+            if (pattern.endsWith("*")) {
+                String prefix = pattern.substring(0, pattern.length() - 1);
+                if (key.startsWith(prefix) && prefix.length() > bestLength) {
+                    best = entry.getValue();
+                    bestLength = prefix.length();
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Merges a rule with the global configuration.
+     *
+     * @param rule
+     *            the rule, may be {@code null}
+     * @return the {@link EffectiveRule}
+     */
+    private EffectiveRule merge(PerfLogRule rule) {
+        if (rule == null) {
+            return new EffectiveRule(
+                    true,
+                    properties.isKeepErrors(),
+                    properties.getSlowThresholdMs(),
+                    properties.getPercentile(),
+                    properties.getSampleRate());
+        }
+        return new EffectiveRule(
+                rule.getEnable() == null || rule.getEnable(),
+                rule.getKeepErrors() != null ? rule.getKeepErrors() : properties.isKeepErrors(),
+                rule.getSlowThresholdMs() != null ? rule.getSlowThresholdMs() : properties.getSlowThresholdMs(),
+                rule.getPercentile() != null ? rule.getPercentile() : properties.getPercentile(),
+                rule.getSampleRate() != null ? rule.getSampleRate() : properties.getSampleRate());
+    }
+
+    /**
+     * Immutable rule with every attribute resolved.
+     */
+    private static final class EffectiveRule {
+        private final boolean enable;
+        private final boolean keepErrors;
+        private final long slowThresholdMs;
+        private final double percentile;
+        private final double sampleRate;
+
+        private EffectiveRule(
+                boolean enable, boolean keepErrors, long slowThresholdMs, double percentile, double sampleRate) {
+            this.enable = enable;
+            this.keepErrors = keepErrors;
+            this.slowThresholdMs = slowThresholdMs;
+            this.percentile = percentile;
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    /**
+     * <p>
+     * Fixed size reservoir of the latest durations of a key. The percentile is
+     * recomputed every {@link #RECOMPUTE_EVERY} records, so the sort cost is
+     * amortized over many calls. Concurrent writers may overwrite each other's
+     * slot, which is acceptable for an approximation. Durations are counted in
+     * milliseconds, so a call is only above the percentile when strictly slower,
+     * and never below the slow threshold, otherwise a percentile of 0 or 1 ms
+     * would log nearly every call.
+     * </p>
+     */
+    private static final class LatencyReservoir {
+        private static final int SIZE = 512;
+        private static final int RECOMPUTE_EVERY = 128;
+        private static final int MIN_SAMPLES = 100;
+
+        private final long[] samples = new long[SIZE];
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long threshold = Long.MAX_VALUE;
+        private volatile double thresholdPercentile;
+
+        private void record(long durationMs) {
+            int n = count.getAndIncrement();
+            samples[Math.floorMod(n, SIZE)] = durationMs;
+            if (n >= MIN_SAMPLES && n % RECOMPUTE_EVERY == 0) {
+                recompute(Math.min(n + 1, SIZE), thresholdPercentile);
+            }
+        }
+
+        private boolean isAbove(long durationMs, double percentile, long floorMs) {
+            if (percentile != thresholdPercentile) {
+                thresholdPercentile = percentile;
+                int n = count.get();
+                if (n >= MIN_SAMPLES) {
+                    recompute(Math.min(n, SIZE), percentile);
+                }
+            }
+            return durationMs > Math.max(threshold, floorMs);
+        }
+
+        private void recompute(int size, double percentile) {
+            if (percentile <= 0) {
+                return;
+            }
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+            threshold = copy[Math.max(index, 0)];
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.reactify.logging.PerfLogRule;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Actuator endpoint exposing the rules of the {@link PerfLogSampler} so they
+ * can be inspected and changed at runtime without a restart. It is available
+ * under {@code /actuator/perflogsampling} once exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@Endpoint(id = "perflogsampling")
+public class PerfLogSamplingEndpoint {
+
+    private final PerfLogSampler perfLogSampler;
+
+    /**
+     * Constructs a new instance of {@code PerfLogSamplingEndpoint}.
+     *
+     * @param perfLogSampler
+     *            the sampler whose rules are exposed
+     */
+    public PerfLogSamplingEndpoint(PerfLogSampler perfLogSampler) {
+        this.perfLogSampler = perfLogSampler;
+    }
+
+    /**
+     * Returns the rules currently in use.
+     *
+     * @return a {@link Map} of rules keyed by route or method name
+     */
+    @ReadOperation
+    public Map<String, PerfLogRule> rules() {
+        return perfLogSampler.getRules();
+    }
+
+    /**
+     * Adds or replaces the rule of a route or method name.
+     *
+     * @param key
+     *            the route or method name, may end with {@code *}
+     * @param enable
+     *            whether records are logged at all
+     * @param keepErrors
+     *            whether failed calls are always logged
+     * @param slowThresholdMs
+     *            calls slower than this duration (ms) are always logged
+     * @param percentile
+     *            calls slower than this observed percentile are always logged
+     * @param sampleRate
+     *            ratio of fast calls which are still logged
+     * @return the rule stored for the key
+     */
+    @WriteOperation
+    public PerfLogRule update(
+            String key,
+            @Nullable Boolean enable,
+            @Nullable Boolean keepErrors,
+            @Nullable Long slowThresholdMs,
+            @Nullable Double percentile,
+            @Nullable Double sampleRate) {
+        PerfLogRule rule = new PerfLogRule(enable, keepErrors, slowThresholdMs, percentile, sampleRate);
+        perfLogSampler.updateRule(key, rule);
+        return rule;
+    }
+
+    /**
+     * Removes the rule of a route or method name.
+     *
+     * @param key
+     *            the route or method name of the rule
+     */
+    @DeleteOperation
+    public void remove(String key) {
+        perfLogSampler.removeRule(key);
+    }
+}
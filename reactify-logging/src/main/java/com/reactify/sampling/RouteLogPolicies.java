@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.reactify.filter.properties.RouteLogProperties;
+import com.reactify.logging.RouteLogRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * <p>
+ * The {@code RouteLogPolicies} resolve the {@link RouteLogPolicy} of an
+ * exchange. The patterns of {@link RouteLogProperties} are parsed once at
+ * startup into {@link PathPattern}s ordered from the most to the least
+ * specific, the first one matching the path wins.
+ * </p>
+ *
+ * <p>
+ * The policy of a path is cached, and the policy of an exchange is kept in its
+ * attributes, so every reactify filter reads the same policy object for the
+ * cost of a map lookup.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class RouteLogPolicies {
+
+    private static final String ATTRIBUTE = RouteLogPolicies.class.getName() + ".policy";
+
+    /** upper bound of cached paths, protects against unbounded path variables */
+    private static final int MAX_RESOLVED_PATHS = 10000;
+
+    private final List<PathPattern> patterns = new ArrayList<>();
+
+    private final Map<PathPattern, RouteLogPolicy> policies = new ConcurrentHashMap<>();
+
+    private final Map<String, RouteLogPolicy> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@code RouteLogPolicies}.
+     *
+     * @param properties
+     *            the rules keyed by path pattern
+     */
+    public RouteLogPolicies(RouteLogProperties properties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (Map.Entry<String, RouteLogRule> entry : properties.getRules().entrySet()) {
+            PathPattern pattern = parser.parse(entry.getKey());
+            patterns.add(pattern);
+            policies.put(pattern, new RouteLogPolicy(entry.getKey(), entry.getValue()));
+        }
+        patterns.sort(PathPattern.SPECIFICITY_COMPARATOR);
+    }
+
+    /**
+     * Returns the policy of an exchange, resolving it on the first call.
+     *
+     * @param exchange
+     *            the current server exchange
+     * @return the {@link RouteLogPolicy} of the exchange
+     */
+    public RouteLogPolicy of(ServerWebExchange exchange) {
+        RouteLogPolicy policy = exchange.getAttribute(ATTRIBUTE);
+        if (policy == null) {
+            policy = of(exchange.getRequest().getPath().pathWithinApplication());
+            exchange.getAttributes().put(ATTRIBUTE, policy);
+        }
+        return policy;
+    }
+
+    /**
+     * Returns the policy of a path.
+     *
+     * @param path
+     *            the path within the application
+     * @return the {@link RouteLogPolicy} of the path
+     */
+    public RouteLogPolicy of(PathContainer path) {
+        if (patterns.isEmpty()) {
+            return RouteLogPolicy.DEFAULT;
+        }
+        String key = path.value();
+        RouteLogPolicy policy = resolved.get(key);
+        if (policy != null) {
+            return policy;
+        }
+        if (resolved.size() >= MAX_RESOLVED_PATHS) {
+            resolved.clear();
+        }
+        policy = RouteLogPolicy.DEFAULT;
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                policy = policies.get(pattern);
+                break;
+            }
+        }
+        resolved.put(key, policy);
+        return policy;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.sampling;
+
+import com.reactify.logging.LogDetailLevel;
+import com.reactify.logging.RouteLogRule;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>
+ * Logging policy of a route, resolved by {@link RouteLogPolicies} from the
+ * matching {@link RouteLogRule}. Instances are immutable and built at startup,
+ * so reading a policy costs no allocation.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public final class RouteLogPolicy {
+
+    /** policy of the routes matching no rule */
+    public static final RouteLogPolicy DEFAULT = new RouteLogPolicy(null, new RouteLogRule());
+
+    private final String pattern;
+    private final boolean excluded;
+    private final LogDetailLevel level;
+    private final int maxBodyBytes;
+    private final double sampleRate;
+
+    RouteLogPolicy(String pattern, RouteLogRule rule) {
+        this.pattern = pattern;
+        this.excluded = Boolean.TRUE.equals(rule.getExclude());
+        this.level = rule.getLevel() != null ? rule.getLevel() : LogDetailLevel.FULL;
+        this.maxBodyBytes = rule.getMaxBodyBytes() != null ? rule.getMaxBodyBytes() : -1;
+        this.sampleRate = rule.getSampleRate() != null ? rule.getSampleRate() : 1;
+    }
+
+    /**
+     * Returns the pattern of the rule.
+     *
+     * @return the pattern, {@code null} for the default policy
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Tells whether the route is not logged at all.
+     *
+     * @return {@code true} if the route is excluded
+     */
+    public boolean isExcluded() {
+        return excluded;
+    }
+
+    /**
+     * Caps a level with the level of the route.
+     *
+     * @param level
+     *            the level chosen for the exchange, e.g. by the
+     *            {@link LoggingGovernor}
+     * @return the less detailed of both levels
+     */
+    public LogDetailLevel cap(LogDetailLevel level) {
+        return level.compareTo(this.level) >= 0 ? level : this.level;
+    }
+
+    /**
+     * Tells whether bodies of the route are captured.
+     *
+     * @return {@code true} if the level of the route is {@link LogDetailLevel#FULL}
+     */
+    public boolean keepBodies() {
+        return level == LogDetailLevel.FULL;
+    }
+
+    /**
+     * Tells whether headers of the route are logged.
+     *
+     * @return {@code true} if the level of the route keeps headers
+     */
+    public boolean keepHeaders() {
+        return level.compareTo(LogDetailLevel.HEADERS) <= 0;
+    }
+
+    /**
+     * Returns the maximum number of bytes captured per body.
+     *
+     * @param fallback
+     *            the value used when the rule does not set it
+     * @return a number of bytes
+     */
+    public int maxBodyBytes(int fallback) {
+        return maxBodyBytes >= 0 ? maxBodyBytes : fallback;
+    }
+
+    /**
+     * Decides whether an exchange of the route is logged, failed exchanges
+     * always are.
+     *
+     * @param error
+     *            whether the exchange failed
+     * @return {@code true} if the exchange must be logged
+     */
+    public boolean sample(boolean error) {
+        return error || sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
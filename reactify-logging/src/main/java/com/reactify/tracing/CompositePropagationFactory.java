@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.tracing;
+
+import brave.propagation.Propagation;
+import brave.propagation.TraceContext;
+import brave.propagation.TraceContextOrSamplingFlags;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * Propagation factory combining several header formats, e.g. W3C
+ * {@code traceparent} and B3. Every format is injected into outgoing requests,
+ * the first format found on an incoming request wins.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class CompositePropagationFactory extends Propagation.Factory implements Propagation<String> {
+
+    private final List<Propagation.Factory> factories;
+    private final List<Propagation<String>> propagations;
+    private final List<String> keys;
+
+    /**
+     * Constructs a new instance of {@code CompositePropagationFactory}.
+     *
+     * @param factories
+     *            the factories of the formats, in extraction order
+     */
+    public CompositePropagationFactory(List<Propagation.Factory> factories) {
+        this.factories = List.copyOf(factories);
+        List<Propagation<String>> list = new ArrayList<>();
+        Set<String> allKeys = new LinkedHashSet<>();
+        for (Propagation.Factory factory : factories) {
+            Propagation<String> propagation = factory.get();
+            list.add(propagation);
+            allKeys.addAll(propagation.keys());
+        }
+        this.propagations = List.copyOf(list);
+        this.keys = List.copyOf(allKeys);
+    }
+
+    @Override
+    public Propagation<String> get() {
+        return this;
+    }
+
+    @Override
+    public boolean supportsJoin() {
+        return factories.stream().allMatch(Propagation.Factory::supportsJoin);
+    }
+
+    @Override
+    public boolean requires128BitTraceId() {
+        return factories.stream().anyMatch(Propagation.Factory::requires128BitTraceId);
+    }
+
+    @Override
+    public TraceContext decorate(TraceContext context) {
+        TraceContext decorated = context;
+        for (Propagation.Factory factory : factories) {
+            decorated = factory.decorate(decorated);
+        }
+        return decorated;
+    }
+
+    @Override
+    public List<String> keys() {
+        return keys;
+    }
+
+    @Override
+    public <R> TraceContext.Injector<R> injector(Setter<R, String> setter) {
+        List<TraceContext.Injector<R>> injectors = new ArrayList<>(propagations.size());
+        for (Propagation<String> propagation : propagations) {
+            injectors.add(propagation.injector(setter));
+        }
+        return (context, request) -> {
+            for (TraceContext.Injector<R> injector : injectors) {
+                injector.inject(context, request);
+            }
+        };
+    }
+
+    @Override
+    public <R> TraceContext.Extractor<R> extractor(Getter<R, String> getter) {
+        List<TraceContext.Extractor<R>> extractors = new ArrayList<>(propagations.size());
+        for (Propagation<String> propagation : propagations) {
+            extractors.add(propagation.extractor(getter));
+        }
+        return request -> {
+            for (TraceContext.Extractor<R> extractor : extractors) {
+                TraceContextOrSamplingFlags extracted = extractor.extract(request);
+                if (extracted != TraceContextOrSamplingFlags.EMPTY) {
+                    return extracted;
+                }
+            }
+            return TraceContextOrSamplingFlags.EMPTY;
+        };
+    }
+}
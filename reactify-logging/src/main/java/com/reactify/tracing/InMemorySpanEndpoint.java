@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.tracing;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Actuator endpoint exposing the spans kept by the {@link InMemorySpanHandler}.
+ * It is available under {@code /actuator/spans} once exposed through
+ * {@code management.endpoints.web.exposure.include}, and returns an empty list
+ * unless {@code application.tracing.in-memory-capacity} is set.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+@Endpoint(id = "spans")
+public class InMemorySpanEndpoint {
+
+    private final InMemorySpanHandler inMemorySpanHandler;
+
+    /**
+     * Constructs a new instance of {@code InMemorySpanEndpoint}.
+     *
+     * @param inMemorySpanHandler
+     *            the exporter whose spans are exposed
+     */
+    public InMemorySpanEndpoint(InMemorySpanHandler inMemorySpanHandler) {
+        this.inMemorySpanHandler = inMemorySpanHandler;
+    }
+
+    /**
+     * Returns the spans kept, oldest first.
+     *
+     * @return the finished spans
+     */
+    @ReadOperation
+    public List<Map<String, Object>> spans() {
+        return inMemorySpanHandler.getSpans();
+    }
+
+    /**
+     * Removes every span kept.
+     */
+    @DeleteOperation
+    public void clear() {
+        inMemorySpanHandler.clear();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.reactify.filter.properties.TracingProperties;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Bounded in-memory exporter of finished spans, meant for local testing where
+ * no tracing backend is available. The oldest spans are dropped once
+ * {@link TracingProperties#getInMemoryCapacity()} spans are kept. It is
+ * registered on the tracer only when the capacity is greater than 0, and its
+ * content is exposed by the {@link InMemorySpanEndpoint}.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Component
+public class InMemorySpanHandler extends SpanHandler {
+
+    private final int capacity;
+    private final ArrayDeque<Map<String, Object>> spans;
+
+    /**
+     * Constructs a new instance of {@code InMemorySpanHandler}.
+     *
+     * @param properties
+     *            the tracing configuration
+     */
+    public InMemorySpanHandler(TracingProperties properties) {
+        this.capacity = Math.max(properties.getInMemoryCapacity(), 0);
+        this.spans = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Tells whether spans are kept at all.
+     *
+     * @return {@code true} if the capacity is greater than 0
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (capacity == 0 || cause == Cause.ABANDONED) {
+            return true;
+        }
+        Map<String, Object> finished = toMap(span);
+        synchronized (spans) {
+            if (spans.size() == capacity) {
+                spans.pollFirst();
+            }
+            spans.addLast(finished);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the spans kept, oldest first.
+     *
+     * @return a copy of the spans
+     */
+    public List<Map<String, Object>> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * Removes every span kept.
+     */
+    public void clear() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+
+    private static Map<String, Object> toMap(MutableSpan span) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("traceId", span.traceId());
+        values.put("parentId", span.parentId());
+        values.put("id", span.id());
+        values.put("kind", span.kind() != null ? span.kind().name() : null);
+        values.put("name", span.name());
+        values.put("localServiceName", span.localServiceName());
+        values.put("remoteServiceName", span.remoteServiceName());
+        values.put("timestamp", span.startTimestamp());
+        values.put("durationMicros", span.finishTimestamp() - span.startTimestamp());
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag((target, key, value) -> target.put(key, value), tags);
+        values.put("tags", tags);
+        values.put("error", span.error() != null ? span.error().toString() : null);
+        return values;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.tracing;
+
+import com.reactify.constants.CommonConstant;
+import org.slf4j.MDC;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * <p>
+ * Bridges the Reactor {@link Context} of a request to the SLF4J {@link MDC}
+ * around a log call only. The MDC is bound to the thread, which in a reactive
+ * application runs many requests one after the other, so values left in it
+ * would show up in the logs of unrelated requests. A scope sets the values of
+ * a small fixed set of keys and restores the previous ones when closed:
+ * </p>
+ *
+ * <pre>
+ * Mono.deferContextual(context -&gt; {
+ *     try (MdcScope ignored = MdcScope.open(context)) {
+ *         log.info("Order created");
+ *     }
+ *     return Mono.just(order);
+ * });
+ * </pre>
+ *
+ * <p>
+ * Nothing is done per operator: the values travel in the Reactor context, put
+ * by {@link #write(Context, String, String, String)} once per request, and are
+ * only copied to the MDC while a log line is written.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public final class MdcScope implements AutoCloseable {
+
+    /** MDC key of the trace ID */
+    public static final String TRACE_ID = "X-B3-TraceId";
+
+    /** keys bridged to the MDC, in the order of the values of a scope */
+    private static final String[] KEYS = {TRACE_ID, CommonConstant.MSISDN_TOKEN, CommonConstant.REQUEST_ID};
+
+    /** values of the keys before the scope was opened, {@code null} if unset */
+    private final String[] previous;
+
+    private MdcScope(String[] previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Puts the values bridged to the MDC in a Reactor context.
+     *
+     * @param context
+     *            the context of the request
+     * @param traceId
+     *            the trace ID, may be {@code null}
+     * @param msisdn
+     *            the msisdn of the caller, may be {@code null}
+     * @param requestId
+     *            the ID of the request, may be {@code null}
+     * @return the context with the non null values
+     */
+    public static Context write(Context context, String traceId, String msisdn, String requestId) {
+        String[] values = {traceId, msisdn, requestId};
+        Context written = context;
+        for (int i = 0; i < KEYS.length; i++) {
+            if (values[i] != null) {
+                written = written.put(KEYS[i], values[i]);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Copies the values of a Reactor context to the MDC.
+     *
+     * @param context
+     *            the context of the request
+     * @return the scope to close once the log call is done
+     */
+    public static MdcScope open(ContextView context) {
+        return open(
+                context.getOrDefault(TRACE_ID, null),
+                context.getOrDefault(CommonConstant.MSISDN_TOKEN, null),
+                context.getOrDefault(CommonConstant.REQUEST_ID, null));
+    }
+
+    /**
+     * Sets the values in the MDC, a {@code null} value removes its key for the
+     * duration of the scope.
+     *
+     * @param traceId
+     *            the trace ID
+     * @param msisdn
+     *            the msisdn of the caller
+     * @param requestId
+     *            the ID of the request
+     * @return the scope to close once the log call is done
+     */
+    public static MdcScope open(String traceId, String msisdn, String requestId) {
+        String[] values = {traceId, msisdn, requestId};
+        String[] previous = new String[KEYS.length];
+        for (int i = 0; i < KEYS.length; i++) {
+            previous[i] = MDC.get(KEYS[i]);
+            set(KEYS[i], values[i]);
+        }
+        return new MdcScope(previous);
+    }
+
+    /**
+     * Restores the values the keys had before the scope was opened.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < KEYS.length; i++) {
+            set(KEYS[i], previous[i]);
+        }
+    }
+
+    private static void set(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
+        }
+    }
+}
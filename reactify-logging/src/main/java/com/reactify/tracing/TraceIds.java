@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * <p>
+ * Helpers reading the trace ID of the span created for a server observation.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public final class TraceIds {
+
+    private TraceIds() {}
+
+    /**
+     * Returns the trace ID of the span created for an observation.
+     *
+     * @param observationContext
+     *            the context of the observation
+     * @return the trace ID, or {@code null} if the observation is not traced
+     */
+    public static String of(Observation.Context observationContext) {
+        TracingObservationHandler.TracingContext tracingContext =
+                observationContext.get(TracingObservationHandler.TracingContext.class);
+        if (tracingContext == null || tracingContext.getSpan() == null) {
+            return null;
+        }
+        return tracingContext.getSpan().context().traceId();
+    }
+
+    /**
+     * Returns the trace ID of the server observation of an exchange.
+     *
+     * @param exchange
+     *            the current ServerWebExchange
+     * @return the trace ID, or {@code null} if the exchange is not observed or
+     *         not traced
+     */
+    public static String of(ServerWebExchange exchange) {
+        return ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .map(TraceIds::of)
+                .orElse(null);
+    }
+}
@@ -16,7 +16,10 @@
 package com.reactify.config;
 
 import com.reactify.MinioProperties;
+import com.reactify.jfr.MinioEventInterceptor;
 import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -35,6 +38,11 @@ import org.springframework.context.annotation.Configuration;
  * only if the "minio.enabled" property is set to true.
  * </p>
  *
+ * <p>
+ * Requests of the client go through a {@link MinioEventInterceptor}, which
+ * emits a Java Flight Recorder event per request when it is recorded.
+ * </p>
+ *
  * @author hoangtien2k3
  */
 @Configuration
@@ -45,6 +53,9 @@ public class MinioConfiguration {
      */
     private static final Logger log = LoggerFactory.getLogger(MinioConfiguration.class);
 
+    /** timeouts of the HTTP client, in milliseconds, the defaults of the MinIO client */
+    private static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
     private final MinioProperties minioProperties;
 
     /**
@@ -76,6 +87,10 @@ public class MinioConfiguration {
         return MinioClient.builder()
                 .endpoint(minioProperties.getBaseUrl())
                 .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(HttpUtils.newDefaultHttpClient(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT)
+                        .newBuilder()
+                        .addInterceptor(new MinioEventInterceptor())
+                        .build())
                 .build();
     }
 }
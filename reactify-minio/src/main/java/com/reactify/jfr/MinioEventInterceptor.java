@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * <p>
+ * OkHttp interceptor of the MinIO client emitting a
+ * {@link MinioOperationEvent} per request. Requests pass through untouched
+ * when the event is not enabled in the running recording.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+public class MinioEventInterceptor implements Interceptor {
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Times the request until the response headers are received.
+     * </p>
+     */
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        MinioOperationEvent event = new MinioOperationEvent();
+        if (!event.isEnabled()) {
+            return chain.proceed(request);
+        }
+        event.begin();
+        Response response = null;
+        try {
+            response = chain.proceed(request);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            event.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, request, response);
+            }
+        }
+    }
+
+    /**
+     * Fills the event with the request and its response, then commits it.
+     *
+     * @param event
+     *            the ended event
+     * @param request
+     *            the request sent
+     * @param response
+     *            the response received, {@code null} on error
+     */
+    private static void commit(MinioOperationEvent event, Request request, Response response) {
+        event.method = request.method();
+        event.host = request.url().host();
+        event.path = request.url().encodedPath();
+        event.subresources = String.join(",", request.url().queryParameterNames());
+        event.requestBytes = contentLength(request.body());
+        if (response != null) {
+            event.status = response.code();
+            ResponseBody body = response.body();
+            event.responseBytes = body != null ? body.contentLength() : -1;
+        }
+        event.commit();
+    }
+
+    /**
+     * Returns the length of a request body.
+     *
+     * @param body
+     *            the body, may be {@code null}
+     * @return the number of bytes, or {@code -1} if unknown
+     */
+    private static long contentLength(RequestBody body) {
+        if (body == null) {
+            return 0;
+        }
+        try {
+            return body.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>
+ * Java Flight Recorder event of a request sent by the MinIO client. Every
+ * operation of {@link com.reactify.MinioUtils} is made of one or more of these
+ * requests; the sub-resources of the query (such as {@code uploadId} or
+ * {@code location}) tell the operations apart. The event spans until the
+ * response headers are received.
+ * </p>
+ *
+ * <p>
+ * The event is disabled by default and enabled, with its threshold, through
+ * the {@code reactify.jfc} settings shipped with reactify-utils.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Name("com.reactify.MinioOperation")
+@Label("MinIO Operation")
+@Category({"Reactify", "MinIO"})
+@Description("Request sent by the MinIO client")
+@Enabled(false)
+@Threshold("50 ms")
+@StackTrace(false)
+public class MinioOperationEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Host")
+    String host;
+
+    @Label("Path")
+    @Description("Bucket and object of the request")
+    String path;
+
+    @Label("Sub-resources")
+    @Description("Names of the query parameters, values are not recorded")
+    String subresources;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Error")
+    String error;
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reactify.jfr.SqlQueryEvent;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -40,6 +41,11 @@ import reactor.core.publisher.Mono;
  * while abstracting the common functionalities needed for database operations.
  * </p>
  *
+ * <p>
+ * Every query emits a {@link SqlQueryEvent} when Java Flight Recorder records
+ * it.
+ * </p>
+ *
  * @author hoangtien2k3
  */
 public class BaseTemplateRepository {
@@ -88,7 +94,15 @@ public class BaseTemplateRepository {
                 spec = spec.bind(param, params.get(param));
             }
         }
-        return spec.fetch().all().map(raw -> objectMapper.convertValue(raw, type));
+        DatabaseClient.GenericExecuteSpec query = spec;
+        return Flux.defer(() -> {
+            SqlQueryEvent event = SqlQueryEvent.start(sql, "list");
+            return query.fetch()
+                    .all()
+                    .doOnNext(raw -> event.onRow())
+                    .doFinally(signal -> event.finish(signal.toString()))
+                    .map(raw -> objectMapper.convertValue(raw, type));
+        });
     }
 
     /**
@@ -112,9 +126,15 @@ public class BaseTemplateRepository {
                 spec = spec.bind(param, params.get(param));
             }
         }
-        return spec.fetch()
-                .first()
-                .map(result -> result.get("common_count_col"))
-                .cast(Long.class);
+        DatabaseClient.GenericExecuteSpec count = spec;
+        return Mono.defer(() -> {
+            SqlQueryEvent event = SqlQueryEvent.start(query, "count");
+            return count.fetch()
+                    .first()
+                    .doOnNext(raw -> event.onRow())
+                    .doFinally(signal -> event.finish(signal.toString()))
+                    .map(result -> result.get("common_count_col"))
+                    .cast(Long.class);
+        });
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024-2025 the original author Hoàng Anh Tiến.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.reactify.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>
+ * Java Flight Recorder event of a query run by a
+ * {@link com.reactify.BaseTemplateRepository}. The event spans the
+ * subscription to the query, from its execution to the last row read. The SQL
+ * is recorded as written, bound values are not.
+ * </p>
+ *
+ * <p>
+ * The event is disabled by default and enabled, with its threshold, through
+ * the {@code reactify.jfc} settings shipped with reactify-utils.
+ * </p>
+ *
+ * @author hoangtien2k3
+ */
+@Name("com.reactify.SqlQuery")
+@Label("SQL Query")
+@Category({"Reactify", "R2DBC"})
+@Description("Query run through R2DBC by a template repository")
+@Enabled(false)
+@Threshold("20 ms")
+@StackTrace(false)
+public class SqlQueryEvent extends Event {
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Kind")
+    @Description("list or count")
+    private String kind;
+
+    @Label("Rows")
+    private long rows;
+
+    @Label("Outcome")
+    @Description("onComplete, onError or cancel")
+    private String outcome;
+
+    /**
+     * Starts the event of a query.
+     *
+     * @param sql
+     *            the SQL of the query
+     * @param kind
+     *            the kind of query
+     * @return the started event
+     */
+    public static SqlQueryEvent start(String sql, String kind) {
+        SqlQueryEvent event = new SqlQueryEvent();
+        if (event.isEnabled()) {
+            event.sql = sql;
+            event.kind = kind;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Counts a row read from the result.
+     */
+    public void onRow() {
+        rows++;
+    }
+
+    /**
+     * Ends the event and commits it when it exceeds the threshold.
+     *
+     * @param outcome
+     *            how the query terminated
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}